@@ -2,7 +2,6 @@ package cz.matysekxx.aftermathserver;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Aftermath Server.
@@ -10,7 +9,6 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  *
  * @author Matysekxx
  */
-@EnableScheduling
 @SpringBootApplication
 public class AftermathServerApplication {
     /**
@@ -1,7 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 
 /**
@@ -9,22 +7,33 @@ import cz.matysekxx.aftermathserver.core.GameEngine;
  * <p>
  * Represents a single type of action that a client can trigger via WebSocket.
  * Instances are typically Spring components mapped to a specific action string.
+ * The payload of the request is decoded straight into the action's request type,
+ * so the action receives a typed DTO.
  *
+ * @param <R> The type of the request payload, {@link Void} for actions without one.
  * @author Matysekxx
  */
-public abstract class Action {
-    protected static final ObjectMapper objectMapper = new ObjectMapper();
+public abstract class Action<R> {
     protected final GameEngine gameEngine;
+    private final Class<R> requestType;
 
-    protected Action(GameEngine gameEngine) {
+    protected Action(GameEngine gameEngine, Class<R> requestType) {
         this.gameEngine = gameEngine;
+        this.requestType = requestType;
     }
 
     /**
-     * Executes the action based on the received payload.
+     * @return The type the payload of the request is decoded into.
+     */
+    public Class<R> getRequestType() {
+        return requestType;
+    }
+
+    /**
+     * Executes the action based on the received request.
      *
      * @param sessionId The WebSocket session of the player triggering the action.
-     * @param payload   The JSON payload containing action details.
+     * @param request   The decoded payload, or null for actions without one.
      */
-    public abstract void execute(String sessionId, JsonNode payload);
+    public abstract void execute(String sessionId, R request);
 }
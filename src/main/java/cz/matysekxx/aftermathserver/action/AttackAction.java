@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import org.springframework.stereotype.Component;
 
@@ -11,13 +10,13 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("ATTACK")
-public class AttackAction extends Action {
+public class AttackAction extends Action<Void> {
     protected AttackAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, Void.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
+    public void execute(String sessionId, Void payload) {
         gameEngine.processAttack(sessionId);
     }
 }
@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.BuyRequest;
 import org.springframework.stereotype.Component;
@@ -12,15 +11,14 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("BUY")
-public class BuyAction extends Action {
+public class BuyAction extends Action<BuyRequest> {
 
     public BuyAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, BuyRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final BuyRequest request = objectMapper.convertValue(payload, BuyRequest.class);
+    public void execute(String sessionId, BuyRequest request) {
         gameEngine.processBuy(sessionId, request);
     }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.ChatRequest;
 import org.springframework.stereotype.Component;
@@ -12,15 +11,14 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("CHAT")
-public class ChatAction extends Action {
+public class ChatAction extends Action<ChatRequest> {
 
     public ChatAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, ChatRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final var chatData = objectMapper.convertValue(payload, ChatRequest.class);
-        gameEngine.handleChatMessage(chatData, sessionId);
+    public void execute(String sessionId, ChatRequest request) {
+        gameEngine.handleChatMessage(request, sessionId);
     }
 }
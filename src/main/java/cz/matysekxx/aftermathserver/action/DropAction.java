@@ -1,7 +1,7 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
+import cz.matysekxx.aftermathserver.dto.DropRequest;
 import org.springframework.stereotype.Component;
 
 /**
@@ -11,15 +11,13 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("DROP")
-public class DropAction extends Action {
+public class DropAction extends Action<DropRequest> {
     public DropAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, DropRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final int slotIndex = payload.get("slotIndex").asInt();
-        final int amount = payload.has("amount") ? payload.get("amount").asInt() : 1;
-        gameEngine.dropItem(sessionId, slotIndex, amount);
+    public void execute(String sessionId, DropRequest request) {
+        gameEngine.dropItem(sessionId, request.getSlotIndex(), request.getAmount());
     }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import org.springframework.stereotype.Component;
 
@@ -10,13 +9,13 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("END")
-public class EndAction extends Action {
+public class EndAction extends Action<Void> {
     public EndAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, Void.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
+    public void execute(String sessionId, Void payload) {
         gameEngine.removePlayer(sessionId);
     }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.EquipRequest;
 import org.springframework.stereotype.Component;
@@ -12,15 +11,14 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("EQUIP")
-public class EquipAction extends Action {
+public class EquipAction extends Action<EquipRequest> {
 
     public EquipAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, EquipRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final EquipRequest request = objectMapper.convertValue(payload, EquipRequest.class);
+    public void execute(String sessionId, EquipRequest request) {
         gameEngine.processEquip(sessionId, request);
     }
 }
\ No newline at end of file
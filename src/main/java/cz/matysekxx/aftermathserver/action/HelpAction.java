@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.event.GameEventFactory;
 import cz.matysekxx.aftermathserver.event.GameEventQueue;
@@ -12,16 +11,16 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("HELP")
-public class HelpAction extends Action {
+public class HelpAction extends Action<Void> {
     private final GameEventQueue gameEventQueue;
 
     public HelpAction(GameEngine gameEngine, GameEventQueue gameEventQueue) {
-        super(gameEngine);
+        super(gameEngine, Void.class);
         this.gameEventQueue = gameEventQueue;
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
+    public void execute(String sessionId, Void payload) {
         gameEventQueue.enqueue(GameEventFactory.sendMessageEvent("Commands: MOVE, ATTACK, USE, EQUIP, DROP, BUY, SELL, TRAVEL, CHAT", sessionId));
     }
 }
\ No newline at end of file
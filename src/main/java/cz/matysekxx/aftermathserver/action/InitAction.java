@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -13,14 +12,14 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component("INIT")
-public class InitAction extends Action {
+public class InitAction extends Action<Void> {
 
     public InitAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, Void.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
+    public void execute(String sessionId, Void payload) {
         log.info("Executing INIT action for session: {}", sessionId);
         gameEngine.sendLoginOptions(sessionId);
     }
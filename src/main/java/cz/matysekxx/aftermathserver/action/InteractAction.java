@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import org.springframework.stereotype.Component;
 
@@ -11,14 +10,14 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("INTERACT")
-public class InteractAction extends Action {
+public class InteractAction extends Action<Void> {
 
     public InteractAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, Void.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
+    public void execute(String sessionId, Void payload) {
         gameEngine.processInteract(sessionId);
     }
 }
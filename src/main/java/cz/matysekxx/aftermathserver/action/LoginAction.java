@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.LoginRequest;
 import org.springframework.stereotype.Component;
@@ -12,15 +11,14 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("LOGIN")
-public class LoginAction extends Action {
+public class LoginAction extends Action<LoginRequest> {
 
     public LoginAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, LoginRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final LoginRequest request = objectMapper.convertValue(payload, LoginRequest.class);
+    public void execute(String sessionId, LoginRequest request) {
         gameEngine.addPlayer(sessionId, request);
     }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.MoveRequest;
 import org.springframework.stereotype.Component;
@@ -12,15 +11,14 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("MOVE")
-public class MoveAction extends Action {
+public class MoveAction extends Action<MoveRequest> {
 
     public MoveAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, MoveRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final var request = objectMapper.convertValue(payload, MoveRequest.class);
+    public void execute(String sessionId, MoveRequest request) {
         gameEngine.processMove(sessionId, request);
     }
 }
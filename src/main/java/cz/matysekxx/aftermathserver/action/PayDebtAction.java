@@ -1,11 +1,7 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.PayDebtRequest;
-import cz.matysekxx.aftermathserver.event.EventType;
-import cz.matysekxx.aftermathserver.event.GameEvent;
-import cz.matysekxx.aftermathserver.event.GameEventQueue;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,17 +10,14 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("PAY_DEBT")
-public class PayDebtAction extends Action {
-    private final GameEventQueue gameEventQueue;
+public class PayDebtAction extends Action<PayDebtRequest> {
 
-    public PayDebtAction(GameEventQueue gameEventQueue, GameEngine gameEngine) {
-        super(gameEngine);
-        this.gameEventQueue = gameEventQueue;
+    public PayDebtAction(GameEngine gameEngine) {
+        super(gameEngine, PayDebtRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final PayDebtRequest request = objectMapper.convertValue(payload, PayDebtRequest.class);
-        gameEventQueue.enqueue(GameEvent.create(EventType.PAY_DEBT, request, sessionId, null, false));
+    public void execute(String sessionId, PayDebtRequest request) {
+        gameEngine.processPayDebt(sessionId, request);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package cz.matysekxx.aftermathserver.action;
+
+import cz.matysekxx.aftermathserver.core.GameEngine;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles the RESYNC command, sending the player's state again without a new login.
+ * Submitted on behalf of a client that resumed its session.
+ *
+ * @author Matysekxx
+ */
+@Component("RESYNC")
+public class ResyncAction extends Action<Void> {
+    public ResyncAction(GameEngine gameEngine) {
+        super(gameEngine, Void.class);
+    }
+
+    @Override
+    public void execute(String sessionId, Void payload) {
+        gameEngine.resyncPlayer(sessionId);
+    }
+}
@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.SellRequest;
 import org.springframework.stereotype.Component;
@@ -12,14 +11,13 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("SELL")
-public class SellAction extends Action {
+public class SellAction extends Action<SellRequest> {
     public SellAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, SellRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final SellRequest request = objectMapper.convertValue(payload, SellRequest.class);
+    public void execute(String sessionId, SellRequest request) {
         gameEngine.processSell(sessionId, request);
 
     }
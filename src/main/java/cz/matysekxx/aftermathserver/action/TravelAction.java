@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.core.logic.metro.MetroService;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
@@ -16,19 +15,18 @@ import java.util.Optional;
  * @author Matysekxx
  */
 @Component("TRAVEL")
-public class TravelAction extends Action {
+public class TravelAction extends Action<TravelRequest> {
     private final MetroService metroService;
 
     protected TravelAction(GameEngine gameEngine, MetroService metroService) {
-        super(gameEngine);
+        super(gameEngine, TravelRequest.class);
         this.metroService = metroService;
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final TravelRequest travelRequest = objectMapper.convertValue(payload, TravelRequest.class);
+    public void execute(String sessionId, TravelRequest request) {
         final Optional<Player> player = gameEngine.getMaybePlayerById(sessionId);
         player.ifPresent(value ->
-                metroService.startTravel(value, travelRequest.getMapId(), travelRequest.getLineId()));
+                metroService.startTravel(value, request.getMapId(), request.getLineId()));
     }
 }
@@ -1,6 +1,5 @@
 package cz.matysekxx.aftermathserver.action;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import cz.matysekxx.aftermathserver.core.GameEngine;
 import cz.matysekxx.aftermathserver.dto.UseRequest;
 import org.springframework.stereotype.Component;
@@ -12,14 +11,13 @@ import org.springframework.stereotype.Component;
  * @author Matysekxx
  */
 @Component("USE")
-public class UseAction extends Action {
+public class UseAction extends Action<UseRequest> {
     protected UseAction(GameEngine gameEngine) {
-        super(gameEngine);
+        super(gameEngine, UseRequest.class);
     }
 
     @Override
-    public void execute(String sessionId, JsonNode payload) {
-        final UseRequest useRequest = objectMapper.convertValue(payload, UseRequest.class);
-        gameEngine.processUse(sessionId, useRequest);
+    public void execute(String sessionId, UseRequest request) {
+        gameEngine.processUse(sessionId, request);
     }
 }
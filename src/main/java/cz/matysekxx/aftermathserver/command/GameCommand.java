@@ -0,0 +1,45 @@
+package cz.matysekxx.aftermathserver.command;
+
+import cz.matysekxx.aftermathserver.action.Action;
+
+/**
+ * Represents a single client request waiting to be applied by the simulation thread.
+ * <p>
+ * Commands are created on the WebSocket threads and executed in bulk at the start
+ * of each game tick, so game state is only ever mutated by one thread.
+ *
+ * @param sessionId  The session ID of the client that issued the command.
+ * @param type       The action type (e.g., MOVE, ATTACK).
+ * @param request    The decoded payload of the request, of the action's request type.
+ * @param action     The action that applies the command.
+ * @param onExecuted Optional callback invoked on the simulation thread after the action ran.
+ * @author Matysekxx
+ */
+public record GameCommand(String sessionId, String type, Object request, Action<?> action, Runnable onExecuted) {
+    /**
+     * Factory method to create a new GameCommand.
+     *
+     * @param sessionId  The session ID of the client.
+     * @param type       The action type.
+     * @param request    The decoded payload of the request, may be null.
+     * @param action     The action that applies the command.
+     * @param onExecuted Optional callback invoked after the action ran, may be null.
+     * @param <R>        The request type of the action.
+     * @return A new GameCommand instance.
+     */
+    public static <R> GameCommand of(String sessionId, String type, R request, Action<R> action, Runnable onExecuted) {
+        return new GameCommand(sessionId, type, request, action, onExecuted);
+    }
+
+    /**
+     * Applies the command to the game state.
+     */
+    public void execute() {
+        execute(action);
+        if (onExecuted != null) onExecuted.run();
+    }
+
+    private <R> void execute(Action<R> typedAction) {
+        typedAction.execute(sessionId, typedAction.getRequestType().cast(request));
+    }
+}
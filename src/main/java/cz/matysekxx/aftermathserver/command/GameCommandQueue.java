@@ -0,0 +1,104 @@
+package cz.matysekxx.aftermathserver.command;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A lock-free queue buffering client commands until the next game tick.
+ * <p>
+ * Any number of WebSocket threads may submit commands, while only the simulation
+ * thread drains them. This makes the game loop the single writer of the game state.
+ * <p>
+ * A newer move of a session replaces its queued move in place, as long as that move is still the
+ * last command the session has waiting, so a client repeating moves faster than the tick rate takes
+ * a single step per tick in the direction it asked for last. A move submitted after another command
+ * is queued behind it, so the other command still runs from the position the client saw.
+ *
+ * @author Matysekxx
+ */
+@Service
+public class GameCommandQueue {
+    /**
+     * Command types of which only the newest command of a session is executed.
+     */
+    private static final Set<String> COALESCED_TYPES = Set.of("MOVE");
+    private final Queue<Slot> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * The last queued command of each session with commands waiting.
+     */
+    private final Map<String, Slot> lastBySession = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Adds a command to the queue.
+     *
+     * @param command The command to submit.
+     */
+    public void submit(GameCommand command) {
+        lastBySession.compute(command.sessionId(), (sessionId, last) -> {
+            if (last != null && COALESCED_TYPES.contains(command.type()) && last.command.type().equals(command.type())) {
+                last.command = command;
+                coalesced.increment();
+                return last;
+            }
+            final Slot slot = new Slot(command);
+            queue.offer(slot);
+            return slot;
+        });
+    }
+
+    /**
+     * Removes up to {@code limit} commands in submission order and passes them to the consumer.
+     * <p>
+     * Commands submitted while draining are left for the next tick once the limit is reached,
+     * so a flood of requests cannot stall the game loop.
+     *
+     * @param limit    The maximum number of commands to drain.
+     * @param consumer The consumer executing each command.
+     * @return The number of drained commands.
+     */
+    public int drain(int limit, Consumer<GameCommand> consumer) {
+        int drained = 0;
+        Slot slot;
+        while (drained < limit && (slot = queue.poll()) != null) {
+            final Slot taken = slot;
+            // once the slot is no longer the session's last one, no submit replaces its command
+            lastBySession.computeIfPresent(taken.command.sessionId(), (sessionId, last) -> last == taken ? null : last);
+            consumer.accept(taken.command);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return {@code true} if there are no pending commands.
+     */
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * @return The number of commands replaced by a newer command of the same session and type.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * A place in the queue; the command of a coalescable slot is replaced by newer ones.
+     */
+    private static final class Slot {
+        private volatile GameCommand command;
+
+        private Slot(GameCommand command) {
+            this.command = command;
+        }
+    }
+}
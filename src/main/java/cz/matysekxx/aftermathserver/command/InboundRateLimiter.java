@@ -0,0 +1,114 @@
+package cz.matysekxx.aftermathserver.command;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.RateLimitSettings;
+import cz.matysekxx.aftermathserver.dto.SessionInboundStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-session limiter of inbound requests.
+ * <p>
+ * Every session gets one {@link TokenBucket} per request type configured in {@code game.rate-limit},
+ * so a client repeating one action cannot flood the command queue and the broadcasts it triggers.
+ * Requests are checked on the WebSocket threads, before a command is created.
+ *
+ * @author Matysekxx
+ */
+@Component
+public class InboundRateLimiter {
+    private final RateLimitSettings settings;
+    private final LongSupplier clock;
+    private final Map<String, SessionLimits> sessions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InboundRateLimiter(GameSettings settings) {
+        this(settings.getRateLimit(), System::nanoTime);
+    }
+
+    InboundRateLimiter(RateLimitSettings settings, LongSupplier clock) {
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token of the request type from the session's bucket.
+     *
+     * @param sessionId The session that sent the request.
+     * @param type      The request type.
+     * @return {@code true} if the request may be processed, {@code false} if it is over the limit.
+     */
+    public boolean tryAcquire(String sessionId, String type) {
+        final SessionLimits limits = sessions.computeIfAbsent(sessionId, id -> new SessionLimits());
+        final RateLimitSettings.Limit limit = settings.isEnabled() ? settings.getLimits().get(type) : null;
+        if (limit != null) {
+            final long now = clock.getAsLong();
+            final TokenBucket bucket = limits.buckets.computeIfAbsent(type,
+                    t -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+            if (!bucket.tryTake(now)) return false;
+        }
+        limits.accepted.increment();
+        return true;
+    }
+
+    /**
+     * Decides whether a rejected session should be told so, at most once per configured interval,
+     * so the rejections themselves cannot flood the outbound queue.
+     *
+     * @param sessionId The rejected session.
+     * @return {@code true} if a rejection notice should be sent now.
+     */
+    public boolean claimRejectNotice(String sessionId) {
+        final SessionLimits limits = sessions.get(sessionId);
+        if (limits == null) return false;
+        final long now = clock.getAsLong();
+        final long last = limits.lastNotice.get();
+        final long interval = TimeUnit.MILLISECONDS.toNanos(settings.getRejectNoticeIntervalMs());
+        return (last == Long.MIN_VALUE || now - last >= interval) && limits.lastNotice.compareAndSet(last, now);
+    }
+
+    /**
+     * Forgets the buckets of a disconnected session.
+     *
+     * @param sessionId The session ID.
+     */
+    public void removeSession(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * @return The request counters of every session, the most rejected ones first.
+     */
+    public List<SessionInboundStats> getStats() {
+        return sessions.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted(Comparator.comparingLong(SessionInboundStats::rejected).reversed())
+                .toList();
+    }
+
+    private static final class SessionLimits {
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final LongAdder accepted = new LongAdder();
+        private final AtomicLong lastNotice = new AtomicLong(Long.MIN_VALUE);
+
+        private SessionInboundStats stats(String sessionId) {
+            final Map<String, Long> rejectedByType = new TreeMap<>();
+            buckets.forEach((type, bucket) -> {
+                final long rejected = bucket.getRejected();
+                if (rejected > 0) rejectedByType.put(type, rejected);
+            });
+            final long rejected = rejectedByType.values().stream().mapToLong(Long::longValue).sum();
+            return new SessionInboundStats(sessionId, accepted.sum(), rejected, rejectedByType);
+        }
+    }
+}
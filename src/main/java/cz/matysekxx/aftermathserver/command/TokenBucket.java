@@ -0,0 +1,49 @@
+package cz.matysekxx.aftermathserver.command;
+
+/**
+ * A token bucket limiting the rate of one request type of one session.
+ * <p>
+ * The bucket starts full and refills continuously; every accepted request takes one token.
+ *
+ * @author Matysekxx
+ */
+final class TokenBucket {
+    private final int capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+    private long rejected;
+
+    /**
+     * @param capacity        The maximum number of tokens, i.e. the size of a burst.
+     * @param refillPerSecond The number of tokens added per second.
+     * @param now             The current time in nanoseconds.
+     */
+    TokenBucket(int capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now The current time in nanoseconds.
+     * @return {@code true} if the request is within the limit.
+     */
+    synchronized boolean tryTake(long now) {
+        tokens = Math.min(capacity, tokens + Math.max(0, now - lastRefill) * refillPerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+        rejected++;
+        return false;
+    }
+
+    synchronized long getRejected() {
+        return rejected;
+    }
+}
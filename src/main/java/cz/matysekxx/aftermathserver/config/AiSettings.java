@@ -0,0 +1,31 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the NPC AI level of detail.
+ * <p>
+ * Loaded from the {@code game.ai} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class AiSettings {
+    /**
+     * Whether NPC think rates depend on the distance to the nearest player.
+     * When disabled, every NPC on an active map thinks every tick.
+     */
+    private boolean lodEnabled = true;
+    /**
+     * How many tiles beyond the viewport NPCs still think at the reduced rate.
+     */
+    private int nearMargin = 30;
+    /**
+     * The number of ticks between thoughts of NPCs near, but outside, a player's viewport.
+     */
+    private int nearInterval = 4;
+    /**
+     * The number of ticks between distance checks of dormant NPCs.
+     */
+    private int dormantCheckInterval = 20;
+}
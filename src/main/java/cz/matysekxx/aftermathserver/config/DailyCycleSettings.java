@@ -0,0 +1,18 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the daily cycle.
+ * <p>
+ * Loaded from the {@code game.daily-cycle} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class DailyCycleSettings {
+    /**
+     * The number of ticks the daily work (debts, NPC respawn, loot) is spread over.
+     */
+    private int windowTicks = 120;
+}
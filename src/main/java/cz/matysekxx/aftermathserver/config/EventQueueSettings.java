@@ -0,0 +1,36 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the lanes of the game event queue and of the shards dispatching its events.
+ * <p>
+ * Loaded from the {@code game.event-queue} prefix. Lane capacities are rounded up to a power of two.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class EventQueueSettings {
+    /**
+     * The maximum number of waiting critical events (game over, errors, dialogs).
+     * Producers wait when the critical or the normal lane is full; only the bulk lane drops events.
+     */
+    private int criticalCapacity = 1024;
+    /**
+     * The maximum number of waiting ordinary events.
+     */
+    private int normalCapacity = 16384;
+    /**
+     * The maximum number of waiting bulk events (NPC lists, players in view, tick ends).
+     */
+    private int bulkCapacity = 8192;
+    /**
+     * The number of threads handling events in parallel, each serving its share of the sessions
+     * (0 means one per available processor).
+     */
+    private int shards;
+    /**
+     * The maximum number of events waiting in a single shard.
+     */
+    private int shardCapacity = 4096;
+}
@@ -35,6 +35,59 @@ public class GameSettings {
      * The rate at which the game engine ticks (in milliseconds).
      */
     private int tickRate;
+    /**
+     * Settings of the tick scheduler (budget, overrun policy, statistics).
+     */
+    private TickSettings tick = new TickSettings();
+    /**
+     * The maximum number of client commands applied in a single tick.
+     */
+    private int maxCommandsPerTick = 1024;
+    /**
+     * Settings of the per-session inbound rate limits (token buckets per request type).
+     */
+    private RateLimitSettings rateLimit = new RateLimitSettings();
+    /**
+     * The number of threads updating maps in parallel (0 means one per available processor).
+     */
+    private int mapWorkers;
+    /**
+     * Settings of the NPC AI level of detail.
+     */
+    private AiSettings ai = new AiSettings();
+    /**
+     * Settings of the daily cycle (window it is spread over).
+     */
+    private DailyCycleSettings dailyCycle = new DailyCycleSettings();
+    /**
+     * Settings of map hibernation (idle threshold, fast-forward limit).
+     */
+    private HibernationSettings hibernation = new HibernationSettings();
+    /**
+     * Settings of the world random number generation (seed, deterministic mode).
+     */
+    private RandomSettings random = new RandomSettings();
+    /**
+     * Whether inbound WebSocket messages are handled on virtual threads.
+     * The writer of every session runs on a virtual thread either way.
+     */
+    private boolean virtualThreads;
+    /**
+     * Settings of the game event queue (capacity of each priority lane, dispatch shards).
+     */
+    private EventQueueSettings eventQueue = new EventQueueSettings();
+    /**
+     * Settings of the per-session outbound queues (capacity, overflow policy).
+     */
+    private OutboundSettings outbound = new OutboundSettings();
+    /**
+     * Settings of resumable sessions (grace period, replay buffer).
+     */
+    private ResumeSettings resume = new ResumeSettings();
+    /**
+     * Settings of the reactive WebSocket endpoint (port, path).
+     */
+    private ReactiveSettings reactive = new ReactiveSettings();
     /**
      * The default player class assigned to new players.
      */
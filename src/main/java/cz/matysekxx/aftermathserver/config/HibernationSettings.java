@@ -0,0 +1,27 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of map hibernation.
+ * <p>
+ * Loaded from the {@code game.hibernation} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class HibernationSettings {
+    /**
+     * Whether maps without players are hibernated.
+     */
+    private boolean enabled = true;
+    /**
+     * The number of ticks a map has to stay empty before it hibernates.
+     */
+    private int idleTicks = 2400;
+    /**
+     * The maximum number of missed days fast-forwarded when a map wakes up.
+     * Keeps a map abandoned for weeks from being flooded with loot.
+     */
+    private int maxFastForwardDays = 7;
+}
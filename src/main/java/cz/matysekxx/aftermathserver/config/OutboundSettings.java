@@ -0,0 +1,27 @@
+package cz.matysekxx.aftermathserver.config;
+
+import cz.matysekxx.aftermathserver.network.OverflowPolicy;
+import lombok.Data;
+
+/**
+ * Configuration of the per-session outbound message queues.
+ * <p>
+ * Loaded from the {@code game.outbound} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class OutboundSettings {
+    /**
+     * The maximum number of messages waiting to be written to a single session.
+     */
+    private int queueCapacity = 256;
+    /**
+     * What to do when a session's queue is full.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    /**
+     * Whether the messages of a session are held until the end of the tick and sent as one envelope.
+     */
+    private boolean batchPerTick;
+}
@@ -0,0 +1,23 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the world random number generation.
+ * <p>
+ * Loaded from the {@code game.random} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class RandomSettings {
+    /**
+     * Whether the world is generated from a fixed seed, so that the same seed and the same
+     * sequence of client inputs always produce the same world. Also makes entity IDs sequential.
+     */
+    private boolean deterministic;
+    /**
+     * The world seed used in deterministic mode.
+     */
+    private long seed;
+}
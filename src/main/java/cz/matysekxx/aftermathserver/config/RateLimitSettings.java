@@ -0,0 +1,49 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the per-session inbound rate limits.
+ * <p>
+ * Loaded from the {@code game.rate-limit} prefix. Request types without a limit are not throttled.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class RateLimitSettings {
+    /**
+     * Whether requests over the limit are rejected.
+     */
+    private boolean enabled = true;
+    /**
+     * The minimum number of milliseconds between two rejection notices sent to the same session.
+     */
+    private long rejectNoticeIntervalMs = 1000;
+    /**
+     * The token bucket of each limited request type, keyed by type.
+     */
+    private Map<String, Limit> limits = new HashMap<>(Map.of(
+            "MOVE", new Limit(10, 8),
+            "ATTACK", new Limit(4, 4),
+            "INTERACT", new Limit(4, 4),
+            "RESYNC", new Limit(2, 0.5),
+            "CHUNK_HAVE", new Limit(2, 0.5),
+            "SYNC_OBJECTS", new Limit(2, 0.5)));
+
+    /**
+     * A token bucket: a session may send {@code capacity} requests at once and
+     * {@code refillPerSecond} requests per second on average.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
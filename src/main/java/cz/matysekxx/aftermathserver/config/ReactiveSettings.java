@@ -0,0 +1,26 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the reactive WebSocket endpoint, served by Reactor Netty next to the servlet one.
+ * <p>
+ * Loaded from the {@code game.reactive} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class ReactiveSettings {
+    /**
+     * Whether the reactive endpoint is started.
+     */
+    private boolean enabled;
+    /**
+     * The port the Netty server listens on; must differ from {@code server.port}.
+     */
+    private int port = 8081;
+    /**
+     * The path of the game endpoint.
+     */
+    private String path = "/game";
+}
@@ -0,0 +1,63 @@
+package cz.matysekxx.aftermathserver.config;
+
+import cz.matysekxx.aftermathserver.websocket.ReactiveGameHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import org.springframework.web.server.WebHandler;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Starts the reactive WebSocket endpoint when {@code game.reactive.enabled} is set.
+ * <p>
+ * The application itself runs on the servlet stack, so the endpoint gets its own Reactor Netty
+ * server on {@code game.reactive.port} instead of a route of the main server. It serves the
+ * {@link ReactiveGameHandler} on {@code game.reactive.path} and nothing else, which lets both
+ * stacks run side by side against the same game for comparison.
+ *
+ * @author Matysekxx
+ */
+@Configuration
+@Slf4j
+public class ReactiveWebSocketConfiguration {
+    private final ReactiveGameHandler reactiveGameHandler;
+    private final ReactiveSettings settings;
+    private DisposableServer server;
+
+    public ReactiveWebSocketConfiguration(ReactiveGameHandler reactiveGameHandler, GameSettings gameSettings) {
+        this.reactiveGameHandler = reactiveGameHandler;
+        this.settings = gameSettings.getReactive();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isEnabled()) return;
+        final HandshakeWebSocketService webSocketService = new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy());
+        final WebHandler webHandler = exchange -> {
+            if (settings.getPath().equals(exchange.getRequest().getPath().value())) {
+                return webSocketService.handleRequest(exchange, reactiveGameHandler);
+            }
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        };
+        final HttpHandler httpHandler = WebHttpHandlerBuilder.webHandler(webHandler).build();
+        server = HttpServer.create()
+                .port(settings.getPort())
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive WebSocket endpoint listening on port {} at {}", server.port(), settings.getPath());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) server.disposeNow();
+    }
+}
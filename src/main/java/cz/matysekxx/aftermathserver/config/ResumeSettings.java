@@ -0,0 +1,27 @@
+package cz.matysekxx.aftermathserver.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of resumable sessions.
+ * <p>
+ * Loaded from the {@code game.resume} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class ResumeSettings {
+    /**
+     * Whether clients get a resume token and dropped players are held for the grace period.
+     */
+    private boolean enabled = true;
+    /**
+     * How long the player of a dropped connection stays in the world waiting for the client to resume.
+     */
+    private long gracePeriodMs = 30_000;
+    /**
+     * The number of sent messages kept per session for replay after a reconnect.
+     * Should stay below {@code game.outbound.queue-capacity}, so a full replay fits in the queue.
+     */
+    private int replayCapacity = 128;
+}
@@ -0,0 +1,33 @@
+package cz.matysekxx.aftermathserver.config;
+
+import cz.matysekxx.aftermathserver.core.tick.OverrunPolicy;
+import lombok.Data;
+
+/**
+ * Configuration of the game tick scheduler.
+ * <p>
+ * Loaded from the {@code game.tick} prefix.
+ *
+ * @author Matysekxx
+ */
+@Data
+public class TickSettings {
+    /**
+     * Time budget of a single tick in milliseconds (0 means the tick rate).
+     * Ticks running longer are counted as overruns.
+     */
+    private int budgetMs;
+    /**
+     * What to do with ticks missed because of an overrun.
+     */
+    private OverrunPolicy overrunPolicy = OverrunPolicy.CATCH_UP;
+    /**
+     * The maximum number of missed ticks replayed back-to-back with {@link OverrunPolicy#CATCH_UP}.
+     * Anything beyond is skipped.
+     */
+    private int maxCatchUpTicks = 5;
+    /**
+     * The number of most recent tick durations used for percentiles.
+     */
+    private int statisticsWindow = 1200;
+}
@@ -1,15 +1,19 @@
 package cz.matysekxx.aftermathserver.config;
 
+import cz.matysekxx.aftermathserver.network.protocol.WireProtocol;
 import cz.matysekxx.aftermathserver.websocket.GameHandler;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 /**
  * Configures WebSocket handling for the application.
  * <p>
  * Enables WebSocket support and registers the game handler to a specific endpoint.
+ * Clients pick the wire protocol through the {@code Sec-WebSocket-Protocol} header; clients
+ * that request none speak JSON.
  *
  * @author Matysekxx
  */
@@ -30,7 +34,10 @@ public class WebSocketConfiguration implements WebSocketConfigurer {
      */
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        final DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler();
+        handshakeHandler.setSupportedProtocols(WireProtocol.subprotocols().toArray(String[]::new));
         registry.addHandler(gameHandler, "/game")
+                .setHandshakeHandler(handshakeHandler)
                 .setAllowedOrigins("*");
     }
 }
\ No newline at end of file
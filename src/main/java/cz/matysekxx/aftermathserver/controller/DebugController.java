@@ -0,0 +1,84 @@
+package cz.matysekxx.aftermathserver.controller;
+
+import cz.matysekxx.aftermathserver.command.GameCommandQueue;
+import cz.matysekxx.aftermathserver.command.InboundRateLimiter;
+import cz.matysekxx.aftermathserver.core.tick.TickProfiler;
+import cz.matysekxx.aftermathserver.core.tick.TickScheduler;
+import cz.matysekxx.aftermathserver.dto.EventQueueStats;
+import cz.matysekxx.aftermathserver.dto.InboundDebugResponse;
+import cz.matysekxx.aftermathserver.dto.SessionQueueStats;
+import cz.matysekxx.aftermathserver.dto.TickDebugResponse;
+import cz.matysekxx.aftermathserver.event.GameEventQueue;
+import cz.matysekxx.aftermathserver.network.NetworkService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST endpoints exposing server internals for diagnostics.
+ *
+ * @author Matysekxx
+ */
+@RestController
+@RequestMapping("/debug")
+public class DebugController {
+    private final TickScheduler tickScheduler;
+    private final TickProfiler tickProfiler;
+    private final NetworkService networkService;
+    private final GameCommandQueue gameCommandQueue;
+    private final InboundRateLimiter rateLimiter;
+    private final GameEventQueue gameEventQueue;
+
+    public DebugController(TickScheduler tickScheduler, TickProfiler tickProfiler, NetworkService networkService,
+                           GameCommandQueue gameCommandQueue, InboundRateLimiter rateLimiter, GameEventQueue gameEventQueue) {
+        this.tickScheduler = tickScheduler;
+        this.tickProfiler = tickProfiler;
+        this.networkService = networkService;
+        this.gameCommandQueue = gameCommandQueue;
+        this.rateLimiter = rateLimiter;
+        this.gameEventQueue = gameEventQueue;
+    }
+
+    /**
+     * Returns tick duration percentiles, overrun counts and the cost of each tick phase.
+     *
+     * @return The tick statistics.
+     */
+    @GetMapping("/tick")
+    public TickDebugResponse tick() {
+        return new TickDebugResponse(tickScheduler.getReport(), tickProfiler.report());
+    }
+
+    /**
+     * Returns the outbound queue depth and counters of every session, the ones furthest behind first.
+     *
+     * @return The per-session queue metrics.
+     */
+    @GetMapping("/sessions")
+    public List<SessionQueueStats> sessions() {
+        return networkService.getQueueStats();
+    }
+
+    /**
+     * Returns the number of coalesced moves and the accepted and rate-limited requests of every session,
+     * the most rejected ones first.
+     *
+     * @return The inbound request metrics.
+     */
+    @GetMapping("/inbound")
+    public InboundDebugResponse inbound() {
+        return new InboundDebugResponse(gameCommandQueue.getCoalesced(), rateLimiter.getStats());
+    }
+
+    /**
+     * Returns the depth, enqueue rate and drop counter of every lane of the game event queue.
+     *
+     * @return The event queue metrics, in priority order.
+     */
+    @GetMapping("/events")
+    public List<EventQueueStats> events() {
+        return gameEventQueue.getStats();
+    }
+}
@@ -0,0 +1,83 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.AiSettings;
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.core.model.entity.Npc;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_X;
+import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_Y;
+
+/**
+ * Decides how often each NPC thinks, based on its distance to the nearest player on the same layer.
+ * <p>
+ * NPCs inside a player's viewport think every tick, NPCs within the near margin around it
+ * think at a reduced rate and NPCs further away are dormant and only re-check the distance
+ * now and then. An NPC that is not due this tick costs a single comparison, and the due
+ * ticks of NPCs are staggered by their ID so the work is spread evenly over ticks.
+ *
+ * @author Matysekxx
+ */
+@Component
+public class AiLevelOfDetail {
+    private final AiSettings settings;
+
+    public AiLevelOfDetail(GameSettings gameSettings) {
+        this.settings = gameSettings.getAi();
+    }
+
+    /**
+     * Checks whether an NPC should think in this tick and schedules its next thought.
+     *
+     * @param npc     The NPC.
+     * @param players The players on the NPC's map.
+     * @param tick    The current tick.
+     * @return true if the NPC's behavior should be updated.
+     */
+    public boolean shouldUpdate(Npc npc, Collection<Player> players, long tick) {
+        if (!settings.isLodEnabled()) return true;
+        if (tick < npc.getNextThinkTick()) return false;
+
+        final int distance = nearestPlayerDistance(npc, players);
+        if (distance <= 0) {
+            npc.setNextThinkTick(tick + 1);
+            return true;
+        }
+        if (distance <= settings.getNearMargin()) {
+            npc.setNextThinkTick(nextDueTick(npc, tick, settings.getNearInterval()));
+            return true;
+        }
+        npc.setNextThinkTick(nextDueTick(npc, tick, settings.getDormantCheckInterval()));
+        return false;
+    }
+
+    /**
+     * Computes how far outside the nearest viewport the NPC is.
+     *
+     * @return 0 if the NPC is inside a viewport, the number of tiles outside otherwise,
+     * or {@link Integer#MAX_VALUE} if there is no living player on its layer.
+     */
+    private int nearestPlayerDistance(Npc npc, Collection<Player> players) {
+        int nearest = Integer.MAX_VALUE;
+        for (Player player : players) {
+            if (player.isDead() || player.getLayerIndex() != npc.getLayerIndex()) continue;
+            final int outsideX = Math.abs(player.getX() - npc.getX()) - VIEWPORT_RANGE_X;
+            final int outsideY = Math.abs(player.getY() - npc.getY()) - VIEWPORT_RANGE_Y;
+            nearest = Math.min(nearest, Math.max(0, Math.max(outsideX, outsideY)));
+            if (nearest == 0) break;
+        }
+        return nearest;
+    }
+
+    /**
+     * Returns the next tick after the current one that falls on the NPC's slot within the interval.
+     */
+    private static long nextDueTick(Npc npc, long tick, int interval) {
+        if (interval <= 1) return tick + 1;
+        final long slot = Math.floorMod(npc.getId().hashCode(), interval);
+        return tick + interval - Math.floorMod(tick + slot, interval);
+    }
+}
@@ -6,6 +6,7 @@ import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.item.Item;
 import cz.matysekxx.aftermathserver.core.model.item.ItemType;
+import cz.matysekxx.aftermathserver.core.timer.TimerService;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.MapObject;
 import cz.matysekxx.aftermathserver.core.world.WorldManager;
@@ -33,6 +34,7 @@ public class CombatService {
     private final WorldManager worldManager;
     private final GameEventQueue gameEventQueue;
     private final MapObjectFactory mapObjectFactory;
+    private final TimerService timerService;
 
     /**
      * Constructs the CombatService.
@@ -40,11 +42,14 @@ public class CombatService {
      * @param worldManager     The manager for world data.
      * @param gameEventQueue   The queue for game events.
      * @param mapObjectFactory Factory for creating map objects (loot bags).
+     * @param timerService     The game clock used for attack cooldowns.
      */
-    public CombatService(WorldManager worldManager, GameEventQueue gameEventQueue, MapObjectFactory mapObjectFactory) {
+    public CombatService(WorldManager worldManager, GameEventQueue gameEventQueue, MapObjectFactory mapObjectFactory,
+                         TimerService timerService) {
         this.worldManager = worldManager;
         this.gameEventQueue = gameEventQueue;
         this.mapObjectFactory = mapObjectFactory;
+        this.timerService = timerService;
     }
 
     /**
@@ -71,8 +76,7 @@ public class CombatService {
         }
 
         final int weaponCooldown = weapon.getCooldown() != null ? weapon.getCooldown() : 1000;
-        final long currentTime = System.currentTimeMillis();
-        if (currentTime - player.getLastAttackTime() < weaponCooldown) {
+        if (!timerService.isReady(player.getAttackReadyTick())) {
             gameEventQueue.enqueue(GameEventFactory.sendErrorEvent("You are attacking too quickly!", player.getId()));
             return;
         }
@@ -99,13 +103,10 @@ public class CombatService {
 
         final int damage = weapon.getDamage() != null ? weapon.getDamage() : 1;
         closestNpc.takeDamage(damage);
-        player.setLastAttackTime(System.currentTimeMillis());
+        player.setAttackReadyTick(timerService.readyTickAfter(weaponCooldown));
         log.info("Player {} dealt {} damage to NPC {}", player.getName(), damage, closestNpc.getName());
         if (closestNpc.isDead()) handleNpcDeath(closestNpc, map, player.getId());
-        else {
-            final List<NpcDto> update = List.of(NpcDto.fromEntity(closestNpc));
-            gameEventQueue.enqueue(GameEventFactory.broadcastNpcs(update, map.getId()));
-        }
+        else gameEventQueue.enqueue(GameEventFactory.broadcastNpcs(map.snapshotNpcs(), map.getId(), map.getNpcsVersion()));
     }
 
     /**
@@ -121,14 +122,14 @@ public class CombatService {
         map.getNpcs().remove(npc);
         if (npc.getLoot() != null) {
             for (Item item : npc.getLoot()) {
-                final MapObject lootBag = mapObjectFactory.createLootBag(item.getId(), item.getQuantity(), npc.getX(), npc.getY(), npc.getLayerIndex());
+                final MapObject lootBag = mapObjectFactory.createLootBag(item.getId(), item.getQuantity(), npc.getX(), npc.getY(), npc.getLayerIndex(), map.getId());
                 map.addObject(lootBag);
+                gameEventQueue.enqueue(GameEventFactory.objectAdded(map, lootBag));
             }
         }
-        gameEventQueue.enqueue(GameEventFactory.broadcastMapObjects(map.getObjects(), map.getId()));
 
-        final List<NpcDto> remainingNpcs = map.getNpcs().stream().map(NpcDto::fromEntity).toList();
-        gameEventQueue.enqueue(GameEventFactory.broadcastNpcs(remainingNpcs, map.getId()));
+        final List<NpcDto> remainingNpcs = map.snapshotNpcs();
+        gameEventQueue.enqueue(GameEventFactory.broadcastNpcs(remainingNpcs, map.getId(), map.getNpcsVersion()));
 
         gameEventQueue.enqueue(GameEventFactory.sendMessageEvent("You killed " + npc.getName(), killerId));
     }
@@ -0,0 +1,130 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.core.model.entity.State;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.core.world.WorldManager;
+import cz.matysekxx.aftermathserver.event.GameEventFactory;
+import cz.matysekxx.aftermathserver.event.GameEventQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Service running the end-of-day logic spread over several ticks.
+ * <p>
+ * When a day starts, the players and maps to process are captured, and every tick
+ * handles only a slice of them, so the work is finished within the configured window
+ * instead of in one long tick. If a new day starts before the previous one is done,
+ * the rest of the previous day is processed at once, so no player or map is skipped.
+ * Players who leave the game before their turn comes are not charged.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+@Service
+public class DailyCycleService {
+    private final PlayerRegistry playerRegistry;
+    private final WorldManager worldManager;
+    private final EconomyService economyService;
+    private final SpawnManager spawnManager;
+    private final MapHibernationService mapHibernationService;
+    private final GameEventQueue gameEventQueue;
+    private final int windowTicks;
+    private final Deque<Player> pendingPlayers = new ArrayDeque<>();
+    private final Deque<GameMapData> pendingMaps = new ArrayDeque<>();
+    private long day;
+    private int playersPerTick;
+    private int mapsPerTick;
+
+    public DailyCycleService(PlayerRegistry playerRegistry, WorldManager worldManager, EconomyService economyService,
+                             SpawnManager spawnManager, MapHibernationService mapHibernationService,
+                             GameEventQueue gameEventQueue, GameSettings settings) {
+        this.playerRegistry = playerRegistry;
+        this.worldManager = worldManager;
+        this.economyService = economyService;
+        this.spawnManager = spawnManager;
+        this.mapHibernationService = mapHibernationService;
+        this.gameEventQueue = gameEventQueue;
+        this.windowTicks = Math.max(1, settings.getDailyCycle().getWindowTicks());
+    }
+
+    /**
+     * Starts the processing of a new day.
+     *
+     * @param day The number of the new day.
+     */
+    public void startDay(long day) {
+        if (isInProgress()) {
+            log.warn("Day {} started before day {} was processed, finishing {} players and {} maps now",
+                    day, this.day, pendingPlayers.size(), pendingMaps.size());
+            process(pendingPlayers.size(), pendingMaps.size());
+        }
+        this.day = day;
+        final List<Player> players = new ArrayList<>();
+        playerRegistry.forEach(players::add);
+        pendingPlayers.addAll(players);
+        pendingMaps.addAll(worldManager.getMaps());
+        playersPerTick = Math.ceilDiv(pendingPlayers.size(), windowTicks);
+        mapsPerTick = Math.ceilDiv(pendingMaps.size(), windowTicks);
+        log.info("Processing daily cycle. Day: {} ({} players, {} maps over {} ticks)",
+                day, pendingPlayers.size(), pendingMaps.size(), windowTicks);
+    }
+
+    /**
+     * Processes the next slice of the current day. Called once per tick.
+     */
+    public void advance() {
+        if (!isInProgress()) return;
+        process(playersPerTick, mapsPerTick);
+        if (!isInProgress()) {
+            log.info("Daily cycle of day {} finished", day);
+        }
+    }
+
+    /**
+     * @return true if the current day still has unprocessed players or maps.
+     */
+    public boolean isInProgress() {
+        return !pendingPlayers.isEmpty() || !pendingMaps.isEmpty();
+    }
+
+    private void process(int playerCount, int mapCount) {
+        for (int i = 0; i < playerCount && !pendingPlayers.isEmpty(); i++) {
+            processPlayer(pendingPlayers.poll());
+        }
+        for (int i = 0; i < mapCount && !pendingMaps.isEmpty(); i++) {
+            processMap(pendingMaps.poll());
+        }
+    }
+
+    /**
+     * Charges the daily fees of a player who is still in the game.
+     *
+     * @param player The player captured at the start of the day.
+     */
+    private void processPlayer(Player player) {
+        if (playerRegistry.getPlayer(player.getId()) != player || player.getState() == State.DEAD) return;
+        economyService.processDailyDebt(player);
+        gameEventQueue.enqueue(GameEventFactory.sendMessageEvent("A new day has dawned. Daily living fees have been deducted.", player.getId()));
+    }
+
+    /**
+     * Replenishes NPCs and loot of an awake map. Hibernating maps only record the missed day.
+     *
+     * @param map The map.
+     */
+    private void processMap(GameMapData map) {
+        if (mapHibernationService.deferDailyCycle(map)) return;
+        spawnManager.replenishNpcs(map, 1);
+        if (spawnManager.spawnDailyLoot(map, 1) > 0 && !playerRegistry.getPlayerIdsOnMap(map.getId()).isEmpty()) {
+            // a whole day of loot at once is cheaper to send as one list than as single additions
+            gameEventQueue.enqueue(GameEventFactory.broadcastMapObjects(map));
+        }
+    }
+}
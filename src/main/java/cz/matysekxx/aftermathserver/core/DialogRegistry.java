@@ -8,7 +8,7 @@ import org.springframework.context.annotation.Configuration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Registry for managing NPC dialogs loaded from configuration.
@@ -37,15 +37,16 @@ public class DialogRegistry {
     /**
      * Retrieves a random dialog line for a specific key.
      *
-     * @param key The dialog key.
+     * @param key    The dialog key.
+     * @param random The random generator to use.
      * @return A random dialog string, or null if not found or empty.
      */
-    public String getRandomDialog(String key) {
+    public String getRandomDialog(String key, RandomGenerator random) {
         final List<String> dialogs = dialogMap.get(key);
         if (dialogs == null || dialogs.isEmpty()) {
             log.warn("No dialogs found for key: {}", key);
             return null;
         }
-        return dialogs.get(ThreadLocalRandom.current().nextInt(0, dialogs.size()));
+        return dialogs.get(random.nextInt(0, dialogs.size()));
     }
 }
@@ -1,10 +1,18 @@
 package cz.matysekxx.aftermathserver.core;
 
+import cz.matysekxx.aftermathserver.command.GameCommand;
+import cz.matysekxx.aftermathserver.command.GameCommandQueue;
+import cz.matysekxx.aftermathserver.config.GameSettings;
 import cz.matysekxx.aftermathserver.core.factory.MapObjectFactory;
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.entity.State;
 import cz.matysekxx.aftermathserver.core.model.item.Item;
+import cz.matysekxx.aftermathserver.core.tick.MapTick;
+import cz.matysekxx.aftermathserver.core.tick.TickPhase;
+import cz.matysekxx.aftermathserver.core.tick.TickProfiler;
+import cz.matysekxx.aftermathserver.core.tick.TickScheduler;
+import cz.matysekxx.aftermathserver.core.timer.TimerService;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.MapObject;
 import cz.matysekxx.aftermathserver.core.world.MapType;
@@ -15,11 +23,10 @@ import cz.matysekxx.aftermathserver.event.GameEventQueue;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Core engine managing the game state and loop.
@@ -36,11 +43,6 @@ public class GameEngine {
     public static final int VIEWPORT_RANGE_X = 60;
     public static final int VIEWPORT_RANGE_Y = 20;
     private static final int TICKS_PER_DAY = 1200;
-    /**
-     * Target density: 1 NPC per 1000 reachable tiles (0.001)
-     */
-    private static final double NPC_DENSITY = 0.001;
-    private static final int DAILY_RESPAWN_COUNT = 3;
     private final WorldManager worldManager;
     private final GameEventQueue gameEventQueue;
     private final MapObjectFactory mapObjectFactory;
@@ -52,7 +54,17 @@ public class GameEngine {
     private final CombatService combatService;
     private final PlayerRegistry playerRegistry;
     private final LoginService loginService;
+    private final GameCommandQueue gameCommandQueue;
+    private final GameSettings settings;
+    private final MapWorkerPool mapWorkerPool;
+    private final TickScheduler tickScheduler;
+    private final MapHibernationService mapHibernationService;
+    private final TickProfiler tickProfiler;
+    private final DailyCycleService dailyCycleService;
+    private final AiLevelOfDetail aiLevelOfDetail;
+    private final TimerService timerService;
     private long tickCounter = 0;
+    private long currentDay = 0;
 
     /**
      * Constructs the GameEngine with all required services.
@@ -68,11 +80,24 @@ public class GameEngine {
      * @param combatService      Handles combat logic.
      * @param playerRegistry     Registry of active players.
      * @param loginService       Handles login operations.
+     * @param gameCommandQueue   Queue of client commands applied at the start of each tick.
+     * @param settings           Game-wide settings.
+     * @param mapWorkerPool      Worker threads updating maps in parallel.
+     * @param tickScheduler      Fixed-timestep scheduler driving the game loop.
+     * @param mapHibernationService Puts empty maps to sleep and wakes them up.
+     * @param tickProfiler       Measures the duration of tick phases.
+     * @param dailyCycleService  Runs the end-of-day logic spread over several ticks.
+     * @param aiLevelOfDetail    Decides how often NPCs think.
+     * @param timerService       Game clock and scheduled timers.
      */
     public GameEngine(WorldManager worldManager, GameEventQueue gameEventQueue, MapObjectFactory mapObjectFactory, MovementService movementService, StatsService statsService,
                       InteractionService interactionService, EconomyService economyService,
                       SpawnManager spawnManager, CombatService combatService,
-                      PlayerRegistry playerRegistry, LoginService loginService) {
+                      PlayerRegistry playerRegistry, LoginService loginService,
+                      GameCommandQueue gameCommandQueue, GameSettings settings, MapWorkerPool mapWorkerPool,
+                      TickScheduler tickScheduler, MapHibernationService mapHibernationService,
+                      TickProfiler tickProfiler, DailyCycleService dailyCycleService,
+                      AiLevelOfDetail aiLevelOfDetail, TimerService timerService) {
         this.worldManager = worldManager;
         this.gameEventQueue = gameEventQueue;
         this.mapObjectFactory = mapObjectFactory;
@@ -84,16 +109,28 @@ public class GameEngine {
         this.combatService = combatService;
         this.playerRegistry = playerRegistry;
         this.loginService = loginService;
+        this.gameCommandQueue = gameCommandQueue;
+        this.settings = settings;
+        this.mapWorkerPool = mapWorkerPool;
+        this.tickScheduler = tickScheduler;
+        this.mapHibernationService = mapHibernationService;
+        this.tickProfiler = tickProfiler;
+        this.dailyCycleService = dailyCycleService;
+        this.aiLevelOfDetail = aiLevelOfDetail;
+        this.timerService = timerService;
     }
 
     /**
-     * Initializes world content such as NPCs and items upon application startup.
+     * Initializes world content such as NPCs and items upon application startup
+     * and starts the game loop once the world is ready.
      */
     @EventListener(ApplicationReadyEvent.class)
     public void initializeWorld() {
         log.info("Initializing world content...");
         initialSpawnNpc();
         spawnItems();
+        timerService.schedule(TICKS_PER_DAY, this::startNextDay);
+        tickScheduler.start(this::gameLoop);
     }
 
     /**
@@ -115,6 +152,15 @@ public class GameEngine {
         loginService.handleLogin(sessionId, request);
     }
 
+    /**
+     * Sends the state of a player to its client again, for a client that resumed its session.
+     *
+     * @param sessionId The session ID of the player.
+     */
+    public void resyncPlayer(String sessionId) {
+        loginService.resendGameState(sessionId);
+    }
+
     /**
      * Removes a player session from the registry.
      *
@@ -189,26 +235,91 @@ public class GameEngine {
         final Optional<Item> droppedItem = player.getInventory().removeItem(slotIndex, amount);
         droppedItem.ifPresentOrElse(item -> {
             final GameMapData map = worldManager.getMap(player.getMapId());
-            final MapObject lootBag = mapObjectFactory.createLootBag(item.getId(), amount, player.getX(), player.getY(), player.getLayerIndex());
+            final MapObject lootBag = mapObjectFactory.createLootBag(item.getId(), amount, player.getX(), player.getY(), player.getLayerIndex(), player.getMapId());
             map.addObject(lootBag);
             if (Objects.equals(slotIndex, player.getEquippedWeaponSlot())) player.setEquippedWeaponSlot(null);
             if (Objects.equals(slotIndex, player.getEquippedMaskSlot())) player.setEquippedMaskSlot(null);
             gameEventQueue.enqueue(GameEventFactory.sendInventoryEvent(player));
-            gameEventQueue.enqueue(GameEventFactory.broadcastMapObjects(map.getObjects(), player.getMapId()));
+            gameEventQueue.enqueue(GameEventFactory.objectAdded(map, lootBag));
         }, () -> gameEventQueue.enqueue(GameEventFactory.sendErrorEvent("Item not found or invalid amount", playerId)));
     }
 
     /**
-     * Main game loop executed periodically based on the configured tick rate.
+     * Main game loop executed by the {@link TickScheduler} at the configured tick rate.
+     * <p>
+     * The tick runs as a sequence of {@link TickPhase}s, each timed by the {@link TickProfiler}.
+     * The game clock is advanced first and due timers run, then the client commands queued
+     * since the previous tick are applied, so all game state changes happen on this thread.
+     * The per-map phases then run in parallel, each map on the worker that owns it, and every
+     * phase finishes on all maps before the next starts. The tick ends with a {@code TICK_END} event,
+     * so the network layer can send everything the tick produced for a session at once.
+     *
+     * @param tick The tick number. Follows wall time, so it may jump when ticks are skipped.
+     */
+    public void gameLoop(long tick) {
+        tickCounter = tick;
+        tickProfiler.time(TickPhase.TIMERS, () -> timerService.advance(tick));
+        tickProfiler.time(TickPhase.INPUT, () -> gameCommandQueue.drain(settings.getMaxCommandsPerTick(), this::executeCommand));
+        final Map<String, MapTick> mapTicks = collectMapTicks();
+        tickProfiler.time(TickPhase.DAILY, () -> {
+            dailyCycleService.advance();
+            mapHibernationService.update(tick, mapTicks.keySet());
+        });
+        runMapPhase(TickPhase.ENVIRONMENT, mapTicks, this::applyEnvironment);
+        runMapPhase(TickPhase.AI, mapTicks, this::updateNpcs);
+        runMapPhase(TickPhase.TRIGGERS, mapTicks, this::resolveDeaths);
+        runMapPhase(TickPhase.SNAPSHOT, mapTicks, this::takeSnapshot);
+        tickProfiler.time(TickPhase.EMIT, () -> mapTicks.values().forEach(this::emit));
+        gameEventQueue.enqueue(GameEventFactory.tickEndEvent(tick));
+    }
+
+    /**
+     * Starts the daily cycle of a new day and schedules the next one.
+     * Runs as a timer, so a day boundary is never missed even when ticks are skipped.
+     */
+    private void startNextDay() {
+        dailyCycleService.startDay(++currentDay);
+        timerService.schedule(TICKS_PER_DAY, this::startNextDay);
+    }
+
+    /**
+     * Groups players by map and creates the tick state of every populated map.
+     *
+     * @return The tick state keyed by map ID.
      */
-    @Scheduled(fixedRateString = "${game.tick-rate}")
-    public void gameLoop() {
-        tickCounter++;
-        if (tickCounter % TICKS_PER_DAY == 0) {
-            processDailyCycle();
+    private Map<String, MapTick> collectMapTicks() {
+        final Map<String, List<Player>> playersByMap = new HashMap<>();
+        playerRegistry.forEach(p ->
+                playersByMap.computeIfAbsent(p.getMapId(), k -> new ArrayList<>()).add(p));
+        final Map<String, MapTick> mapTicks = new HashMap<>();
+        worldManager.forEachWithPredicate(map -> playersByMap.containsKey(map.getId()),
+                map -> mapTicks.put(map.getId(), new MapTick(map, playersByMap.get(map.getId()))));
+        return mapTicks;
+    }
+
+    /**
+     * Runs a per-map phase on the map workers and records its duration.
+     *
+     * @param phase    The phase being executed.
+     * @param mapTicks The tick state of the populated maps.
+     * @param task     The work done for each map.
+     */
+    private void runMapPhase(TickPhase phase, Map<String, MapTick> mapTicks, Consumer<MapTick> task) {
+        final List<GameMapData> maps = mapTicks.values().stream().map(MapTick::getMap).toList();
+        tickProfiler.time(phase, () -> mapWorkerPool.forEachMap(maps, map -> task.accept(mapTicks.get(map.getId()))));
+    }
+
+    /**
+     * Applies a single client command, isolating failures so one bad request cannot break the tick.
+     *
+     * @param command The command to execute.
+     */
+    private void executeCommand(GameCommand command) {
+        try {
+            command.execute();
+        } catch (Exception e) {
+            log.error("Error while executing {} command from session {}", command.type(), command.sessionId(), e);
         }
-        final Set<String> activeMaps = updatePlayers();
-        updateNpcs(activeMaps);
     }
 
     /**
@@ -233,14 +344,13 @@ public class GameEngine {
      */
     private void initialSpawnNpc() {
         worldManager.forEach(map -> {
-            final int reachableTiles = spawnManager.getReachableTileCount(map.getId());
             if (map.getType() == MapType.HAZARD_ZONE) {
-                final double difficultyMultiplier = 0.5 + (map.getDifficulty() * 0.5);
-                final int maxNpcs = Math.max(5, (int) (reachableTiles * NPC_DENSITY * difficultyMultiplier));
+                final int maxNpcs = spawnManager.getTargetNpcCount(map);
                 spawnManager.spawnRandomAggressiveNpcs(map.getId(), maxNpcs);
-                log.info("Initial spawn on map {}: {} NPCs (based on {} tiles)", map.getId(), maxNpcs, reachableTiles);
+                log.info("Initial spawn on map {}: {} NPCs", map.getId(), maxNpcs);
             } else if (map.getType() == MapType.SAFE_ZONE) {
-                int traderCount = Math.max(2, (int) (reachableTiles * NPC_DENSITY));
+                final int reachableTiles = spawnManager.getReachableTileCount(map.getId());
+                int traderCount = Math.max(2, (int) (reachableTiles * SpawnManager.NPC_DENSITY));
                 spawnManager.spawnRandomTraderNpcs(map.getId(), traderCount);
                 log.info("Initial spawn on safe map {}: {} Traders", map.getId(), traderCount);
             }
@@ -248,99 +358,83 @@ public class GameEngine {
     }
 
     /**
-     * Replenishes NPC populations on maps that have fallen below their target density.
+     * Spawns random loot items across all maps based on map difficulty and type.
      */
-    private void respawnNpcs() {
-        for (GameMapData map : worldManager.getMaps()) {
-            final double difficultyMultiplier = 0.5 + (map.getDifficulty() * 0.5);
-            final int reachableTiles = spawnManager.getReachableTileCount(map.getId());
-            final int maxNpcs = Math.max(5, (int) (reachableTiles * NPC_DENSITY * difficultyMultiplier));
-            final int currentCount = map.getNpcs().size();
-            if (currentCount < maxNpcs) {
-                final int toSpawn = Math.min(DAILY_RESPAWN_COUNT, maxNpcs - currentCount);
-                switch (map.getType()) {
-                    case SAFE_ZONE -> spawnManager.spawnRandomTraderNpcs(map.getId(), toSpawn);
-                    case HAZARD_ZONE -> spawnManager.spawnRandomAggressiveNpcs(map.getId(), toSpawn);
-                }
-            }
+    private void spawnItems() {
+        worldManager.forEach(map -> {
+            final int count = spawnManager.spawnDailyLoot(map, 1);
+            log.info("Spawned {} loot items on map: {}", count, map.getId());
+        });
+    }
+
+    /**
+     * Applies environmental effects to the living players on a map.
+     *
+     * @param mapTick The tick state of the map.
+     */
+    private void applyEnvironment(MapTick mapTick) {
+        boolean active = false;
+        for (Player player : mapTick.getPlayers()) {
+            if (player.getState() == State.DEAD) continue;
+            final boolean statsChanged = statsService.applyStats(player);
+            if (player.getHp() > 0) active = true;
+            if (statsChanged || player.getRads() > 0) mapTick.getChangedStats().add(player);
         }
+        mapTick.setActive(active);
     }
 
     /**
-     * Spawns random loot items across all maps based on map difficulty and type.
+     * Updates the AI logic of the NPCs on a map with at least one living player.
+     * How often an NPC thinks is decided by the {@link AiLevelOfDetail}.
+     *
+     * @param mapTick The tick state of the map.
      */
-    private void spawnItems() {
-        worldManager.forEach(map -> {
-            final int reachableTiles = spawnManager.getReachableTileCount(map.getId());
-            final double density = map.getType() == MapType.HAZARD_ZONE ? (0.0005 * map.getDifficulty()) : 0.0001;
-            int count = (int) (reachableTiles * density);
-            if (map.getType() == MapType.SAFE_ZONE) {
-                count = Math.max(4, count);
-            } else {
-                count = Math.max(8, count);
+    private void updateNpcs(MapTick mapTick) {
+        if (!mapTick.isActive()) return;
+        final GameMapData map = mapTick.getMap();
+        for (Npc npc : map.getNpcs()) {
+            if (aiLevelOfDetail.shouldUpdate(npc, mapTick.getPlayers(), tickCounter)) {
+                npc.update(map, mapTick.getPlayers());
             }
-            spawnManager.spawnRandomLoot(map.getId(), count);
-            log.info("Spawned {} loot items on map: {} (density {})", count, map.getId(), density);
-        });
+        }
     }
 
     /**
-     * Updates the AI logic for all NPCs on active maps.
+     * Resolves the deaths of players killed by the environment or NPCs during this tick.
      *
-     * @param activeMaps The set of map IDs that currently have active players.
+     * @param mapTick The tick state of the map.
      */
-    private void updateNpcs(Set<String> activeMaps) {
-        final Map<String, List<Player>> playersByMap = new HashMap<>();
-        playerRegistry.forEach(p ->
-                playersByMap.computeIfAbsent(p.getMapId(), k -> new ArrayList<>()).add(p));
-        worldManager.forEachWithPredicate(
-                map -> activeMaps.contains(map.getId()), map -> {
-                    final List<Player> playersOnMap = playersByMap.getOrDefault(map.getId(), List.of());
-                    map.getNpcs().forEach(npc -> npc.update(map, playersOnMap));
-
-                    final List<NpcDto> npcDtos = map.getNpcs().stream().map(NpcDto::fromEntity).collect(Collectors.toList());
-                    gameEventQueue.enqueue(GameEventFactory.broadcastNpcs(npcDtos, map.getId()));
-                });
+    private void resolveDeaths(MapTick mapTick) {
+        for (Player player : mapTick.getPlayers()) {
+            if (player.getState() != State.DEAD && player.getHp() <= 0) {
+                handlePlayerDeath(player);
+            }
+        }
     }
 
     /**
-     * Updates the state of all active players.
-     * Applies environmental effects and checks for death conditions.
+     * Captures the NPC state of an active map and drops stats updates of players who died.
      *
-     * @return A set of map IDs that currently have active players.
+     * @param mapTick The tick state of the map.
      */
-    private Set<String> updatePlayers() {
-        final Set<String> activeMapIds = new HashSet<>();
-        playerRegistry.forEachWithPredicate(
-                player -> player.getState() != State.DEAD,
-                player -> {
-                    final boolean statsChanged = statsService.applyStats(player);
-                    if (player.getHp() <= 0) {
-                        handlePlayerDeath(player);
-                    } else {
-                        activeMapIds.add(player.getMapId());
-                        if (statsChanged || player.getRads() > 0)
-                            gameEventQueue.enqueue(GameEventFactory.sendStatsEvent(player));
-                    }
-                }
-        );
-        return activeMapIds;
+    private void takeSnapshot(MapTick mapTick) {
+        mapTick.getChangedStats().removeIf(player -> player.getState() == State.DEAD);
+        if (mapTick.isActive()) {
+            mapTick.setNpcSnapshot(mapTick.getMap().snapshotNpcs());
+            mapTick.setNpcsVersion(mapTick.getMap().getNpcsVersion());
+        }
     }
 
     /**
-     * Handles the end-of-day logic.
-     * Triggers debt calculation for all players via EconomyService.
+     * Enqueues the network events produced for a map during this tick.
+     *
+     * @param mapTick The tick state of the map.
      */
-    private void processDailyCycle() {
-        log.info("Processing daily cycle. Day: {}", tickCounter / TICKS_PER_DAY);
-        playerRegistry.forEachWithPredicate(
-                player -> player.getState() != State.DEAD,
-                player -> {
-                    economyService.processDailyDebt(player);
-                    gameEventQueue.enqueue(GameEventFactory.sendMessageEvent("A new day has dawned. Daily living fees have been deducted.", player.getId()));
-                });
-        respawnNpcs();
-        spawnItems();
+    private void emit(MapTick mapTick) {
+        mapTick.getChangedStats().forEach(player -> gameEventQueue.enqueue(GameEventFactory.sendStatsEvent(player)));
+        if (mapTick.getNpcSnapshot() != null) {
+            gameEventQueue.enqueue(GameEventFactory.broadcastNpcs(mapTick.getNpcSnapshot(), mapTick.getMap().getId(), mapTick.getNpcsVersion()));
+        }
     }
 
     /**
@@ -356,6 +450,7 @@ public class GameEngine {
         if (maybeMap.isEmpty()) return;
         final MapObject corpse = mapObjectFactory.createPlayerCorpse(player);
         maybeMap.get().addObject(corpse);
+        gameEventQueue.enqueue(GameEventFactory.objectAdded(maybeMap.get(), corpse));
 
         player.getInventory().clear();
         player.setEquippedWeaponSlot(null);
@@ -444,6 +539,23 @@ public class GameEngine {
                 ));
     }
 
+    /**
+     * Processes a debt payment request from a player.
+     * Pays the personal debt first, then contributes to the global debt.
+     *
+     * @param sessionId The session ID of the player.
+     * @param request   The payment request containing the amount.
+     */
+    public void processPayDebt(String sessionId, PayDebtRequest request) {
+        playerRegistry.getMaybePlayer(sessionId).ifPresent(player -> {
+            if (player.getDebt() > 0) {
+                economyService.payPersonalDebt(player, request.getAmount());
+            } else {
+                economyService.contributeToGlobalDebt(player, request.getAmount());
+            }
+        });
+    }
+
     public void processSell(String sessionId, SellRequest request) {
         playerRegistry.getMaybePlayer(sessionId).ifPresent(player ->
                 findNpcOnPlayerMap(player, request.getNpcId()).ifPresentOrElse(
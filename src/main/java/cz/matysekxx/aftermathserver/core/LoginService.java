@@ -4,6 +4,7 @@ import cz.matysekxx.aftermathserver.config.GameSettings;
 import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.entity.State;
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.MapType;
 import cz.matysekxx.aftermathserver.core.world.WorldManager;
@@ -17,7 +18,6 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_X;
 import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_Y;
@@ -37,12 +37,17 @@ public class LoginService {
     private final GameEventQueue gameEventQueue;
     private final GameSettings settings;
     private final PlayerRegistry playerRegistry;
+    private final MapHibernationService mapHibernationService;
+    private final RandomService randomService;
 
-    public LoginService(WorldManager worldManager, GameEventQueue gameEventQueue, GameSettings settings, PlayerRegistry playerRegistry) {
+    public LoginService(WorldManager worldManager, GameEventQueue gameEventQueue, GameSettings settings, PlayerRegistry playerRegistry,
+                        MapHibernationService mapHibernationService, RandomService randomService) {
         this.worldManager = worldManager;
         this.gameEventQueue = gameEventQueue;
         this.settings = settings;
         this.playerRegistry = playerRegistry;
+        this.mapHibernationService = mapHibernationService;
+        this.randomService = randomService;
     }
 
     /**
@@ -85,6 +90,7 @@ public class LoginService {
 
         final String mapId = resolveMapId(request.getStartingMapId());
         final String className = resolveClassName(request.getPlayerClass());
+        mapHibernationService.wake(mapId);
         final PlayerClassConfig classConfig = settings.getClasses().get(className);
         final GameMapData startingMap = worldManager.getMap(mapId);
         final Vector3 spawn = determineSpawnPoint(startingMap, request.getUsername());
@@ -98,7 +104,7 @@ public class LoginService {
             existingPlayer.setX(spawn.x());
             existingPlayer.setY(spawn.y());
             existingPlayer.setLayerIndex(spawn.z());
-            existingPlayer.setMapId(mapId);
+            playerRegistry.moveToMap(existingPlayer, mapId);
             existingPlayer.setState(State.ALIVE);
             existingPlayer.setRads(0);
             existingPlayer.setRadsLimit(classConfig.getRadsLimit());
@@ -115,6 +121,31 @@ public class LoginService {
         }
     }
 
+    /**
+     * Sends the state of a logged-in player again after its client resumed the session.
+     * <p>
+     * Unlike the initial state, only the chunk window is sent for the map (the client keeps the chunks
+     * it holds), and NPCs and map objects follow as the changes since the client's acknowledged state.
+     * A player who died meanwhile gets the game over screen and the login options instead.
+     *
+     * @param sessionId The session ID of the player.
+     */
+    public void resendGameState(String sessionId) {
+        final Player player = playerRegistry.getPlayer(sessionId);
+        if (player == null) return;
+        if (player.getState() == State.DEAD) {
+            gameEventQueue.enqueue(GameEventFactory.sendGameOverEvent(player));
+            sendLoginOptions(sessionId);
+            return;
+        }
+        final GameMapData map = worldManager.getMap(player.getMapId());
+        if (map != null) enqueueViewport(player, map);
+        gameEventQueue.enqueue(GameEventFactory.sessionResumedEvent(player));
+        gameEventQueue.enqueue(GameEventFactory.sendInventoryEvent(player));
+        gameEventQueue.enqueue(GameEventFactory.sendStatsEvent(player));
+        gameEventQueue.enqueue(GameEventFactory.sendPositionEvent(player));
+    }
+
     /**
      * Resolves the map ID, falling back to default if invalid.
      *
@@ -157,7 +188,7 @@ public class LoginService {
         final Map<String, Vector3> availableSpawns = map.getSpawns();
         if (availableSpawns != null && !availableSpawns.isEmpty()) {
             final List<Vector3> spawnList = new ArrayList<>(availableSpawns.values());
-            final Vector3 spawn = spawnList.get(ThreadLocalRandom.current().nextInt(spawnList.size()));
+            final Vector3 spawn = spawnList.get(randomService.forMap(map.getId()).nextInt(spawnList.size()));
             log.info("Player {} spawning at random marker on map {}: {}", username, map.getId(), spawn);
             return spawn;
         }
@@ -172,11 +203,10 @@ public class LoginService {
      */
     private void sendInitialGameState(Player player, GameMapData map) {
         enqueueViewport(player, map);
-        gameEventQueue.enqueue(GameEventFactory.sendMapObjectsToPlayer(map.getObjects(), player.getId()));
+        gameEventQueue.enqueue(GameEventFactory.sendMapObjectsToPlayer(map, player.getId()));
 
-        final List<NpcDto> npcs = map.getNpcs().stream().map(NpcDto::fromEntity).toList();
-        log.info("Sending {} NPCs to player {} on map {}", npcs.size(), player.getName(), map.getId());
-        gameEventQueue.enqueue(GameEventFactory.sendNpcsToPlayer(npcs, player.getId()));
+        log.info("Sending {} NPCs to player {} on map {}", map.getNpcs().size(), player.getName(), map.getId());
+        gameEventQueue.enqueue(GameEventFactory.sendNpcsToPlayer(map, player.getId()));
         gameEventQueue.enqueue(GameEventFactory.sendInventoryEvent(player));
         gameEventQueue.enqueue(GameEventFactory.sendStatsEvent(player));
         gameEventQueue.enqueue(GameEventFactory.sendPositionEvent(player));
@@ -189,17 +219,17 @@ public class LoginService {
      * @param mapData The map data.
      */
     private void enqueueViewport(Player player, GameMapData mapData) {
-        final MapViewportPayload viewport = MapViewportPayload.of(
+        final ChunkWindow window = ChunkWindow.of(
                 mapData, player.getX(), player.getY(), player.getLayerIndex(), VIEWPORT_RANGE_X, VIEWPORT_RANGE_Y
         );
 
-        if (viewport.getLayers().isEmpty()) {
+        if (window.isEmpty()) {
             log.error("POZOR: Posílám PRÁZDNOU mapu pro hráče {}! (Z-index: {})", player.getName(), player.getLayerIndex());
         } else {
-            log.info("Posílám mapu: {} (vrstev: {}, střed: [{},{},{}])",
-                    viewport.getMapName(), viewport.getLayers().size(), viewport.getCenterX(), viewport.getCenterY(), viewport.getCenterZ());
+            log.info("Posílám mapu: {} (chunků: {}x{}, střed: [{},{},{}])",
+                    window.mapName(), window.columns(), window.rows(), player.getX(), player.getY(), player.getLayerIndex());
         }
 
-        gameEventQueue.enqueue(GameEventFactory.sendMapDataEvent(viewport, player.getId()));
+        gameEventQueue.enqueue(GameEventFactory.sendMapDataEvent(window, player.getId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.HibernationSettings;
+import cz.matysekxx.aftermathserver.core.model.entity.Npc;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.core.world.WorldManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service putting maps without players to sleep and waking them up on arrival.
+ * <p>
+ * A hibernating map drops its wandering (aggressive) NPCs and keeps only their count,
+ * and it is skipped by the daily cycle. When the first player arrives, the missed days
+ * are applied in one step: the dormant NPCs reappear at random reachable tiles, the
+ * population is replenished and loot is scattered as if every missed day had run.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+@Service
+public class MapHibernationService {
+    private final WorldManager worldManager;
+    private final SpawnManager spawnManager;
+    private final HibernationSettings settings;
+
+    public MapHibernationService(WorldManager worldManager, SpawnManager spawnManager, GameSettings gameSettings) {
+        this.worldManager = worldManager;
+        this.spawnManager = spawnManager;
+        this.settings = gameSettings.getHibernation();
+    }
+
+    /**
+     * Tracks map occupancy and hibernates maps that have been empty for long enough.
+     *
+     * @param tick           The current tick.
+     * @param occupiedMapIds The IDs of maps with at least one player.
+     */
+    public void update(long tick, Set<String> occupiedMapIds) {
+        if (!settings.isEnabled()) return;
+        worldManager.forEach(map -> {
+            if (occupiedMapIds.contains(map.getId())) {
+                map.setLastOccupiedTick(tick);
+            } else if (!map.isHibernating() && tick - map.getLastOccupiedTick() >= settings.getIdleTicks()) {
+                hibernate(map);
+            }
+        });
+    }
+
+    /**
+     * Records a daily cycle missed by a hibernating map.
+     *
+     * @param map The map.
+     * @return true if the map is hibernating and the day was deferred.
+     */
+    public boolean deferDailyCycle(GameMapData map) {
+        if (!map.isHibernating()) return false;
+        map.setMissedDays(map.getMissedDays() + 1);
+        return true;
+    }
+
+    /**
+     * Wakes the map up before a player enters it and fast-forwards the missed days.
+     * Does nothing if the map is not hibernating.
+     *
+     * @param mapId The ID of the map.
+     */
+    public void wake(String mapId) {
+        final GameMapData map = worldManager.getMap(mapId);
+        if (map == null || !map.isHibernating()) return;
+
+        final int days = Math.min(map.getMissedDays(), settings.getMaxFastForwardDays());
+        spawnManager.spawnRandomAggressiveNpcs(mapId, map.getDormantNpcCount());
+        final int respawned = spawnManager.replenishNpcs(map, days);
+        final int loot = spawnManager.spawnDailyLoot(map, days);
+
+        log.info("Map {} woke up after {} missed days: restored {} NPCs, respawned {}, spawned {} loot",
+                mapId, map.getMissedDays(), map.getDormantNpcCount(), respawned, loot);
+        map.setHibernating(false);
+        map.setMissedDays(0);
+        map.setDormantNpcCount(0);
+    }
+
+    private void hibernate(GameMapData map) {
+        final List<Npc> dormant = map.getNpcs().stream().filter(Npc::isAggressive).toList();
+        map.getNpcs().removeAll(dormant);
+        map.setDormantNpcCount(dormant.size());
+        map.setMissedDays(0);
+        map.setHibernating(true);
+        log.debug("Map {} is hibernating ({} NPCs compacted)", map.getId(), dormant.size());
+    }
+}
@@ -0,0 +1,116 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Pool of worker threads that run the per-map part of a game tick in parallel.
+ * <p>
+ * Every map is owned by exactly one worker, so the entities of a map are only touched
+ * by a single thread during the parallel phase. Operations crossing map boundaries
+ * (metro travel, teleports between maps, global debt) are applied as commands on the
+ * simulation thread before the parallel phase starts, which hands the player over to
+ * the owner of the destination map.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+@Component
+public class MapWorkerPool {
+    private final ExecutorService[] workers;
+    private final Map<String, Integer> owners = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOwner = new AtomicInteger();
+
+    public MapWorkerPool(GameSettings settings) {
+        final int count = settings.getMapWorkers() > 0
+                ? settings.getMapWorkers()
+                : Runtime.getRuntime().availableProcessors();
+        this.workers = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            final String threadName = "map-worker-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        log.info("Map worker pool started with {} workers", count);
+    }
+
+    /**
+     * Returns the index of the worker owning the given map.
+     * Maps are assigned round-robin the first time they are seen and keep their owner afterward.
+     *
+     * @param mapId The ID of the map.
+     * @return The index of the owning worker.
+     */
+    public int ownerOf(String mapId) {
+        return owners.computeIfAbsent(mapId, id -> Math.floorMod(nextOwner.getAndIncrement(), workers.length));
+    }
+
+    /**
+     * Runs the task for every map on its owning worker and waits until all maps are done.
+     * <p>
+     * A failure on one map is logged and does not affect the other maps.
+     *
+     * @param maps The maps to process.
+     * @param task The task to execute for each map.
+     */
+    public void forEachMap(Collection<GameMapData> maps, Consumer<GameMapData> task) {
+        if (maps.isEmpty()) return;
+        final List<List<GameMapData>> batches = new ArrayList<>(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (GameMapData map : maps) {
+            batches.get(ownerOf(map.getId())).add(map);
+        }
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers.length; i++) {
+            final List<GameMapData> batch = batches.get(i);
+            if (batch.isEmpty()) continue;
+            futures.add(CompletableFuture.runAsync(() -> batch.forEach(map -> runSafely(task, map)), workers[i]));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void runSafely(Consumer<GameMapData> task, GameMapData map) {
+        try {
+            task.accept(map);
+        } catch (Exception e) {
+            log.error("Error while updating map {}", map.getId(), e);
+        }
+    }
+
+    /**
+     * @return The number of worker threads.
+     */
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Stops all worker threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService worker : workers) {
+            worker.shutdownNow();
+        }
+    }
+}
@@ -2,10 +2,10 @@ package cz.matysekxx.aftermathserver.core;
 
 import cz.matysekxx.aftermathserver.core.logic.metro.MetroService;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.WorldManager;
 import cz.matysekxx.aftermathserver.core.world.triggers.TriggerContext;
-import cz.matysekxx.aftermathserver.dto.MapViewportPayload;
 import cz.matysekxx.aftermathserver.dto.MoveRequest;
 import cz.matysekxx.aftermathserver.event.GameEventFactory;
 import cz.matysekxx.aftermathserver.event.GameEventQueue;
@@ -45,6 +45,8 @@ public class MovementService {
      * <p>
      * Calculates the target position, checks for walkability, updates the player's
      * coordinates, and executes any triggers present on the destination tile.
+     * The map is only sent again when the player ends up in another chunk; the client
+     * draws every step within a chunk from the chunks it already holds.
      *
      * @param player      The player attempting to move.
      * @param moveRequest The DTO containing the movement direction.
@@ -58,6 +60,7 @@ public class MovementService {
         targetY += dir.getDy();
 
         final Vector2 target = new Vector2(targetX, targetY);
+        final ChunkWindow.Anchor anchor = ChunkWindow.anchorOf(player);
 
         if (!canMoveTo(player, target)) {
             gameEventQueue.enqueue(GameEventFactory.sendErrorEvent("OBSTACLE", player.getId()));
@@ -77,10 +80,13 @@ public class MovementService {
 
         gameEventQueue.enqueue(GameEventFactory.sendPositionEvent(player));
 
-        final var viewport = MapViewportPayload.of(
-                currentMap, player.getX(), player.getY(), player.getLayerIndex(), GameEngine.VIEWPORT_RANGE_X, GameEngine.VIEWPORT_RANGE_Y
-        );
-        gameEventQueue.enqueue(GameEventFactory.sendMapDataEvent(viewport, player.getId()));
+        if (!anchor.equals(ChunkWindow.anchorOf(player))) {
+            final GameMapData map = worldManager.getMap(player.getMapId());
+            final var window = ChunkWindow.of(
+                    map, player.getX(), player.getY(), player.getLayerIndex(), GameEngine.VIEWPORT_RANGE_X, GameEngine.VIEWPORT_RANGE_Y
+            );
+            gameEventQueue.enqueue(GameEventFactory.sendMapDataEvent(window, player.getId()));
+        }
     }
 
     /**
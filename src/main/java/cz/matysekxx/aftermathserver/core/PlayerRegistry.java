@@ -3,9 +3,12 @@ package cz.matysekxx.aftermathserver.core;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -14,12 +17,18 @@ import java.util.function.Predicate;
  * <p>
  * Provides thread-safe storage and retrieval of player entities,
  * along with functional iteration methods.
+ * <p>
+ * The registry also keeps a room per map: the set of IDs of the players on it. Rooms are
+ * updated incrementally when a player is registered, moves to another map or is removed,
+ * so the network layer can broadcast to a map without scanning every session.
+ * A player's map must therefore be changed through {@link #moveToMap(Player, String)}.
  *
  * @author Matysekxx
  */
 @Service
 public class PlayerRegistry {
     private final Map<String, Player> players = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> rooms = new ConcurrentHashMap<>();
 
     /**
      * Retrieves a player by their session ID.
@@ -37,7 +46,7 @@ public class PlayerRegistry {
      * @param player The player entity.
      */
     public void put(Player player) {
-        players.put(player.getId(), player);
+        put(player.getId(), player);
     }
 
     /**
@@ -47,7 +56,9 @@ public class PlayerRegistry {
      * @param player The player entity.
      */
     public void put(String id, Player player) {
-        players.put(id, player);
+        final Player previous = players.put(id, player);
+        if (previous != null) leaveRoom(id, previous.getMapId());
+        joinRoom(id, player.getMapId());
     }
 
     /**
@@ -56,7 +67,45 @@ public class PlayerRegistry {
      * @param id The session ID to remove.
      */
     public void remove(String id) {
-        players.remove(id);
+        final Player removed = players.remove(id);
+        if (removed != null) leaveRoom(id, removed.getMapId());
+    }
+
+    /**
+     * Moves a player to another map and updates the rooms of both maps.
+     *
+     * @param player The player.
+     * @param mapId  The ID of the destination map.
+     */
+    public void moveToMap(Player player, String mapId) {
+        final String previousMapId = player.getMapId();
+        player.setMapId(mapId);
+        if (!players.containsKey(player.getId())) return;
+        if (previousMapId != null && previousMapId.equals(mapId)) return;
+        leaveRoom(player.getId(), previousMapId);
+        joinRoom(player.getId(), mapId);
+    }
+
+    /**
+     * Returns the IDs of the players on a map.
+     *
+     * @param mapId The map ID.
+     * @return A live, read-only view of the room; empty if nobody is on the map.
+     */
+    public Set<String> getPlayerIdsOnMap(String mapId) {
+        final Set<String> room = mapId != null ? rooms.get(mapId) : null;
+        return room != null ? Collections.unmodifiableSet(room) : Set.of();
+    }
+
+    /**
+     * Performs an action for every non-empty room.
+     *
+     * @param action The consumer receiving the map ID and the IDs of the players on it.
+     */
+    public void forEachRoom(BiConsumer<String, Set<String>> action) {
+        rooms.forEach((mapId, room) -> {
+            if (!room.isEmpty()) action.accept(mapId, Collections.unmodifiableSet(room));
+        });
     }
 
     /**
@@ -104,4 +153,15 @@ public class PlayerRegistry {
         return players.containsKey(id);
     }
 
+    private void joinRoom(String id, String mapId) {
+        if (mapId == null) return;
+        rooms.computeIfAbsent(mapId, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private void leaveRoom(String id, String mapId) {
+        if (mapId == null) return;
+        final Set<String> room = rooms.get(mapId);
+        if (room != null) room.remove(id);
+    }
+
 }
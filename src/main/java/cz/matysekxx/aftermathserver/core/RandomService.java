@@ -0,0 +1,96 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.RandomSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of all randomness in the game world.
+ * <p>
+ * Every map has its own random stream derived from the world seed and the map ID, so the
+ * outcome on one map does not depend on how often other maps drew numbers. A map stream is
+ * only used by the thread currently simulating that map (the tick thread or the owning map worker).
+ * <p>
+ * In deterministic mode the world seed comes from the configuration and entity IDs are
+ * sequential, which makes runs with the same seed and input sequence reproducible. Like the
+ * random streams, the ID sequences are kept per map, so IDs of entities created on different
+ * map workers in the same tick do not depend on the order the workers ran in.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+@Service
+public class RandomService {
+    private static final String GLOBAL_STREAM = "";
+    private final boolean deterministic;
+    private final long seed;
+    private final Map<String, RandomGenerator> streams = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> nextIds = new ConcurrentHashMap<>();
+
+    public RandomService(GameSettings settings) {
+        final RandomSettings randomSettings = settings.getRandom();
+        this.deterministic = randomSettings.isDeterministic();
+        this.seed = deterministic ? randomSettings.getSeed() : new SplittableRandom().nextLong();
+        if (deterministic) {
+            log.info("Deterministic simulation enabled with seed {}", seed);
+        }
+    }
+
+    /**
+     * Returns the random stream of a map.
+     *
+     * @param mapId The ID of the map.
+     * @return The random generator of the map.
+     */
+    public RandomGenerator forMap(String mapId) {
+        return streams.computeIfAbsent(mapId == null ? GLOBAL_STREAM : mapId,
+                id -> new SplittableRandom(seed ^ mix(id.hashCode())));
+    }
+
+    /**
+     * Generates a new unique entity ID outside of any map.
+     *
+     * @param prefix The prefix of the ID (e.g. the entity type).
+     * @return The generated ID.
+     */
+    public String nextId(String prefix) {
+        return nextId(prefix, null);
+    }
+
+    /**
+     * Generates a new unique ID of an entity created on a map.
+     *
+     * @param prefix The prefix of the ID (e.g. the entity type).
+     * @param mapId  The ID of the map the entity is created on, or null for none.
+     * @return The generated ID.
+     */
+    public String nextId(String prefix, String mapId) {
+        if (deterministic) {
+            final String stream = mapId == null ? GLOBAL_STREAM : mapId;
+            final long sequence = nextIds.computeIfAbsent(stream, id -> new AtomicLong()).incrementAndGet();
+            return prefix + "_" + (mapId == null ? "" : mapId + "_") + Long.toHexString(sequence);
+        }
+        return prefix + "_" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * @return Whether the simulation runs in deterministic mode.
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
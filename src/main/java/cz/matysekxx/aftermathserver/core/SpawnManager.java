@@ -9,6 +9,7 @@ import cz.matysekxx.aftermathserver.core.model.item.ItemTable;
 import cz.matysekxx.aftermathserver.core.model.item.ItemTemplate;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.MapObject;
+import cz.matysekxx.aftermathserver.core.world.MapType;
 import cz.matysekxx.aftermathserver.core.world.WorldManager;
 import cz.matysekxx.aftermathserver.util.Vector3;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +18,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import static cz.matysekxx.aftermathserver.util.FloodFill.floodFill;
 
@@ -32,11 +33,20 @@ import static cz.matysekxx.aftermathserver.util.FloodFill.floodFill;
 @Slf4j
 @Service
 public class SpawnManager {
+    /**
+     * Target density: 1 NPC per 1000 reachable tiles (0.001)
+     */
+    public static final double NPC_DENSITY = 0.001;
+    /**
+     * The maximum number of NPCs added to a map by a single daily cycle.
+     */
+    public static final int DAILY_RESPAWN_COUNT = 3;
     private final WorldManager worldManager;
     private final MapObjectFactory mapObjectFactory;
     private final NpcFactory npcFactory;
     private final NpcTable npcTable;
     private final ItemTable itemTable;
+    private final RandomService randomService;
     private final Map<String, List<Vector3>> reachableTilesCache = new ConcurrentHashMap<>();
 
     /**
@@ -47,13 +57,16 @@ public class SpawnManager {
      * @param npcFactory       Factory for creating NPCs.
      * @param npcTable         Configuration table for NPCs.
      * @param itemTable        Configuration table for items.
+     * @param randomService    Source of the per-map random streams.
      */
-    public SpawnManager(WorldManager worldManager, MapObjectFactory mapObjectFactory, NpcFactory npcFactory, NpcTable npcTable, ItemTable itemTable) {
+    public SpawnManager(WorldManager worldManager, MapObjectFactory mapObjectFactory, NpcFactory npcFactory, NpcTable npcTable, ItemTable itemTable,
+                        RandomService randomService) {
         this.worldManager = worldManager;
         this.mapObjectFactory = mapObjectFactory;
         this.npcFactory = npcFactory;
         this.npcTable = npcTable;
         this.itemTable = itemTable;
+        this.randomService = randomService;
     }
 
     /**
@@ -79,6 +92,62 @@ public class SpawnManager {
         return getReachableTiles(mapId).size();
     }
 
+    /**
+     * Calculates the NPC population a map is replenished to, based on its size and difficulty.
+     *
+     * @param map The map.
+     * @return The target number of NPCs.
+     */
+    public int getTargetNpcCount(GameMapData map) {
+        final double difficultyMultiplier = 0.5 + (map.getDifficulty() * 0.5);
+        return Math.max(5, (int) (getReachableTileCount(map.getId()) * NPC_DENSITY * difficultyMultiplier));
+    }
+
+    /**
+     * Calculates the number of loot items scattered on a map by a single daily cycle.
+     *
+     * @param map The map.
+     * @return The number of loot items.
+     */
+    public int getDailyLootCount(GameMapData map) {
+        final double density = map.getType() == MapType.HAZARD_ZONE ? (0.0005 * map.getDifficulty()) : 0.0001;
+        final int count = (int) (getReachableTileCount(map.getId()) * density);
+        return map.getType() == MapType.SAFE_ZONE ? Math.max(4, count) : Math.max(8, count);
+    }
+
+    /**
+     * Spawns the loot of the given number of daily cycles on a map.
+     *
+     * @param map  The map to spawn loot on.
+     * @param days The number of days.
+     * @return The number of spawned loot items.
+     */
+    public int spawnDailyLoot(GameMapData map, int days) {
+        if (days <= 0) return 0;
+        final int count = getDailyLootCount(map) * days;
+        spawnRandomLoot(map.getId(), count);
+        return count;
+    }
+
+    /**
+     * Replenishes the NPC population of a map as if the given number of daily cycles had passed.
+     * Each day adds at most {@link #DAILY_RESPAWN_COUNT} NPCs, never exceeding the target count.
+     *
+     * @param map  The map to replenish.
+     * @param days The number of elapsed days.
+     * @return The number of spawned NPCs.
+     */
+    public int replenishNpcs(GameMapData map, int days) {
+        final int missing = getTargetNpcCount(map) - map.getNpcs().size();
+        if (missing <= 0 || days <= 0) return 0;
+        final int toSpawn = (int) Math.min((long) DAILY_RESPAWN_COUNT * days, missing);
+        switch (map.getType()) {
+            case SAFE_ZONE -> spawnRandomTraderNpcs(map.getId(), toSpawn);
+            case HAZARD_ZONE -> spawnRandomAggressiveNpcs(map.getId(), toSpawn);
+        }
+        return toSpawn;
+    }
+
     /**
      * Spawns a specified number of random NPCs on the given map.
      * <p>
@@ -96,9 +165,10 @@ public class SpawnManager {
     }
 
     private void spawnNpcs(String mapId, int count, List<Vector3> reachableTiles, List<NpcTemplate> templates, GameMapData mapData) {
+        final RandomGenerator random = randomService.forMap(mapId);
         for (int i = 0; i < count; i++) {
-            final Vector3 vector3 = reachableTiles.get(ThreadLocalRandom.current().nextInt(reachableTiles.size()));
-            final NpcTemplate template = templates.get(ThreadLocalRandom.current().nextInt(templates.size()));
+            final Vector3 vector3 = reachableTiles.get(random.nextInt(reachableTiles.size()));
+            final NpcTemplate template = templates.get(random.nextInt(templates.size()));
             final Npc npc = npcFactory.createNpc(template.getId(), vector3.x(), vector3.y(), vector3.z(), mapId);
             mapData.addNpc(npc);
         }
@@ -139,8 +209,9 @@ public class SpawnManager {
         final List<Vector3> reachableTiles = getReachableTiles(mapId);
         final GameMapData mapData = worldManager.getMap(mapId);
         if (reachableTiles.isEmpty()) return;
+        final RandomGenerator random = randomService.forMap(mapId);
         for (int i = 0; i < count; i++) {
-            final Vector3 vector3 = reachableTiles.get(ThreadLocalRandom.current().nextInt(reachableTiles.size()));
+            final Vector3 vector3 = reachableTiles.get(random.nextInt(reachableTiles.size()));
             final NpcTemplate template = npcTable.getTemplate(npcTemplateId);
             final Npc npc = npcFactory.createNpc(template.getId(), vector3.x(), vector3.y(), vector3.z(), mapId);
             mapData.addNpc(npc);
@@ -161,13 +232,13 @@ public class SpawnManager {
         if (reachableTiles.isEmpty() || allTemplates == null || allTemplates.isEmpty()) return;
 
         final GameMapData map = worldManager.getMap(mapId);
-        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final RandomGenerator random = randomService.forMap(mapId);
 
         for (int i = 0; i < count; i++) {
             final Vector3 tile = reachableTiles.get(random.nextInt(reachableTiles.size()));
             final ItemTemplate template = selectRandomItemByRarity(allTemplates, random);
             if (template != null) {
-                final MapObject lootBag = mapObjectFactory.createLootBag(template.getId(), random.nextInt(1, 3), tile.x(), tile.y(), tile.z());
+                final MapObject lootBag = mapObjectFactory.createLootBag(template.getId(), random.nextInt(1, 3), tile.x(), tile.y(), tile.z(), mapId);
                 map.addObject(lootBag);
             }
         }
@@ -189,7 +260,7 @@ public class SpawnManager {
      * @param random       The random number generator to use.
      * @return A randomly selected ItemTemplate, or a fallback if specific rarity lists are empty.
      */
-    private ItemTemplate selectRandomItemByRarity(List<ItemTemplate> allTemplates, ThreadLocalRandom random) {
+    private ItemTemplate selectRandomItemByRarity(List<ItemTemplate> allTemplates, RandomGenerator random) {
         final double roll = random.nextDouble();
 
         final List<ItemTemplate> legendary = allTemplates.stream().filter(t -> "LEGENDARY".equalsIgnoreCase(t.getRarity())).toList();
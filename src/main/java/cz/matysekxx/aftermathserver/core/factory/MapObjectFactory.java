@@ -1,5 +1,6 @@
 package cz.matysekxx.aftermathserver.core.factory;
 
+import cz.matysekxx.aftermathserver.core.RandomService;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.item.Item;
 import cz.matysekxx.aftermathserver.core.world.MapObject;
@@ -8,7 +9,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Factory service for creating dynamic {@link MapObject} instances.
@@ -22,13 +22,15 @@ import java.util.UUID;
 public class MapObjectFactory {
 
     private final ItemFactory itemFactory;
+    private final RandomService randomService;
 
-    public MapObjectFactory(ItemFactory itemFactory) {
+    public MapObjectFactory(ItemFactory itemFactory, RandomService randomService) {
         this.itemFactory = itemFactory;
+        this.randomService = randomService;
     }
 
-    private String generateId(String prefix) {
-        return prefix + "_" + UUID.randomUUID().toString().substring(0, 8);
+    private String generateId(String prefix, String mapId) {
+        return randomService.nextId(prefix, mapId);
     }
 
     /**
@@ -53,9 +55,9 @@ public class MapObjectFactory {
     /**
      * Creates a loot bag containing a specific item.
      */
-    public MapObject createLootBag(String itemId, int quantity, int x, int y, int z) {
+    public MapObject createLootBag(String itemId, int quantity, int x, int y, int z, String mapId) {
         final MapObject bag = new MapObject();
-        bag.setId(generateId("loot"));
+        bag.setId(generateId("loot", mapId));
         bag.setType("CONTAINER");
         bag.setAction("LOOT");
         bag.setDescription("Dropped items");
@@ -69,9 +71,9 @@ public class MapObjectFactory {
     /**
      * Creates a static map object from a marker definition.
      */
-    public MapObject createStaticObject(String type, String action, String description, Vector3 pos) {
+    public MapObject createStaticObject(String type, String action, String description, Vector3 pos, String mapId) {
         final MapObject obj = new MapObject();
-        obj.setId(type.toLowerCase() + "_" + UUID.randomUUID().toString().substring(0, 8));
+        obj.setId(generateId(type.toLowerCase(), mapId));
         obj.setType(type);
         obj.setAction(action);
         obj.setDescription(description);
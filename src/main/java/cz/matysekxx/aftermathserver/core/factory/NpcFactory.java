@@ -1,5 +1,6 @@
 package cz.matysekxx.aftermathserver.core.factory;
 
+import cz.matysekxx.aftermathserver.core.RandomService;
 import cz.matysekxx.aftermathserver.core.model.behavior.AggressiveBehavior;
 import cz.matysekxx.aftermathserver.core.model.behavior.Behavior;
 import cz.matysekxx.aftermathserver.core.model.behavior.IdleBehavior;
@@ -8,15 +9,12 @@ import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.NpcTable;
 import cz.matysekxx.aftermathserver.core.model.entity.NpcTemplate;
 import cz.matysekxx.aftermathserver.core.model.item.Item;
-import cz.matysekxx.aftermathserver.event.GameEventQueue;
 import lombok.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Factory for creating NPC instances from templates.
@@ -27,12 +25,20 @@ import java.util.concurrent.ThreadLocalRandom;
 public class NpcFactory {
     private final NpcTable npcTable;
     private final ItemFactory itemFactory;
-    private final GameEventQueue gameEventQueue;
+    private final RandomService randomService;
+    private final AggressiveBehavior aggressiveBehavior;
+    private final IdleBehavior idleBehavior;
+    private final StationaryBehavior stationaryBehavior = new StationaryBehavior();
 
-    public NpcFactory(NpcTable npcTable, ItemFactory itemFactory, GameEventQueue gameEventQueue) {
+    /**
+     * Behaviors keep no per-NPC state, so a single instance of each is shared by all NPCs.
+     */
+    public NpcFactory(NpcTable npcTable, ItemFactory itemFactory, AggressiveBehavior aggressiveBehavior, RandomService randomService) {
         this.npcTable = npcTable;
         this.itemFactory = itemFactory;
-        this.gameEventQueue = gameEventQueue;
+        this.aggressiveBehavior = aggressiveBehavior;
+        this.randomService = randomService;
+        this.idleBehavior = new IdleBehavior(randomService);
     }
 
     /**
@@ -49,7 +55,7 @@ public class NpcFactory {
         final NpcTemplate template = npcTable.getTemplate(id);
         final Behavior behavior = getBehavior(id, template);
 
-        final String instanceId = template.getId() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        final String instanceId = randomService.nextId(template.getId(), mapId);
         final Npc npc = Npc.fromTemplate(instanceId, template, x, y, layerIndex, mapId, behavior);
 
         final List<Item> shopItems = new ArrayList<>();
@@ -74,7 +80,7 @@ public class NpcFactory {
             for (Item item : template.getLoot()) {
                 try {
                     final Item createdItem = itemFactory.createItem(item.getId(), item.getQuantity());
-                    if (shouldSpawnItem(createdItem)) {
+                    if (shouldSpawnItem(createdItem, mapId)) {
                         loot.add(createdItem);
                     }
                 } catch (IllegalArgumentException e) {
@@ -93,14 +99,13 @@ public class NpcFactory {
 
         final String behaviorType = template.getBehavior() != null ? template.getBehavior().toUpperCase() : "STATIONARY";
         return switch (behaviorType) {
-            case "AGGRESSIVE" -> new AggressiveBehavior(gameEventQueue);
-            case "IDLE" -> new IdleBehavior();
-            case "STATIONARY" -> new StationaryBehavior();
-            default -> new StationaryBehavior();
+            case "AGGRESSIVE" -> aggressiveBehavior;
+            case "IDLE" -> idleBehavior;
+            default -> stationaryBehavior;
         };
     }
 
-    private boolean shouldSpawnItem(Item item) {
+    private boolean shouldSpawnItem(Item item, String mapId) {
         if (item.getRarity() == null) return true;
         final double chance = switch (item.getRarity().toUpperCase()) {
             case "COMMON" -> 1.0;
@@ -110,6 +115,6 @@ public class NpcFactory {
             case "LEGENDARY" -> 0.01;
             default -> 1.0;
         };
-        return ThreadLocalRandom.current().nextDouble() < chance;
+        return randomService.forMap(mapId).nextDouble() < chance;
     }
 }
\ No newline at end of file
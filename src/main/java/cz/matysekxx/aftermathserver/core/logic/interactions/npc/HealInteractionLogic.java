@@ -1,6 +1,7 @@
 package cz.matysekxx.aftermathserver.core.logic.interactions.npc;
 
 import cz.matysekxx.aftermathserver.core.DialogRegistry;
+import cz.matysekxx.aftermathserver.core.RandomService;
 import cz.matysekxx.aftermathserver.core.model.entity.InteractionType;
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
@@ -20,16 +21,18 @@ import java.util.List;
 @Component
 public class HealInteractionLogic implements NpcInteractionLogic {
     private final DialogRegistry dialogRegistry;
+    private final RandomService randomService;
 
-    public HealInteractionLogic(DialogRegistry dialogRegistry) {
+    public HealInteractionLogic(DialogRegistry dialogRegistry, RandomService randomService) {
         this.dialogRegistry = dialogRegistry;
+        this.randomService = randomService;
     }
 
     @Override
     public Collection<GameEvent> interact(Npc target, Player player) {
         final List<GameEvent> events = new ArrayList<>();
 
-        String text = dialogRegistry.getRandomDialog(target.getDialogueId());
+        String text = dialogRegistry.getRandomDialog(target.getDialogueId(), randomService.forMap(target.getMapId()));
         if (text != null) {
             events.add(GameEventFactory.sendDialogEvent(target.getName(), text, player.getId()));
         }
@@ -1,6 +1,7 @@
 package cz.matysekxx.aftermathserver.core.logic.interactions.npc;
 
 import cz.matysekxx.aftermathserver.core.DialogRegistry;
+import cz.matysekxx.aftermathserver.core.RandomService;
 import cz.matysekxx.aftermathserver.core.model.entity.InteractionType;
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
@@ -19,14 +20,16 @@ import java.util.List;
 @Component
 public class TalkInteractionLogic implements NpcInteractionLogic {
     private final DialogRegistry dialogRegistry;
+    private final RandomService randomService;
 
-    public TalkInteractionLogic(DialogRegistry dialogRegistry) {
+    public TalkInteractionLogic(DialogRegistry dialogRegistry, RandomService randomService) {
         this.dialogRegistry = dialogRegistry;
+        this.randomService = randomService;
     }
 
     @Override
     public Collection<GameEvent> interact(Npc target, Player player) {
-        String text = dialogRegistry.getRandomDialog(target.getDialogueId());
+        String text = dialogRegistry.getRandomDialog(target.getDialogueId(), randomService.forMap(target.getMapId()));
         if (text == null) {
             text = "...";
         }
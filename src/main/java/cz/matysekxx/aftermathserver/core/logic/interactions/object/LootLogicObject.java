@@ -61,12 +61,15 @@ public class LootLogicObject implements ObjectInteractionLogic {
             events.add(GameEventFactory.sendInventoryEvent(player));
             events.add(GameEventFactory.sendMessageEvent(message.toString(), player.getId()));
 
+            final var maybeMap = worldManager.getMaybeMap(player.getMapId());
             if (target.getItems().isEmpty()) {
-                final var maybeMap = worldManager.getMaybeMap(player.getMapId());
                 if (maybeMap.isPresent()) {
                     maybeMap.get().removeObject(target);
-                    events.add(GameEventFactory.broadcastMapObjects(maybeMap.get().getObjects(), player.getMapId()));
+                    events.add(GameEventFactory.objectRemoved(maybeMap.get(), target));
                 }
+            } else if (!itemsToRemove.isEmpty() && maybeMap.isPresent()) {
+                maybeMap.get().markObjectsChanged();
+                events.add(GameEventFactory.objectUpdated(maybeMap.get(), target));
             }
             return events;
         }
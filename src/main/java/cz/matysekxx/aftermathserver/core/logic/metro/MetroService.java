@@ -2,14 +2,14 @@ package cz.matysekxx.aftermathserver.core.logic.metro;
 
 import cz.matysekxx.aftermathserver.core.EconomyService;
 import cz.matysekxx.aftermathserver.core.GameEngine;
-import cz.matysekxx.aftermathserver.core.model.entity.Npc;
+import cz.matysekxx.aftermathserver.core.MapHibernationService;
+import cz.matysekxx.aftermathserver.core.PlayerRegistry;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.entity.State;
 import cz.matysekxx.aftermathserver.core.model.metro.MetroStation;
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.WorldManager;
-import cz.matysekxx.aftermathserver.dto.MapViewportPayload;
-import cz.matysekxx.aftermathserver.dto.NpcDto;
 import cz.matysekxx.aftermathserver.event.GameEventFactory;
 import cz.matysekxx.aftermathserver.event.GameEventQueue;
 import cz.matysekxx.aftermathserver.util.Vector3;
@@ -18,7 +18,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -48,16 +47,27 @@ public class MetroService {
      * Service for handling economic transactions.
      */
     private final EconomyService economyService;
+    /**
+     * Service waking up hibernating destination maps.
+     */
+    private final MapHibernationService mapHibernationService;
+    /**
+     * Registry keeping the map rooms up to date when a player travels.
+     */
+    private final PlayerRegistry playerRegistry;
 
     /**
      * Initializes the MetroService with station data and dependencies.
      */
     @Autowired
-    public MetroService(@Qualifier("metroMapData") Map<String, List<MetroStation>> metroStations, GameEventQueue gameEventQueue, WorldManager worldManager, EconomyService economyService) {
+    public MetroService(@Qualifier("metroMapData") Map<String, List<MetroStation>> metroStations, GameEventQueue gameEventQueue, WorldManager worldManager, EconomyService economyService,
+                        MapHibernationService mapHibernationService, PlayerRegistry playerRegistry) {
         this.metroStations = metroStations;
         this.gameEventQueue = gameEventQueue;
         this.worldManager = worldManager;
         this.economyService = economyService;
+        this.mapHibernationService = mapHibernationService;
+        this.playerRegistry = playerRegistry;
         log.info("MetroService initialized");
     }
 
@@ -104,6 +114,7 @@ public class MetroService {
             final Vector3 spawn = targetMap.getMetroSpawn(lineId);
 
             if (spawn != null) {
+                mapHibernationService.wake(targetMapId);
                 final String startMapId = player.getMapId();
                 final List<MetroStation> stations = metroStations.get(lineId);
 
@@ -111,7 +122,7 @@ public class MetroService {
                 player.setY(spawn.y());
                 player.setLayerIndex(spawn.z());
                 player.setHp(player.getMaxHp());
-                player.setMapId(targetMapId);
+                playerRegistry.moveToMap(player, targetMapId);
                 player.setState(State.ALIVE);
 
                 int startIndex = -1;
@@ -124,19 +135,13 @@ public class MetroService {
                 final int distance = (startIndex != -1 && targetIndex != -1) ? Math.abs(targetIndex - startIndex) : 1;
                 economyService.recordActivityCost(player, 5 * Math.max(1, distance));
 
-                final var viewport = MapViewportPayload.of(
+                final var window = ChunkWindow.of(
                         targetMap, player.getX(), player.getY(), player.getLayerIndex(), GameEngine.VIEWPORT_RANGE_X, GameEngine.VIEWPORT_RANGE_Y
                 );
-                gameEventQueue.enqueue(GameEventFactory.sendMapDataEvent(viewport, player.getId()));
-
-                gameEventQueue.enqueue(GameEventFactory.sendMapObjectsToPlayer(targetMap.getObjects(), player.getId()));
+                gameEventQueue.enqueue(GameEventFactory.sendMapDataEvent(window, player.getId()));
 
-                final List<NpcDto> npcs = new ArrayList<>();
-                for (Npc npc : targetMap.getNpcs()) {
-                    final NpcDto npcDto = NpcDto.fromEntity(npc);
-                    npcs.add(npcDto);
-                }
-                gameEventQueue.enqueue(GameEventFactory.sendNpcsToPlayer(npcs, player.getId()));
+                gameEventQueue.enqueue(GameEventFactory.sendMapObjectsToPlayer(targetMap, player.getId()));
+                gameEventQueue.enqueue(GameEventFactory.sendNpcsToPlayer(targetMap, player.getId()));
 
                 gameEventQueue.enqueue(GameEventFactory.sendPositionEvent(player));
             } else {
@@ -2,6 +2,7 @@ package cz.matysekxx.aftermathserver.core.model.behavior;
 
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.core.timer.TimerService;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.event.GameEventFactory;
 import cz.matysekxx.aftermathserver.event.GameEventQueue;
@@ -11,11 +12,12 @@ import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Hostile behavior that chases and attacks the nearest player.
+ * <p>
+ * The behavior is shared by all aggressive NPCs; the attack cooldown is kept on the NPC
+ * as the tick in which it may strike again.
  *
  * @author Matysekxx
  */
@@ -23,10 +25,11 @@ import java.util.concurrent.ConcurrentHashMap;
 public class AggressiveBehavior implements Behavior {
     private static final int attackCooldown = 1500;
     private final GameEventQueue gameEventQueue;
-    private final Map<String, Long> lastAttackTimes = new ConcurrentHashMap<>();
+    private final TimerService timerService;
 
-    public AggressiveBehavior(GameEventQueue gameEventQueue) {
+    public AggressiveBehavior(GameEventQueue gameEventQueue, TimerService timerService) {
         this.gameEventQueue = gameEventQueue;
+        this.timerService = timerService;
     }
 
     @Override
@@ -50,11 +53,9 @@ public class AggressiveBehavior implements Behavior {
     }
 
     private void attack(Npc npc, Player target) {
-        final long now = System.currentTimeMillis();
-        final long lastAttack = lastAttackTimes.getOrDefault(npc.getId(), 0L);
-        if (now - lastAttack >= attackCooldown) {
+        if (timerService.isReady(npc.getAttackReadyTick())) {
             target.setHp(Math.max(0, target.getHp() - Math.max(1, npc.getDamage())));
-            lastAttackTimes.put(npc.getId(), now);
+            npc.setAttackReadyTick(timerService.readyTickAfter(attackCooldown));
 
             gameEventQueue.enqueue(GameEventFactory.sendMessageEvent("You have been attacked by " + npc.getName(), target.getId()));
             gameEventQueue.enqueue(GameEventFactory.sendStatsEvent(target));
@@ -1,12 +1,13 @@
 package cz.matysekxx.aftermathserver.core.model.behavior;
 
+import cz.matysekxx.aftermathserver.core.RandomService;
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.util.Direction;
 
 import java.util.Collection;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Simple behavior where the NPC stays idle or moves randomly.
@@ -14,6 +15,12 @@ import java.util.concurrent.ThreadLocalRandom;
  * @author Matysekxx
  */
 public class IdleBehavior implements Behavior {
+    private final RandomService randomService;
+
+    public IdleBehavior(RandomService randomService) {
+        this.randomService = randomService;
+    }
+
     /**
      * Updates the NPC state by potentially moving it to a random adjacent walkable tile.
      *
@@ -23,8 +30,9 @@ public class IdleBehavior implements Behavior {
      */
     @Override
     public void update(Npc npc, GameMapData map, Collection<Player> players) {
-        if (ThreadLocalRandom.current().nextInt(100) < 10) {
-            final Direction dir = Direction.getRandomDirection();
+        final RandomGenerator random = randomService.forMap(map.getId());
+        if (random.nextInt(100) < 10) {
+            final Direction dir = Direction.getRandomDirection(random);
             final int targetX = npc.getX() + dir.getDx();
             final int targetY = npc.getY() + dir.getDy();
 
@@ -64,6 +64,14 @@ public class Npc extends Entity {
      * The type of interaction this NPC provides.
      */
     private InteractionType interaction;
+    /**
+     * The tick in which the NPC thinks next, scheduled by the AI level of detail.
+     */
+    private long nextThinkTick;
+    /**
+     * The first tick in which the NPC may attack again.
+     */
+    private long attackReadyTick;
 
     /**
      * Constructs a new Npc instance.
@@ -53,9 +53,9 @@ public class Player extends Entity {
      */
     private Integer equippedMaskSlot;
     /**
-     * Timestamp of the last attack performed by the player.
+     * The first tick in which the player may attack again.
      */
-    private long lastAttackTime;
+    private long attackReadyTick;
 
     /**
      * Creates a new Player instance.
@@ -0,0 +1,47 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.dto.NpcDto;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-tick state of a single populated map, handed from one {@link TickPhase} to the next.
+ * <p>
+ * Only touched by the worker owning the map and, after the parallel phases, by the tick thread.
+ *
+ * @author Matysekxx
+ */
+@Getter
+public class MapTick {
+    private final GameMapData map;
+    private final List<Player> players;
+    /**
+     * Players whose stats have to be sent to their clients this tick.
+     */
+    private final List<Player> changedStats = new ArrayList<>();
+    /**
+     * Whether at least one player on the map is alive, i.e. whether NPCs have to be updated.
+     */
+    @Setter
+    private boolean active;
+    /**
+     * The NPCs of the map as sent to clients, or null if nothing is to be sent.
+     */
+    @Setter
+    private List<NpcDto> npcSnapshot;
+    /**
+     * The version of the NPC snapshot, unchanged as long as the NPCs look the same to clients.
+     */
+    @Setter
+    private long npcsVersion;
+
+    public MapTick(GameMapData map, List<Player> players) {
+        this.map = map;
+        this.players = players;
+    }
+}
@@ -0,0 +1,18 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+/**
+ * Strategy applied by the {@link TickScheduler} when the game loop falls behind wall time.
+ *
+ * @author Matysekxx
+ */
+public enum OverrunPolicy {
+    /**
+     * Runs the missed ticks back-to-back (up to a configured limit) to catch up with wall time.
+     */
+    CATCH_UP,
+    /**
+     * Drops the missed ticks and continues with the next scheduled one.
+     * The tick counter still advances, so day length stays aligned with wall time.
+     */
+    SKIP
+}
@@ -0,0 +1,41 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+/**
+ * Named phases of a game tick, in execution order.
+ *
+ * @author Matysekxx
+ */
+public enum TickPhase {
+    /**
+     * Advancing the game clock and running the timers that fell due.
+     */
+    TIMERS,
+    /**
+     * Applying client commands queued since the previous tick.
+     */
+    INPUT,
+    /**
+     * Daily cycle and map hibernation bookkeeping.
+     */
+    DAILY,
+    /**
+     * Environmental effects on players (radiation, regeneration).
+     */
+    ENVIRONMENT,
+    /**
+     * NPC behavior updates.
+     */
+    AI,
+    /**
+     * Resolving the consequences of the previous phases, such as player deaths.
+     */
+    TRIGGERS,
+    /**
+     * Building the state sent to clients (NPC lists, changed stats).
+     */
+    SNAPSHOT,
+    /**
+     * Handing the snapshots over to the network layer.
+     */
+    EMIT
+}
@@ -0,0 +1,64 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Measures the wall time spent in each {@link TickPhase}.
+ * <p>
+ * Every phase keeps its own {@link TickStatistics}, so phase percentiles are directly
+ * comparable with the percentiles of the whole tick.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+@Component
+public class TickProfiler {
+    private final Map<TickPhase, TickStatistics> phases = new EnumMap<>(TickPhase.class);
+
+    public TickProfiler(GameSettings settings) {
+        for (TickPhase phase : TickPhase.values()) {
+            phases.put(phase, new TickStatistics(settings.getTick().getStatisticsWindow()));
+        }
+    }
+
+    /**
+     * Runs a phase and records its duration.
+     *
+     * @param phase The phase being executed.
+     * @param task  The work of the phase.
+     */
+    public void time(TickPhase phase, Runnable task) {
+        final long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            phases.get(phase).record(System.nanoTime() - start, false);
+        }
+    }
+
+    /**
+     * Creates a snapshot of the statistics of all phases.
+     *
+     * @return The reports keyed by phase, in execution order.
+     */
+    public Map<TickPhase, TickStatistics.TickReport> report() {
+        final Map<TickPhase, TickStatistics.TickReport> reports = new EnumMap<>(TickPhase.class);
+        phases.forEach((phase, statistics) -> reports.put(phase, statistics.report()));
+        return reports;
+    }
+
+    /**
+     * Logs the p95 and max duration of every phase.
+     */
+    public void logReport() {
+        final StringBuilder sb = new StringBuilder("Tick phases (p95/max ms):");
+        report().forEach((phase, report) ->
+                sb.append(String.format(" %s=%.2f/%.2f", phase, report.p95Ms(), report.maxMs())));
+        log.info(sb.toString());
+    }
+}
@@ -0,0 +1,122 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.TickSettings;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs the game loop on a dedicated thread with a fixed timestep.
+ * <p>
+ * Ticks are scheduled against a monotonic clock, so the tick counter follows wall time.
+ * Ticks longer than the budget are counted as overruns, and ticks missed because of them
+ * are either replayed or skipped according to the configured {@link OverrunPolicy}.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+@Component
+public class TickScheduler {
+    private final long periodNanos;
+    private final long budgetNanos;
+    private final OverrunPolicy overrunPolicy;
+    private final int maxCatchUpTicks;
+    private final int reportInterval;
+    private final TickStatistics statistics;
+    private final TickProfiler tickProfiler;
+    private volatile boolean running;
+    private Thread thread;
+
+    public TickScheduler(GameSettings settings, TickProfiler tickProfiler) {
+        this.tickProfiler = tickProfiler;
+        final TickSettings tickSettings = settings.getTick();
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(settings.getTickRate());
+        this.budgetNanos = tickSettings.getBudgetMs() > 0
+                ? TimeUnit.MILLISECONDS.toNanos(tickSettings.getBudgetMs())
+                : periodNanos;
+        this.overrunPolicy = tickSettings.getOverrunPolicy();
+        this.maxCatchUpTicks = Math.max(0, tickSettings.getMaxCatchUpTicks());
+        this.reportInterval = Math.max(1, tickSettings.getStatisticsWindow());
+        this.statistics = new TickStatistics(tickSettings.getStatisticsWindow());
+    }
+
+    /**
+     * Starts the tick thread.
+     *
+     * @param tickTask The task executed every tick, receiving the tick number.
+     */
+    public synchronized void start(LongConsumer tickTask) {
+        if (running) return;
+        running = true;
+        thread = new Thread(() -> runLoop(tickTask), "game-tick");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Tick scheduler started: period {} ms, budget {} ms, policy {}",
+                TimeUnit.NANOSECONDS.toMillis(periodNanos), TimeUnit.NANOSECONDS.toMillis(budgetNanos), overrunPolicy);
+    }
+
+    /**
+     * Stops the tick thread.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * @return A snapshot of the tick statistics.
+     */
+    public TickStatistics.TickReport getReport() {
+        return statistics.report();
+    }
+
+    private void runLoop(LongConsumer tickTask) {
+        long tick = 0;
+        long nextTickAt = System.nanoTime();
+        while (running) {
+            final long now = System.nanoTime();
+            if (now < nextTickAt) {
+                LockSupport.parkNanos(nextTickAt - now);
+                if (Thread.interrupted()) break;
+                continue;
+            }
+
+            final long missed = (now - nextTickAt) / periodNanos;
+            final long toSkip = overrunPolicy == OverrunPolicy.SKIP ? missed : Math.max(0, missed - maxCatchUpTicks);
+            if (toSkip > 0) {
+                tick += toSkip;
+                nextTickAt += toSkip * periodNanos;
+                statistics.recordSkipped(toSkip);
+                log.warn("Game loop is {} ticks behind, skipped {} ticks", missed, toSkip);
+            }
+
+            tick++;
+            final long start = System.nanoTime();
+            try {
+                tickTask.accept(tick);
+            } catch (Exception e) {
+                log.error("Error during tick {}", tick, e);
+            }
+            final long duration = System.nanoTime() - start;
+            final boolean overrun = duration > budgetNanos;
+            statistics.record(duration, overrun);
+            if (overrun) {
+                log.warn("Tick {} overran its budget: {} ms", tick, TimeUnit.NANOSECONDS.toMillis(duration));
+            }
+            if (tick % reportInterval == 0) {
+                log.info("Tick statistics: {}", statistics.report());
+                tickProfiler.logReport();
+            }
+            nextTickAt += periodNanos;
+        }
+        log.info("Tick scheduler stopped");
+    }
+}
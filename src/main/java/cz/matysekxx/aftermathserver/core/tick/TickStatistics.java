@@ -0,0 +1,95 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+import java.util.Arrays;
+
+/**
+ * Collects tick durations in a fixed-size window and computes percentiles on demand.
+ * <p>
+ * Recording is O(1) and allocation-free; sorting only happens when a report is requested.
+ *
+ * @author Matysekxx
+ */
+public class TickStatistics {
+    private final long[] durations;
+    private int next;
+    private int size;
+    private long totalTicks;
+    private long overruns;
+    private long skippedTicks;
+    private long maxDuration;
+
+    /**
+     * @param window The number of most recent durations kept for percentiles.
+     */
+    public TickStatistics(int window) {
+        this.durations = new long[Math.max(1, window)];
+    }
+
+    /**
+     * Records the duration of an executed tick.
+     *
+     * @param durationNanos The duration in nanoseconds.
+     * @param overrun       Whether the tick exceeded its budget.
+     */
+    public synchronized void record(long durationNanos, boolean overrun) {
+        durations[next] = durationNanos;
+        next = (next + 1) % durations.length;
+        if (size < durations.length) size++;
+        totalTicks++;
+        if (overrun) overruns++;
+        if (durationNanos > maxDuration) maxDuration = durationNanos;
+    }
+
+    /**
+     * Records ticks that were dropped instead of executed.
+     *
+     * @param count The number of dropped ticks.
+     */
+    public synchronized void recordSkipped(long count) {
+        skippedTicks += count;
+    }
+
+    /**
+     * Creates a snapshot of the collected statistics.
+     *
+     * @return The current report.
+     */
+    public synchronized TickReport report() {
+        final long[] sorted = Arrays.copyOf(durations, size);
+        Arrays.sort(sorted);
+        return new TickReport(
+                totalTicks,
+                overruns,
+                skippedTicks,
+                toMillis(percentile(sorted, 0.50)),
+                toMillis(percentile(sorted, 0.95)),
+                toMillis(percentile(sorted, 0.99)),
+                toMillis(maxDuration)
+        );
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        final int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Snapshot of the tick statistics.
+     *
+     * @param ticks        The number of executed ticks.
+     * @param overruns     The number of ticks exceeding their budget.
+     * @param skippedTicks The number of ticks dropped to keep up with wall time.
+     * @param p50Ms        The median tick duration in milliseconds.
+     * @param p95Ms        The 95th percentile tick duration in milliseconds.
+     * @param p99Ms        The 99th percentile tick duration in milliseconds.
+     * @param maxMs        The longest tick since startup in milliseconds.
+     */
+    public record TickReport(long ticks, long overruns, long skippedTicks,
+                             double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,101 @@
+package cz.matysekxx.aftermathserver.core.timer;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import org.springframework.stereotype.Service;
+
+/**
+ * Game clock and timer service driven by the tick thread.
+ * <p>
+ * Everything that should happen some ticks from now is scheduled on a {@link TimerWheel},
+ * which the game loop advances at the start of every tick. Cooldowns do not need a timer
+ * at all: they are stored on the entity as the tick in which they expire and compared with
+ * {@link #getCurrentTick()}, which costs one comparison and leaves nothing to clean up.
+ * <p>
+ * Timers must be scheduled and cancelled on the tick thread; the current tick may be read
+ * from any thread, including the map workers.
+ *
+ * @author Matysekxx
+ */
+@Service
+public class TimerService {
+    private final TimerWheel wheel = new TimerWheel();
+    private final int tickRate;
+    private volatile long currentTick;
+
+    public TimerService(GameSettings settings) {
+        this.tickRate = Math.max(1, settings.getTickRate());
+    }
+
+    /**
+     * Moves the clock to the given tick and runs the timers that fell due.
+     *
+     * @param tick The tick that is starting.
+     * @return The number of timers that ran.
+     */
+    public int advance(long tick) {
+        currentTick = tick;
+        return wheel.advance(tick);
+    }
+
+    /**
+     * Schedules a task on the tick thread.
+     *
+     * @param delayTicks The delay in ticks.
+     * @param task       The task to run.
+     * @return The handle used to cancel the timer.
+     */
+    public TimerWheel.Timeout schedule(long delayTicks, Runnable task) {
+        return wheel.schedule(delayTicks, task);
+    }
+
+    /**
+     * Cancels a pending timer.
+     *
+     * @param timeout The timer handle, may be null.
+     * @return true if the timer was pending and will not run.
+     */
+    public boolean cancel(TimerWheel.Timeout timeout) {
+        return wheel.cancel(timeout);
+    }
+
+    /**
+     * Converts a duration to ticks, rounding up so a cooldown never ends early.
+     *
+     * @param millis The duration in milliseconds.
+     * @return The duration in ticks.
+     */
+    public long ticksFor(long millis) {
+        return (Math.max(0, millis) + tickRate - 1) / tickRate;
+    }
+
+    /**
+     * Computes the tick in which a cooldown starting now expires.
+     *
+     * @param millis The cooldown in milliseconds.
+     * @return The first tick in which the action is allowed again.
+     */
+    public long readyTickAfter(long millis) {
+        return currentTick + ticksFor(millis);
+    }
+
+    /**
+     * Checks whether a cooldown has expired.
+     *
+     * @param readyTick The first tick in which the action is allowed.
+     * @return true if the current tick has reached it.
+     */
+    public boolean isReady(long readyTick) {
+        return currentTick >= readyTick;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return The number of pending timers.
+     */
+    public int getPendingTimers() {
+        return wheel.size();
+    }
+}
@@ -0,0 +1,202 @@
+package cz.matysekxx.aftermathserver.core.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hierarchical timing wheel counting in game ticks.
+ * <p>
+ * Timers live in doubly-linked buckets of {@value #SLOTS} slots on each of {@value #LEVELS} levels,
+ * where a slot of level {@code n} covers {@code 64^n} ticks. Scheduling and cancelling are O(1),
+ * and advancing one tick only touches the due bucket plus, once every 64 ticks, the bucket of the
+ * level above, whose timers cascade down to finer slots. Delays beyond the range of the top level
+ * are parked in its furthest slot and re-inserted when they reach it.
+ * <p>
+ * The wheel is not thread-safe; it is owned by the thread that advances it.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+public class TimerWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final Timeout[][] buckets = new Timeout[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel positioned at tick zero.
+     */
+    public TimerWheel() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param startTick The tick the wheel starts at.
+     */
+    public TimerWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                final Timeout head = new Timeout(0, null);
+                head.prev = head;
+                head.next = head;
+                buckets[level][slot] = head;
+            }
+        }
+    }
+
+    /**
+     * Schedules a task to run after the given number of ticks.
+     *
+     * @param delayTicks The delay in ticks; values below one run on the next tick.
+     * @param task       The task to run.
+     * @return The handle used to cancel the timer.
+     */
+    public Timeout schedule(long delayTicks, Runnable task) {
+        final Timeout timeout = new Timeout(currentTick + Math.max(1, delayTicks), task);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timer.
+     *
+     * @param timeout The timer handle.
+     * @return true if the timer was pending and will not run.
+     */
+    public boolean cancel(Timeout timeout) {
+        if (timeout == null || !timeout.isPending()) return false;
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward, running every timer that falls due on the way in deadline order.
+     *
+     * @param toTick The tick to advance to.
+     * @return The number of timers that ran.
+     */
+    public int advance(long toTick) {
+        int fired = 0;
+        while (currentTick < toTick) {
+            if (size == 0) {
+                currentTick = toTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            fired += expire();
+        }
+        return fired;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return The number of pending timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void insert(Timeout timeout) {
+        final long delay = Math.min(timeout.deadline - currentTick, MAX_DELAY);
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) level++;
+        final long slotTick = currentTick + delay;
+        final int slot = (int) ((slotTick >>> (SLOT_BITS * level)) & MASK);
+        final Timeout head = buckets[level][slot];
+        timeout.bucket = head;
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = null;
+    }
+
+    /**
+     * Moves the timers of every coarse slot starting at the current tick into finer slots.
+     * Higher levels go first so their timers can land in a lower slot cascading in the same tick.
+     */
+    private void cascade() {
+        int top = 0;
+        while (top < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) top++;
+        for (int level = top; level > 0; level--) {
+            final int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & MASK);
+            final Timeout head = buckets[level][slot];
+            while (head.next != head) {
+                final Timeout timeout = head.next;
+                unlink(timeout);
+                insert(timeout);
+            }
+        }
+    }
+
+    private int expire() {
+        final Timeout head = buckets[0][(int) (currentTick & MASK)];
+        int fired = 0;
+        while (head.next != head) {
+            final Timeout timeout = head.next;
+            unlink(timeout);
+            if (timeout.deadline > currentTick) {
+                insert(timeout);
+                continue;
+            }
+            size--;
+            fired++;
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                log.error("Timer due at tick {} failed", timeout.deadline, e);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Handle of a scheduled timer.
+     */
+    public static final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private Timeout prev;
+        private Timeout next;
+        private Timeout bucket;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * @return The tick in which the timer runs.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return true if the timer has neither run nor been cancelled.
+         */
+        public boolean isPending() {
+            return bucket != null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package cz.matysekxx.aftermathserver.core.world;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.core.world.parser.ParsedMapLayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The grid of chunks a client needs to draw its viewport.
+ * <p>
+ * The window is anchored to the chunk the player stands in and covers the viewport from any
+ * position inside that chunk, so it only changes when the player crosses a chunk border.
+ * Clients receive the chunk IDs of the window and only the content of chunks they do not hold yet.
+ *
+ * @param mapId   The ID of the map.
+ * @param mapName The display name of the map.
+ * @param layer   The layer index.
+ * @param originX The chunk column of the top-left chunk.
+ * @param originY The chunk row of the top-left chunk.
+ * @param columns The number of chunk columns.
+ * @param rows    The number of chunk rows.
+ * @param chunks  The chunks in row-major order; null where the window reaches outside of the layer.
+ * @author Matysekxx
+ */
+public record ChunkWindow(String mapId, String mapName, int layer, int originX, int originY, int columns, int rows,
+                          @JsonIgnore List<MapChunk> chunks) {
+
+    /**
+     * Builds the window around a position.
+     *
+     * @param map The game map data.
+     * @param px  Player X coordinate.
+     * @param py  Player Y coordinate.
+     * @param pz  Player Z coordinate (layer).
+     * @param rx  Viewport range X.
+     * @param ry  Viewport range Y.
+     * @return The window of chunks.
+     */
+    public static ChunkWindow of(GameMapData map, int px, int py, int pz, int rx, int ry) {
+        final int chunkX = Math.floorDiv(px, MapChunk.SIZE);
+        final int chunkY = Math.floorDiv(py, MapChunk.SIZE);
+        final int minX = Math.floorDiv(chunkX * MapChunk.SIZE - rx, MapChunk.SIZE);
+        final int minY = Math.floorDiv(chunkY * MapChunk.SIZE - ry, MapChunk.SIZE);
+        final int maxX = Math.floorDiv(chunkX * MapChunk.SIZE + MapChunk.SIZE - 1 + rx, MapChunk.SIZE);
+        final int maxY = Math.floorDiv(chunkY * MapChunk.SIZE + MapChunk.SIZE - 1 + ry, MapChunk.SIZE);
+        final ParsedMapLayer layer = map.getLayer(pz);
+        final MapChunk[] chunks = new MapChunk[(maxX - minX + 1) * (maxY - minY + 1)];
+        if (layer != null) {
+            int i = 0;
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    chunks[i++] = layer.getChunk(x, y);
+                }
+            }
+        }
+        return new ChunkWindow(map.getId(), map.getName(), pz, minX, minY, maxX - minX + 1, maxY - minY + 1,
+                Arrays.asList(chunks));
+    }
+
+    /**
+     * @return The chunk the player stands in, which determines the player's window.
+     */
+    public static Anchor anchorOf(Player player) {
+        return new Anchor(player.getMapId(), player.getLayerIndex(),
+                Math.floorDiv(player.getX(), MapChunk.SIZE), Math.floorDiv(player.getY(), MapChunk.SIZE));
+    }
+
+    @JsonProperty("chunkSize")
+    public int chunkSize() {
+        return MapChunk.SIZE;
+    }
+
+    /**
+     * @return The IDs of the chunks in row-major order; null where the window reaches outside of the layer.
+     */
+    @JsonProperty("chunkIds")
+    public List<String> chunkIds() {
+        final List<String> ids = new ArrayList<>(chunks.size());
+        for (MapChunk chunk : chunks) ids.add(chunk != null ? chunk.id() : null);
+        return ids;
+    }
+
+    /**
+     * @return Whether the window contains at least one chunk of the layer.
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        for (MapChunk chunk : chunks) {
+            if (chunk != null) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The chunk a player stands in.
+     */
+    public record Anchor(String mapId, int layer, int chunkX, int chunkY) {
+    }
+}
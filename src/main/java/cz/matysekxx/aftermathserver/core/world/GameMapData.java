@@ -5,14 +5,17 @@ import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.world.parser.ParsedMapLayer;
 import cz.matysekxx.aftermathserver.core.world.triggers.Link;
 import cz.matysekxx.aftermathserver.core.world.triggers.TileTrigger;
+import cz.matysekxx.aftermathserver.dto.NpcDto;
 import cz.matysekxx.aftermathserver.util.Vector3;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -48,6 +51,43 @@ public class GameMapData {
 
     private Collection<Link> links;
 
+    /**
+     * Whether the map is hibernating, i.e. empty and excluded from the daily cycle.
+     */
+    @JsonIgnore
+    private boolean hibernating;
+    /**
+     * The tick in which a player was last seen on the map.
+     */
+    @JsonIgnore
+    private long lastOccupiedTick;
+    /**
+     * The number of daily cycles the map missed while hibernating.
+     */
+    @JsonIgnore
+    private int missedDays;
+    /**
+     * The number of wandering NPCs removed when the map went to hibernation.
+     */
+    @JsonIgnore
+    private int dormantNpcCount;
+    /**
+     * Version of the map objects, incremented whenever an object is added, removed or changed.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private volatile long objectsVersion;
+    /**
+     * Version of the NPC state as sent to clients, incremented whenever the snapshot differs from the previous one.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private volatile long npcsVersion;
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<NpcDto> npcSnapshot = List.of();
+
     /**
      * Retrieves a specific layer by index.
      *
@@ -80,12 +120,38 @@ public class GameMapData {
     public void addObject(MapObject object) {
         objects.add(object);
         objectCache.put(object.getId(), object);
+        markObjectsChanged();
+    }
+
+    /**
+     * Records a change of the map objects that did not go through {@link #addObject} or {@link #removeObject},
+     * such as items taken out of a container.
+     */
+    public void markObjectsChanged() {
+        objectsVersion++;
     }
 
     public void addNpc(Npc npc) {
         npcs.add(npc);
     }
 
+    /**
+     * Captures the NPCs as sent to clients.
+     * <p>
+     * If nothing changed since the previous snapshot, the previous list is returned and
+     * {@link #getNpcsVersion()} stays the same, so its encoded form can be reused.
+     *
+     * @return The current NPC snapshot.
+     */
+    public List<NpcDto> snapshotNpcs() {
+        final List<NpcDto> snapshot = npcs.stream().map(NpcDto::fromEntity).toList();
+        if (!snapshot.equals(npcSnapshot)) {
+            npcSnapshot = snapshot;
+            npcsVersion++;
+        }
+        return npcSnapshot;
+    }
+
     public MapObject getObject(String id) {
         return objectCache.get(id);
     }
@@ -94,6 +160,7 @@ public class GameMapData {
         if (object == null) return;
         objectCache.remove(object.getId());
         objects.remove(object);
+        markObjectsChanged();
     }
 
     public void initializeCache() {
@@ -0,0 +1,73 @@
+package cz.matysekxx.aftermathserver.core.world;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A square piece of a map layer, identified by a hash of its content.
+ * <p>
+ * Chunks are immutable and their hash only depends on their symbols, so identical chunks
+ * (solid rock, empty tunnels, repeated rooms) share one ID across positions and maps and a
+ * client never needs the same content twice.
+ *
+ * @param hash   The 64-bit FNV-1a hash of the size and symbols of the chunk.
+ * @param width  The number of columns; smaller than {@link #SIZE} at the right edge of a layer.
+ * @param height The number of rows; smaller than {@link #SIZE} at the bottom edge of a layer.
+ * @param rows   The symbols of the chunk, one string per row.
+ * @author Matysekxx
+ */
+public record MapChunk(@JsonIgnore long hash, int width, int height, List<String> rows) {
+    public static final int SIZE = 16;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Cuts a chunk out of the symbols of a layer.
+     *
+     * @param symbols The symbols of the layer, indexed by row and column.
+     * @param chunkX  The column of the chunk in the chunk grid.
+     * @param chunkY  The row of the chunk in the chunk grid.
+     * @return The chunk, or null if it lies outside of the layer.
+     */
+    public static MapChunk of(char[][] symbols, int chunkX, int chunkY) {
+        final int layerHeight = symbols.length;
+        final int layerWidth = layerHeight > 0 ? symbols[0].length : 0;
+        final int startX = chunkX * SIZE;
+        final int startY = chunkY * SIZE;
+        if (chunkX < 0 || chunkY < 0 || startX >= layerWidth || startY >= layerHeight) return null;
+        final int width = Math.min(SIZE, layerWidth - startX);
+        final int height = Math.min(SIZE, layerHeight - startY);
+        long hash = mix(mix(FNV_OFFSET, width), height);
+        final List<String> rows = new ArrayList<>(height);
+        for (int y = startY; y < startY + height; y++) {
+            final String row = new String(symbols[y], startX, width);
+            for (int i = 0; i < row.length(); i++) hash = mix(hash, row.charAt(i));
+            rows.add(row);
+        }
+        return new MapChunk(hash, width, height, List.copyOf(rows));
+    }
+
+    /**
+     * @return The hash as the hexadecimal ID clients use to refer to the chunk.
+     */
+    @JsonProperty("id")
+    public String id() {
+        return toId(hash);
+    }
+
+    public static String toId(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    public static long fromId(String id) {
+        return Long.parseUnsignedLong(id, 16);
+    }
+
+    private static long mix(long hash, int value) {
+        hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+        return (hash ^ ((value >>> 8) & 0xFF)) * FNV_PRIME;
+    }
+}
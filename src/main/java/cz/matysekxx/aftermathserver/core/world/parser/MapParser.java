@@ -110,7 +110,7 @@ public class MapParser {
                 final GameMapData.ObjectMarker markerDef = mapData.getObjectMarkers().get(markerChar);
                 if (markerDef != null) {
                     final MapObject obj = mapObjectFactory.createStaticObject(
-                            markerDef.getType(), markerDef.getAction(), markerDef.getDescription(), pos);
+                            markerDef.getType(), markerDef.getAction(), markerDef.getDescription(), pos, mapData.getId());
                     mapData.addObject(obj);
                 }
             });
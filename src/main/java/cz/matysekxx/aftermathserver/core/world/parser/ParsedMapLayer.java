@@ -2,10 +2,12 @@ package cz.matysekxx.aftermathserver.core.world.parser;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.core.world.MapChunk;
 import cz.matysekxx.aftermathserver.core.world.TileRegistry;
 import cz.matysekxx.aftermathserver.core.world.TileType;
 import cz.matysekxx.aftermathserver.util.Vector2;
 import cz.matysekxx.aftermathserver.util.Vector3;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.*;
@@ -31,6 +33,12 @@ public class ParsedMapLayer {
     private final Map<Vector3, String> objectSpawns;
     private final int width;
     private final int height;
+    /**
+     * Chunks cut out of the symbols on first use; symbols never change after parsing.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final MapChunk[][] chunks;
 
     public ParsedMapLayer(TileType[][] tiles, char[][] symbols, Map<String, List<Vector3>> markers, Map<Vector3, String> npcSpawns, Map<Vector3, String> objectSpawns) {
         this.tiles = tiles;
@@ -40,6 +48,7 @@ public class ParsedMapLayer {
         this.markers = markers;
         this.npcSpawns = npcSpawns;
         this.objectSpawns = objectSpawns;
+        this.chunks = new MapChunk[Math.ceilDiv(height, MapChunk.SIZE)][Math.ceilDiv(width, MapChunk.SIZE)];
     }
 
     private static String[] getLinesFromContent(String content) {
@@ -177,6 +186,25 @@ public class ParsedMapLayer {
         return getSymbolAt(vector.x(), vector.y());
     }
 
+    /**
+     * Gets the chunk at specific chunk coordinates.
+     *
+     * @param chunkX the column in the chunk grid
+     * @param chunkY the row in the chunk grid
+     * @return the chunk, or null outside of the layer
+     */
+    public MapChunk getChunk(int chunkX, int chunkY) {
+        if (chunkY < 0 || chunkY >= chunks.length || chunkX < 0 || chunkX >= chunks[chunkY].length) {
+            return null;
+        }
+        MapChunk chunk = chunks[chunkY][chunkX];
+        if (chunk == null) {
+            chunk = MapChunk.of(symbols, chunkX, chunkY);
+            chunks[chunkY][chunkX] = chunk;
+        }
+        return chunk;
+    }
+
     private static class ParseContext {
         final TileType[][] tiles;
         final char[][] symbols;
@@ -0,0 +1,23 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a client's report of the map chunks it holds.
+ *
+ * @author Matysekxx
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkHaveRequest {
+    /**
+     * The IDs of the chunks the client holds.
+     */
+    private List<String> ids = new ArrayList<>();
+}
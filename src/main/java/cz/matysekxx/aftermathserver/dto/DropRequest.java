@@ -0,0 +1,24 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a request to drop an item from inventory onto the map.
+ *
+ * @author Matysekxx
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DropRequest {
+    /**
+     * The inventory slot index of the item to drop.
+     */
+    private int slotIndex;
+    /**
+     * The quantity to drop; a single piece if omitted.
+     */
+    private int amount = 1;
+}
@@ -0,0 +1,19 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import cz.matysekxx.aftermathserver.event.EventPriority;
+
+/**
+ * Snapshot of one lane of the game event queue, for the debug endpoint.
+ *
+ * @param lane        The priority lane.
+ * @param depth       The number of events currently waiting.
+ * @param capacity    The maximum number of waiting events.
+ * @param enqueued    The number of events accepted since startup.
+ * @param dropped     The number of events discarded because the lane was full.
+ * @param stalled     The number of events whose producer had to wait for room in the full lane.
+ * @param enqueueRate The number of events accepted per second since the previous snapshot.
+ * @author Matysekxx
+ */
+public record EventQueueStats(EventPriority lane, int depth, int capacity, long enqueued, long dropped,
+                              long stalled, double enqueueRate) {
+}
@@ -0,0 +1,24 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO describing the inbound request traffic, for the debug endpoint.
+ *
+ * @author Matysekxx
+ */
+@Getter
+@AllArgsConstructor
+public class InboundDebugResponse {
+    /**
+     * The number of queued move requests replaced by a newer move of the same session.
+     */
+    private long coalescedMoves;
+    /**
+     * The request counters of every session.
+     */
+    private List<SessionInboundStats> sessions;
+}
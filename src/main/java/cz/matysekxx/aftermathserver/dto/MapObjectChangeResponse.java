@@ -0,0 +1,24 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import cz.matysekxx.aftermathserver.core.world.MapObject;
+
+/**
+ * A single map object that was added to, removed from or changed on a map.
+ * <p>
+ * Sent as {@code OBJECT_ADDED}, {@code OBJECT_REMOVED} or {@code OBJECT_UPDATED} to the clients whose
+ * area of interest contains the object. Clients apply changes by object ID, so a change that is already
+ * part of the object list they hold is harmless. The full list is only sent on join, when the client's
+ * area of interest changes, after bulk spawns and on a {@code SYNC_OBJECTS} request.
+ *
+ * @param mapId   The map the object is on.
+ * @param version The version of the map objects after the change.
+ * @param id      The ID of the object.
+ * @param object  The object, or null if it was removed.
+ * @author Matysekxx
+ */
+public record MapObjectChangeResponse(String mapId, long version, String id, MapObject object) {
+
+    public static MapObjectChangeResponse removed(String mapId, long version, String id) {
+        return new MapObjectChangeResponse(mapId, version, id, null);
+    }
+}
@@ -0,0 +1,24 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a client's acknowledgement of an NPC snapshot.
+ *
+ * @author Matysekxx
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NpcAckRequest {
+    /**
+     * The map of the acknowledged snapshot.
+     */
+    private String mapId;
+    /**
+     * The version of the acknowledged snapshot.
+     */
+    private long version = -1;
+}
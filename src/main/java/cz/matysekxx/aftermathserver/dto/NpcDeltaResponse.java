@@ -0,0 +1,25 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import java.util.List;
+
+/**
+ * Changes of the NPCs visible to a client between a snapshot it acknowledged and a newer one.
+ * <p>
+ * The client applies the delta to its copy of the base snapshot, not to whatever it received last,
+ * so it keeps the snapshots it has not seen acknowledged yet.
+ *
+ * @param mapId       The map the NPCs are on.
+ * @param baseVersion The version of the snapshot the delta applies to.
+ * @param version     The version of the resulting snapshot.
+ * @param entered     NPCs that spawned or came into the client's area of interest.
+ * @param changed     Visible NPCs that moved or changed since the base snapshot.
+ * @param left        IDs of NPCs that died or left the client's area of interest.
+ * @author Matysekxx
+ */
+public record NpcDeltaResponse(String mapId, long baseVersion, long version, List<NpcDto> entered, List<NpcDto> changed,
+                               List<String> left) {
+
+    public boolean isEmpty() {
+        return entered.isEmpty() && changed.isEmpty() && left.isEmpty();
+    }
+}
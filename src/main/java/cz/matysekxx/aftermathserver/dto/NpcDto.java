@@ -1,7 +1,9 @@
 package cz.matysekxx.aftermathserver.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import cz.matysekxx.aftermathserver.core.model.entity.InteractionType;
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
+import cz.matysekxx.aftermathserver.util.Spatial;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,7 +16,7 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class NpcDto {
+public class NpcDto implements Spatial {
     private String id;
     private String name;
     private String type;
@@ -26,6 +28,12 @@ public class NpcDto {
     private boolean aggressive;
     private InteractionType interaction;
 
+    @JsonIgnore
+    @Override
+    public int getLayerIndex() {
+        return z;
+    }
+
     public static NpcDto fromEntity(Npc npc) {
         return new NpcDto(
                 npc.getId(),
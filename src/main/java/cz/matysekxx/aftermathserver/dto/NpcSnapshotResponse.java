@@ -0,0 +1,17 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import java.util.List;
+
+/**
+ * Full list of the NPCs on a map.
+ * <p>
+ * The client acknowledges the version with an {@code ACK_NPCS} request; later updates are then
+ * sent as {@link NpcDeltaResponse} relative to the acknowledged snapshot.
+ *
+ * @param mapId   The map the NPCs are on.
+ * @param version The version of the snapshot.
+ * @param npcs    All NPCs on the map.
+ * @author Matysekxx
+ */
+public record NpcSnapshotResponse(String mapId, long version, List<NpcDto> npcs) {
+}
@@ -1,6 +1,8 @@
 package cz.matysekxx.aftermathserver.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.util.Spatial;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,13 +15,19 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class OtherPlayerDto {
+public class OtherPlayerDto implements Spatial {
     private String id;
     private String name;
     private int x;
     private int y;
     private int z;
 
+    @JsonIgnore
+    @Override
+    public int getLayerIndex() {
+        return z;
+    }
+
     /**
      * Creates an OtherPlayerDto from a Player entity.
      *
@@ -0,0 +1,22 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import java.util.List;
+
+/**
+ * The other players in a client's area of interest.
+ * <p>
+ * The list is authoritative. The entered and left IDs tell the client which players appeared or
+ * disappeared since the previous update it was sent; an update superseded in a lagging client's
+ * queue takes its notifications with it, but not its players.
+ *
+ * @param players The players the client can see, including itself.
+ * @param entered IDs of the players that came into view.
+ * @param left    IDs of the players that went out of view or left the map.
+ * @author Matysekxx
+ */
+public record PlayersInViewResponse(List<OtherPlayerDto> players, List<String> entered, List<String> left) {
+
+    public static PlayersInViewResponse of(List<OtherPlayerDto> players) {
+        return new PlayersInViewResponse(players, List.of(), List.of());
+    }
+}
@@ -0,0 +1,22 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a client's acknowledgement of the messages it received, so the server can release
+ * them from the replay buffer of the session.
+ *
+ * @author Matysekxx
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceAckRequest {
+    /**
+     * The number of messages the client received on this session, counting every message except
+     * {@code SESSION} and {@code RESUMED} and every element of a {@code BATCH} on its own.
+     */
+    private long seq;
+}
@@ -0,0 +1,15 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the inbound request counters of a single session, for the debug endpoint.
+ *
+ * @param sessionId      The session ID.
+ * @param accepted       The number of requests within the rate limits.
+ * @param rejected       The number of requests rejected for exceeding a rate limit.
+ * @param rejectedByType The number of rejected requests of each request type.
+ * @author Matysekxx
+ */
+public record SessionInboundStats(String sessionId, long accepted, long rejected, Map<String, Long> rejectedByType) {
+}
@@ -0,0 +1,15 @@
+package cz.matysekxx.aftermathserver.dto;
+
+/**
+ * Snapshot of the outbound queue of a single session, for the debug endpoint.
+ *
+ * @param sessionId The session ID.
+ * @param depth     The number of messages currently waiting.
+ * @param maxDepth  The highest number of waiting messages seen.
+ * @param sent      The number of messages handed to the socket.
+ * @param coalesced The number of messages replaced by a newer message of the same type.
+ * @param dropped   The number of messages discarded because the queue was full.
+ * @author Matysekxx
+ */
+public record SessionQueueStats(String sessionId, int depth, int maxDepth, long sent, long coalesced, long dropped) {
+}
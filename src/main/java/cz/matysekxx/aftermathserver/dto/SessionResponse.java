@@ -0,0 +1,15 @@
+package cz.matysekxx.aftermathserver.dto;
+
+/**
+ * DTO of the {@code SESSION} and {@code RESUMED} messages, carrying what a client needs to resume its session.
+ *
+ * @param sessionId   The ID of the session, which stays the same across resumes.
+ * @param resumeToken The token to present when reconnecting; a new token is issued on every resume.
+ * @param seq         The sequence number of the last message before the ones that follow; the client
+ *                    continues counting from it.
+ * @param replayed    The number of replayed messages following a {@code RESUMED} message, or -1 if
+ *                    the messages since the client's sequence number were no longer available.
+ * @author Matysekxx
+ */
+public record SessionResponse(String sessionId, String resumeToken, long seq, int replayed) {
+}
@@ -0,0 +1,26 @@
+package cz.matysekxx.aftermathserver.dto;
+
+import cz.matysekxx.aftermathserver.core.tick.TickPhase;
+import cz.matysekxx.aftermathserver.core.tick.TickStatistics.TickReport;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * DTO describing the recent cost of game ticks, for the debug endpoint.
+ *
+ * @author Matysekxx
+ */
+@Getter
+@AllArgsConstructor
+public class TickDebugResponse {
+    /**
+     * Statistics of whole ticks.
+     */
+    private TickReport tick;
+    /**
+     * Statistics of the individual tick phases.
+     */
+    private Map<TickPhase, TickReport> phases;
+}
@@ -1,9 +1,7 @@
 package cz.matysekxx.aftermathserver.dto;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 /**
  * Wrapper DTO for all incoming WebSocket messages.
@@ -11,15 +9,14 @@ import lombok.Setter;
  * @author Matysekxx
  */
 @Getter
-@Setter
-@NoArgsConstructor
+@AllArgsConstructor
 public class WebSocketRequest {
     /**
      * The type of the request (e.g., MOVE, CHAT, TRAVEL).
      */
     private String type;
     /**
-     * The payload of the request as a JSON node.
+     * The payload decoded into the request DTO of its type, or null for requests without a payload.
      */
-    private JsonNode payload;
-}
\ No newline at end of file
+    private Object payload;
+}
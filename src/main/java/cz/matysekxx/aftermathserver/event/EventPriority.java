@@ -0,0 +1,36 @@
+package cz.matysekxx.aftermathserver.event;
+
+/**
+ * The lanes of the {@link GameEventQueue}, in the order they are served.
+ *
+ * @author Matysekxx
+ */
+public enum EventPriority {
+    /**
+     * Events a client must never miss or wait for behind bulk traffic (game over, errors, dialogs).
+     */
+    CRITICAL(false),
+    /**
+     * Ordinary per-player updates. Full map object lists stay here, in order with the object changes.
+     */
+    NORMAL(false),
+    /**
+     * Large per-tick map state (NPC lists, players in view) and the end of the tick,
+     * which must stay behind the state produced in that tick.
+     */
+    BULK(true);
+
+    private final boolean superseded;
+
+    EventPriority(boolean superseded) {
+        this.superseded = superseded;
+    }
+
+    /**
+     * @return {@code true} if every event of the lane is superseded by a newer one within a tick,
+     * so the lane may drop events when it is full.
+     */
+    public boolean isSuperseded() {
+        return superseded;
+    }
+}
@@ -3,7 +3,8 @@ package cz.matysekxx.aftermathserver.event;
 /**
  * Enumeration of all possible game event types.
  * <p>
- * Used to categorize events flowing through the {@link GameEventQueue}.
+ * Used to categorize events flowing through the {@link GameEventQueue}. Every type belongs to the
+ * {@link EventPriority} lane it is queued in.
  *
  * @author Matysekxx
  */
@@ -11,69 +12,98 @@ public enum EventType {
     /**
      * Send inventory update to client.
      */
-    SEND_INVENTORY,
+    SEND_INVENTORY(EventPriority.NORMAL),
     /**
      * Send player statistics update to client.
      */
-    SEND_STATS,
+    SEND_STATS(EventPriority.NORMAL),
     /**
      * Send map layout and metadata to client.
      */
-    SEND_MAP_DATA,
+    SEND_MAP_DATA(EventPriority.NORMAL),
     /**
-     * Send list of interactive objects on the map.
+     * Send the full list of interactive objects on the map.
      */
-    SEND_MAP_OBJECTS,
+    SEND_MAP_OBJECTS(EventPriority.NORMAL),
     /**
      * Send game over notification.
      */
-    SEND_GAME_OVER,
+    SEND_GAME_OVER(EventPriority.CRITICAL),
     /**
      * Send player position update.
      */
-    SEND_PLAYER_POSITION,
+    SEND_PLAYER_POSITION(EventPriority.NORMAL),
     /**
      * Send a generic text message to client.
      */
-    SEND_MESSAGE,
+    SEND_MESSAGE(EventPriority.NORMAL),
     /**
      * Send an error message to client.
      */
-    SEND_ERROR,
+    SEND_ERROR(EventPriority.CRITICAL),
     /**
      * Broadcast a chat message to players on the same map.
      */
-    BROADCAST_CHAT_MSG,
+    BROADCAST_CHAT_MSG(EventPriority.NORMAL),
     /**
      * Trigger opening of the Metro travel UI on client.
      */
-    OPEN_METRO_UI,
+    OPEN_METRO_UI(EventPriority.NORMAL),
     /**
      * Send available login options (classes, maps) to client.
      */
-    SEND_LOGIN_OPTIONS,
+    SEND_LOGIN_OPTIONS(EventPriority.NORMAL),
     /**
      * Send list of NPCs to client.
      */
-    SEND_NPCS,
+    SEND_NPCS(EventPriority.BULK),
     /**
      * Open trade UI on client.
      */
-    OPEN_TRADE_UI,
+    OPEN_TRADE_UI(EventPriority.NORMAL),
     /**
      * Broadcast a message to all players on the server.
      */
-    GLOBAL_ANNOUNCEMENT,
+    GLOBAL_ANNOUNCEMENT(EventPriority.NORMAL),
     /**
      * Broadcast positions of other players on the map.
      */
-    BROADCAST_PLAYERS,
+    BROADCAST_PLAYERS(EventPriority.BULK),
     /**
-     * Request to pay debt.
+     * Send a dialog message to client.
      */
-    PAY_DEBT,
+    SEND_DIALOG(EventPriority.CRITICAL),
     /**
-     * Send a dialog message to client.
+     * Broadcast a map object added to the map.
+     */
+    OBJECT_ADDED(EventPriority.NORMAL),
+    /**
+     * Broadcast a map object removed from the map.
+     */
+    OBJECT_REMOVED(EventPriority.NORMAL),
+    /**
+     * Broadcast a map object whose content changed.
+     */
+    OBJECT_UPDATED(EventPriority.NORMAL),
+    /**
+     * Catch up a resumed session with the NPCs and map objects of its area of interest.
+     */
+    SESSION_RESUMED(EventPriority.NORMAL),
+    /**
+     * Marks the end of a tick; messages held for the tick are sent.
+     */
+    TICK_END(EventPriority.BULK);
+
+    private final EventPriority priority;
+
+    EventType(EventPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return The lane events of this type are queued in.
      */
-    SEND_DIALOG;
+    public EventPriority getPriority() {
+        return priority;
+    }
 }
@@ -9,9 +9,17 @@ package cz.matysekxx.aftermathserver.event;
  * @param targetSessionId The session ID of the recipient (if unicast).
  * @param mapId           The map ID for broadcasting (if broadcast).
  * @param isBroadcast     Whether this event should be sent to multiple players.
+ * @param version         Version of the map state carried in the payload, or {@link #UNVERSIONED}.
+ *                        Payloads with the same version are identical and their encoding can be reused.
  * @author Matysekxx
  */
-public record GameEvent(EventType type, Object payload, String targetSessionId, String mapId, boolean isBroadcast) {
+public record GameEvent(EventType type, Object payload, String targetSessionId, String mapId, boolean isBroadcast,
+                        long version) {
+    /**
+     * Version of payloads that are not tracked.
+     */
+    public static final long UNVERSIONED = -1;
+
     /**
      * Factory method to create a new GameEvent.
      *
@@ -23,6 +31,22 @@ public record GameEvent(EventType type, Object payload, String targetSessionId,
      * @return A new GameEvent instance.
      */
     public static GameEvent create(EventType type, Object payload, String targetSessionId, String mapId, boolean isBroadcast) {
-        return new GameEvent(type, payload, targetSessionId, mapId, isBroadcast);
+        return new GameEvent(type, payload, targetSessionId, mapId, isBroadcast, UNVERSIONED);
+    }
+
+    /**
+     * Factory method to create a GameEvent carrying a versioned snapshot of map state.
+     *
+     * @param type            The type of the event.
+     * @param payload         The state of the map.
+     * @param targetSessionId The session ID of the recipient (if unicast).
+     * @param mapId           The map the state belongs to.
+     * @param isBroadcast     Whether this event should be sent to all players on the map.
+     * @param version         The version of the state.
+     * @return A new GameEvent instance.
+     */
+    public static GameEvent createVersioned(EventType type, Object payload, String targetSessionId, String mapId,
+                                            boolean isBroadcast, long version) {
+        return new GameEvent(type, payload, targetSessionId, mapId, isBroadcast, version);
     }
 }
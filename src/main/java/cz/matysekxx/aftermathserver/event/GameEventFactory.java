@@ -2,6 +2,8 @@ package cz.matysekxx.aftermathserver.event;
 
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.metro.MetroStation;
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.MapObject;
 import cz.matysekxx.aftermathserver.dto.*;
 
@@ -21,6 +23,26 @@ public class GameEventFactory {
     private GameEventFactory() {
     }
 
+    /**
+     * Creates the event marking the end of a tick, after all events the tick produced.
+     *
+     * @param tick The tick that ended.
+     * @return A new GameEvent.
+     */
+    public static GameEvent tickEndEvent(long tick) {
+        return GameEvent.create(EventType.TICK_END, tick, null, null, true);
+    }
+
+    /**
+     * Creates an event to catch up a resumed session with the state of its area of interest.
+     *
+     * @param player The player of the resumed session.
+     * @return A new GameEvent.
+     */
+    public static GameEvent sessionResumedEvent(Player player) {
+        return GameEvent.create(EventType.SESSION_RESUMED, player, player.getId(), null, false);
+    }
+
     /**
      * Creates an event to update a specific player's inventory.
      *
@@ -42,14 +64,14 @@ public class GameEventFactory {
     }
 
     /**
-     * Creates an event to send map viewport data to a specific player.
+     * Creates an event to send the chunk window around a player to that player.
      *
-     * @param mapViewportPayload The viewport data.
-     * @param sessionId          The session ID of the recipient.
+     * @param window    The window of chunks.
+     * @param sessionId The session ID of the recipient.
      * @return A new GameEvent.
      */
-    public static GameEvent sendMapDataEvent(MapViewportPayload mapViewportPayload, String sessionId) {
-        return GameEvent.create(EventType.SEND_MAP_DATA, mapViewportPayload, sessionId, null, false);
+    public static GameEvent sendMapDataEvent(ChunkWindow window, String sessionId) {
+        return GameEvent.create(EventType.SEND_MAP_DATA, window, sessionId, window.mapId(), false);
     }
 
     /**
@@ -129,48 +151,84 @@ public class GameEventFactory {
 
 
     /**
-     * Creates an event to send a list of map objects to a specific player (e.g., on join).
+     * Creates an event to send the objects of a map to a specific player (e.g., on join).
      *
-     * @param objects   The collection of map objects.
+     * @param map       The map whose objects are sent.
      * @param sessionId The session ID of the recipient.
      * @return A new GameEvent.
      */
-    public static GameEvent sendMapObjectsToPlayer(Collection<MapObject> objects, String sessionId) {
-        return GameEvent.create(EventType.SEND_MAP_OBJECTS, objects, sessionId, null, false);
+    public static GameEvent sendMapObjectsToPlayer(GameMapData map, String sessionId) {
+        return GameEvent.createVersioned(EventType.SEND_MAP_OBJECTS, map.getObjects(), sessionId, map.getId(), false, map.getObjectsVersion());
     }
 
     /**
-     * Creates an event to broadcast a list of map objects to all players on a specific map.
+     * Creates an event to resynchronize the full object list of all players on a map.
+     * Only meant for bulk changes; single changes are sent as {@link #objectAdded}, {@link #objectRemoved}
+     * and {@link #objectUpdated}.
      *
-     * @param objects The collection of map objects.
-     * @param mapId   The ID of the map.
+     * @param map The map whose objects changed.
      * @return A new GameEvent.
      */
-    public static GameEvent broadcastMapObjects(Collection<MapObject> objects, String mapId) {
-        return GameEvent.create(EventType.SEND_MAP_OBJECTS, objects, null, mapId, true);
+    public static GameEvent broadcastMapObjects(GameMapData map) {
+        return GameEvent.createVersioned(EventType.SEND_MAP_OBJECTS, map.getObjects(), null, map.getId(), true, map.getObjectsVersion());
     }
 
+    /**
+     * Creates an event to broadcast an object that was just added to a map.
+     *
+     * @param map    The map the object was added to.
+     * @param object The added object.
+     * @return A new GameEvent.
+     */
+    public static GameEvent objectAdded(GameMapData map, MapObject object) {
+        return GameEvent.createVersioned(EventType.OBJECT_ADDED, object, null, map.getId(), true, map.getObjectsVersion());
+    }
+
+    /**
+     * Creates an event to broadcast an object that was just removed from a map.
+     *
+     * @param map    The map the object was removed from.
+     * @param object The removed object.
+     * @return A new GameEvent.
+     */
+    public static GameEvent objectRemoved(GameMapData map, MapObject object) {
+        return GameEvent.createVersioned(EventType.OBJECT_REMOVED, object, null, map.getId(), true, map.getObjectsVersion());
+    }
 
     /**
-     * Creates an event to send a list of NPCs to a specific player (e.g., on join).
+     * Creates an event to broadcast an object whose content just changed.
      *
-     * @param npcs      The collection of NPCs.
+     * @param map    The map the object is on.
+     * @param object The changed object.
+     * @return A new GameEvent.
+     */
+    public static GameEvent objectUpdated(GameMapData map, MapObject object) {
+        return GameEvent.createVersioned(EventType.OBJECT_UPDATED, object, null, map.getId(), true, map.getObjectsVersion());
+    }
+
+
+    /**
+     * Creates an event to send the NPCs of a map to a specific player (e.g., on join).
+     *
+     * @param map       The map whose NPCs are sent.
      * @param sessionId The session ID of the recipient.
      * @return A new GameEvent.
      */
-    public static GameEvent sendNpcsToPlayer(Collection<NpcDto> npcs, String sessionId) {
-        return GameEvent.create(EventType.SEND_NPCS, npcs, sessionId, null, false);
+    public static GameEvent sendNpcsToPlayer(GameMapData map, String sessionId) {
+        final List<NpcDto> npcs = map.snapshotNpcs();
+        return GameEvent.createVersioned(EventType.SEND_NPCS, npcs, sessionId, map.getId(), false, map.getNpcsVersion());
     }
 
     /**
-     * Creates an event to broadcast a list of NPCs to all players on a specific map.
+     * Creates an event to broadcast an NPC snapshot to all players on a map.
      *
-     * @param npcs  The collection of NPCs.
-     * @param mapId The ID of the map.
+     * @param npcs    The snapshot taken by {@link GameMapData#snapshotNpcs()}.
+     * @param mapId   The ID of the map.
+     * @param version The version of the snapshot.
      * @return A new GameEvent.
      */
-    public static GameEvent broadcastNpcs(Collection<NpcDto> npcs, String mapId) {
-        return GameEvent.create(EventType.SEND_NPCS, npcs, null, mapId, true);
+    public static GameEvent broadcastNpcs(List<NpcDto> npcs, String mapId, long version) {
+        return GameEvent.createVersioned(EventType.SEND_NPCS, npcs, null, mapId, true, version);
     }
 
 
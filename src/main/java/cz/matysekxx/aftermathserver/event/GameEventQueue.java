@@ -1,36 +1,168 @@
 package cz.matysekxx.aftermathserver.event;
 
+import cz.matysekxx.aftermathserver.config.EventQueueSettings;
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.dto.EventQueueStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A thread-safe queue for buffering game events.
  * <p>
  * Acts as a bridge between the game logic thread and the network/event processing loop.
+ * <p>
+ * Events are kept in one preallocated {@link RingBuffer} per {@link EventPriority} lane, so enqueuing
+ * neither allocates nor locks and the queue cannot grow without bound when the event loop falls behind.
+ * Lanes are served strictly in priority order, so critical events never wait behind bulk traffic.
+ * This is intended to reorder the events of one session as well: an error, dialog or game over
+ * reaches the client ahead of the ordinary updates enqueued before it, which it never depends on.
+ * <p>
+ * Only the bulk lane drops an event arriving when it is full, since the state it carries is sent
+ * again the next tick; the drop is counted. Critical and ordinary events are never lost: a producer
+ * finding their lane full waits until the event loop makes room, which slows the game down instead
+ * of leaving clients out of sync.
  *
  * @author Matysekxx
  */
 @Service
+@Slf4j
 public class GameEventQueue {
-    private final LinkedBlockingDeque<GameEvent> queue = new LinkedBlockingDeque<>();
+    private static final EventPriority[] LANES = EventPriority.values();
+    /**
+     * How long a producer waiting for room in a full lane sleeps between attempts.
+     */
+    private static final long STALL_BACKOFF_NANOS = 50_000;
+    private final Map<EventPriority, Lane> lanes = new EnumMap<>(EventPriority.class);
+    private volatile Thread waiter;
+
+    public GameEventQueue() {
+        this(new EventQueueSettings());
+    }
+
+    @Autowired
+    public GameEventQueue(GameSettings settings) {
+        this(settings.getEventQueue());
+    }
+
+    GameEventQueue(EventQueueSettings settings) {
+        lanes.put(EventPriority.CRITICAL, new Lane(settings.getCriticalCapacity()));
+        lanes.put(EventPriority.NORMAL, new Lane(settings.getNormalCapacity()));
+        lanes.put(EventPriority.BULK, new Lane(settings.getBulkCapacity()));
+    }
 
     /**
-     * Adds an event to the queue.
+     * Adds an event to the lane of its type. If the lane is full, a bulk event is dropped, while
+     * any other event waits for room.
      *
      * @param gameEvent The event to enqueue.
      */
     public void enqueue(GameEvent gameEvent) {
-        queue.add(gameEvent);
+        final EventPriority priority = gameEvent.type().getPriority();
+        final Lane lane = lanes.get(priority);
+        if (!lane.ring.offer(gameEvent) && (priority.isSuperseded() || !awaitRoom(lane, gameEvent))) {
+            lane.dropped.increment();
+            log.debug("Event queue lane {} is full, dropping {}", priority, gameEvent.type());
+            return;
+        }
+        lane.enqueued.increment();
+        wakeConsumer();
     }
 
     /**
-     * Retrieves and removes the head of the queue, waiting if necessary.
+     * Keeps offering an event to its full lane until the event loop makes room.
+     *
+     * @return {@code false} if the producer was interrupted before the event was accepted.
+     */
+    private boolean awaitRoom(Lane lane, GameEvent gameEvent) {
+        lane.stalled.increment();
+        log.debug("Event queue lane {} is full, waiting to enqueue {}", gameEvent.type().getPriority(), gameEvent.type());
+        do {
+            if (Thread.currentThread().isInterrupted()) return false;
+            wakeConsumer();
+            LockSupport.parkNanos(this, STALL_BACKOFF_NANOS);
+        } while (!lane.ring.offer(gameEvent));
+        return true;
+    }
+
+    private void wakeConsumer() {
+        final Thread consumer = waiter;
+        if (consumer != null) LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Retrieves and removes the next event of the highest non-empty lane, waiting if necessary.
+     * <p>
+     * Only one thread may wait in this method at a time.
      *
      * @return The next game event.
      * @throws InterruptedException if interrupted while waiting.
      */
     public GameEvent take() throws InterruptedException {
-        return queue.take();
+        while (true) {
+            GameEvent event = poll();
+            if (event != null) return event;
+            waiter = Thread.currentThread();
+            // checked again after announcing the wait, so an event enqueued in between is not missed
+            event = poll();
+            if (event == null) LockSupport.park(this);
+            waiter = null;
+            if (event != null) return event;
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Retrieves and removes the next event of the highest non-empty lane.
+     *
+     * @return The next game event, or null if all lanes are empty.
+     */
+    public GameEvent poll() {
+        for (EventPriority priority : LANES) {
+            final GameEvent event = lanes.get(priority).ring.poll();
+            if (event != null) return event;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the depth and counters of every lane. The enqueue rate is averaged over the time
+     * since the previous call.
+     *
+     * @return The statistics of each lane, in priority order.
+     */
+    public List<EventQueueStats> getStats() {
+        final List<EventQueueStats> stats = new ArrayList<>(LANES.length);
+        for (EventPriority priority : LANES) stats.add(lanes.get(priority).stats(priority));
+        return stats;
+    }
+
+    private static final class Lane {
+        private final RingBuffer<GameEvent> ring;
+        private final LongAdder enqueued = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder stalled = new LongAdder();
+        private long sampledAt = System.nanoTime();
+        private long sampledCount;
+
+        private Lane(int capacity) {
+            this.ring = new RingBuffer<>(capacity);
+        }
+
+        private synchronized EventQueueStats stats(EventPriority priority) {
+            final long now = System.nanoTime();
+            final long count = enqueued.sum();
+            final double rate = now > sampledAt ? (count - sampledCount) * 1_000_000_000d / (now - sampledAt) : 0;
+            sampledAt = now;
+            sampledCount = count;
+            return new EventQueueStats(priority, ring.size(), ring.capacity(), count, dropped.sum(), stalled.sum(), rate);
+        }
     }
 }
@@ -0,0 +1,95 @@
+package cz.matysekxx.aftermathserver.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, preallocated multi-producer queue over a ring of slots.
+ * <p>
+ * Every slot carries a sequence number telling whether it is free for the producer at a given
+ * position or filled for the consumer at it, so producers only contend on a compare-and-set of the
+ * tail and nothing is allocated per element. The capacity is rounded up to a power of two.
+ *
+ * @param <E> The element type.
+ * @author Matysekxx
+ */
+final class RingBuffer<E> {
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    RingBuffer(int capacity) {
+        final int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    /**
+     * Appends an element unless the ring is full.
+     *
+     * @param element The element to append.
+     * @return {@code false} if the ring is full.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) (position & mask);
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return The element, or null if the ring is empty.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head.get();
+        while (true) {
+            final int index = (int) (position & mask);
+            final long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final E element = (E) slots[index];
+                    slots[index] = null;
+                    sequences.set(index, position + slots.length);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return The number of elements currently in the ring.
+     */
+    int size() {
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, slots.length));
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
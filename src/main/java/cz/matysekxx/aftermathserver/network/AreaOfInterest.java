@@ -0,0 +1,111 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.dto.OtherPlayerDto;
+import cz.matysekxx.aftermathserver.util.Spatial;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_X;
+import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_Y;
+
+/**
+ * Decides which entities a client is interested in.
+ * <p>
+ * A client only sees the entities on its layer within its viewport plus a margin. Views are
+ * snapped to a grid of {@link #CELL_SIZE} tiles: all players standing in the same cell share
+ * one view, and so one encoded frame, and the view only changes when a player crosses a cell
+ * border. The margin of every view covers the viewport from any position inside its cell.
+ *
+ * @author Matysekxx
+ */
+class AreaOfInterest {
+    static final int CELL_SIZE = 16;
+    static final int MARGIN = 8;
+    private final Map<String, View> views = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> visiblePlayers = new ConcurrentHashMap<>();
+
+    /**
+     * @return The view of the player on the given map.
+     */
+    static View viewOf(Player player, String mapId) {
+        return new View(mapId, player.getLayerIndex(),
+                Math.floorDiv(player.getX(), CELL_SIZE), Math.floorDiv(player.getY(), CELL_SIZE));
+    }
+
+    /**
+     * Records the view the client was last sent, so crossing into a new view can be detected.
+     *
+     * @return Whether the view differs from the previously recorded one.
+     */
+    boolean update(String sessionId, View view) {
+        return !Objects.equals(views.put(sessionId, view), view);
+    }
+
+    /**
+     * Records the players a client was last sent and compares them with the previous ones.
+     *
+     * @return The players that entered and left the client's view.
+     */
+    Visibility updateVisiblePlayers(String sessionId, List<OtherPlayerDto> visible) {
+        final Set<String> ids = new HashSet<>();
+        for (OtherPlayerDto player : visible) ids.add(player.getId());
+        final Set<String> previous = visiblePlayers.put(sessionId, ids);
+        final List<String> entered = new ArrayList<>();
+        final List<String> left = new ArrayList<>();
+        for (String id : ids) {
+            if (previous == null || !previous.contains(id)) entered.add(id);
+        }
+        if (previous != null) {
+            for (String id : previous) {
+                if (!ids.contains(id)) left.add(id);
+            }
+        }
+        return new Visibility(entered, left);
+    }
+
+    void forget(String sessionId) {
+        views.remove(sessionId);
+        visiblePlayers.remove(sessionId);
+    }
+
+    /**
+     * IDs of the entities that entered and left a client's view.
+     */
+    record Visibility(List<String> entered, List<String> left) {
+
+        boolean isUnchanged() {
+            return entered.isEmpty() && left.isEmpty();
+        }
+    }
+
+    /**
+     * The part of a map visible from one grid cell of one layer.
+     */
+    record View(String mapId, int layer, int cellX, int cellY) {
+
+        boolean contains(Spatial entity) {
+            if (entity.getLayerIndex() != layer) return false;
+            final int minX = cellX * CELL_SIZE - VIEWPORT_RANGE_X - MARGIN;
+            final int minY = cellY * CELL_SIZE - VIEWPORT_RANGE_Y - MARGIN;
+            final int maxX = cellX * CELL_SIZE + CELL_SIZE - 1 + VIEWPORT_RANGE_X + MARGIN;
+            final int maxY = cellY * CELL_SIZE + CELL_SIZE - 1 + VIEWPORT_RANGE_Y + MARGIN;
+            return entity.getX() >= minX && entity.getX() <= maxX && entity.getY() >= minY && entity.getY() <= maxY;
+        }
+
+        <T extends Spatial> List<T> filter(Collection<T> entities) {
+            final List<T> visible = new ArrayList<>();
+            for (T entity : entities) {
+                if (contains(entity)) visible.add(entity);
+            }
+            return visible;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
+import cz.matysekxx.aftermathserver.core.world.MapChunk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which map chunks each client holds.
+ * <p>
+ * A chunk counts as held once it is sent. Clients can replace this assumption by reporting the
+ * chunk IDs they actually hold, e.g. from a persistent cache after reconnecting or after evicting
+ * chunks. At most {@link #CAPACITY} chunks are remembered per client, the least recently used first
+ * to be forgotten, which at worst makes a chunk be sent twice.
+ *
+ * @author Matysekxx
+ */
+class ChunkTracker {
+    static final int CAPACITY = 4096;
+    private final Map<String, ClientChunks> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the chunks of a window the client does not hold yet and marks them as held.
+     * It also remembers the window as the last one sent to the client.
+     *
+     * @return The missing chunks, each at most once.
+     */
+    List<MapChunk> missing(String sessionId, ChunkWindow window) {
+        return clients.computeIfAbsent(sessionId, id -> new ClientChunks()).missing(window);
+    }
+
+    /**
+     * Replaces the chunks the client is assumed to hold with the ones it reported.
+     *
+     * @return The last window sent to the client, or null.
+     */
+    ChunkWindow report(String sessionId, Collection<Long> hashes) {
+        return clients.computeIfAbsent(sessionId, id -> new ClientChunks()).report(hashes);
+    }
+
+    void forget(String sessionId) {
+        clients.remove(sessionId);
+    }
+
+    private static final class ClientChunks {
+        private final Map<Long, Boolean> held = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > CAPACITY;
+            }
+        };
+        private ChunkWindow lastWindow;
+
+        synchronized List<MapChunk> missing(ChunkWindow window) {
+            lastWindow = window;
+            final List<MapChunk> missing = new ArrayList<>();
+            for (MapChunk chunk : window.chunks()) {
+                if (chunk != null && held.put(chunk.hash(), Boolean.TRUE) == null) missing.add(chunk);
+            }
+            return missing;
+        }
+
+        synchronized ChunkWindow report(Collection<Long> hashes) {
+            held.clear();
+            for (Long hash : hashes) held.put(hash, Boolean.TRUE);
+            return lastWindow;
+        }
+    }
+}
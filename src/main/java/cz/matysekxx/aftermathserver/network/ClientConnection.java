@@ -0,0 +1,54 @@
+package cz.matysekxx.aftermathserver.network;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * A WebSocket connection of a client, independent of the server stack it was accepted by.
+ * <p>
+ * The network layer only talks to connections through this interface, so the servlet endpoint
+ * and the reactive endpoint feed the same game core. Messages are always the encoded frames
+ * of {@link OutboundMessage}; each transport converts them to its own frame type.
+ *
+ * @author Matysekxx
+ */
+public interface ClientConnection {
+
+    /**
+     * @return The ID of the connection, unique across all transports.
+     */
+    String getId();
+
+    /**
+     * @return The subprotocol negotiated in the handshake, or null if none was.
+     */
+    String getAcceptedProtocol();
+
+    /**
+     * @return The URI of the handshake request, or null if unknown.
+     */
+    URI getUri();
+
+    boolean isOpen();
+
+    /**
+     * Writes a message to the client. Called only from the writer thread of the session;
+     * the call may block until the transport is ready to take the message.
+     *
+     * @param message The encoded message.
+     * @throws IOException           if the message cannot be written.
+     * @throws IllegalStateException if the connection is closed.
+     */
+    void sendMessage(WebSocketMessage<?> message) throws IOException;
+
+    /**
+     * Closes the connection.
+     *
+     * @param status The close status sent to the client.
+     * @throws IOException if the connection cannot be closed cleanly.
+     */
+    void close(CloseStatus status) throws IOException;
+}
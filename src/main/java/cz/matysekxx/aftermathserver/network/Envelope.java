@@ -0,0 +1,65 @@
+package cz.matysekxx.aftermathserver.network;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import cz.matysekxx.aftermathserver.network.protocol.BinaryWriter;
+import cz.matysekxx.aftermathserver.network.protocol.MessageId;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Frames several encoded messages of one session as a single {@code BATCH} message.
+ * <p>
+ * The messages are embedded as they were encoded, so frames shared between sessions are never
+ * serialized again. In the JSON protocol the payload is an array of the messages, plain text
+ * messages appearing as JSON strings. In the binary protocol the ID is followed by the number
+ * of messages and every message prefixed by its length.
+ *
+ * @author Matysekxx
+ */
+final class Envelope {
+    static final String TYPE = "BATCH";
+    private static final String JSON_PREFIX = "{\"type\":\"" + TYPE + "\",\"payload\":[";
+
+    private Envelope() {
+    }
+
+    /**
+     * @param elements The JSON of the messages.
+     * @return The envelope in the JSON protocol.
+     */
+    static TextMessage json(List<String> elements) {
+        int length = JSON_PREFIX.length() + elements.size() + 2;
+        for (String element : elements) length += element.length();
+        final StringBuilder json = new StringBuilder(length).append(JSON_PREFIX);
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(elements.get(i));
+        }
+        return new TextMessage(json.append("]}").toString());
+    }
+
+    /**
+     * @param text A plain text message.
+     * @return The text as a JSON string.
+     */
+    static String quote(String text) {
+        return '"' + new String(JsonStringEncoder.getInstance().quoteAsString(text)) + '"';
+    }
+
+    /**
+     * @param frames The binary frames of the messages; their buffers are not consumed.
+     * @return The envelope in the binary protocol.
+     */
+    static BinaryMessage binary(List<ByteBuffer> frames) {
+        final BinaryWriter writer = new BinaryWriter().writeVarInt(MessageId.BATCH.getId()).writeVarInt(frames.size());
+        for (ByteBuffer frame : frames) {
+            final byte[] bytes = new byte[frame.remaining()];
+            frame.duplicate().get(bytes);
+            writer.writeVarInt(bytes.length).writeBytes(bytes);
+        }
+        return new BinaryMessage(writer.toByteArray());
+    }
+}
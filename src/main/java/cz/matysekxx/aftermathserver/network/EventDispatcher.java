@@ -0,0 +1,135 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Spreads the handling of game events over a fixed number of shards, each with its own thread.
+ * <p>
+ * Every session is owned by one shard, chosen by the hash of its ID. A unicast event is handled
+ * only by the shard owning its recipient. A broadcast is handed to every shard, and each shard serves
+ * only the sessions of the room it owns. All messages of a session are therefore produced by one
+ * thread, in the order the events were dispatched, while serialization and writes of different
+ * sessions run in parallel. Work on behalf of a single session that does not come from the game
+ * loop, such as answering a client's request, is {@link #submit submitted} to the owning shard too.
+ * <p>
+ * The queue of each shard is bounded; when a shard falls behind, dispatching blocks and the
+ * backlog stays in the game event queue, where it is bounded and counted.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+final class EventDispatcher {
+    private static final ThreadLocal<Shard> CURRENT = new ThreadLocal<>();
+    private final Shard[] shards;
+    private final Consumer<GameEvent> handler;
+
+    /**
+     * Creates the shards; their threads run once {@link #start()} is called.
+     *
+     * @param count    The number of shards.
+     * @param capacity The maximum number of events waiting in a single shard.
+     * @param handler  Handles an event on the thread of a shard.
+     */
+    EventDispatcher(int count, int capacity, Consumer<GameEvent> handler) {
+        this.handler = handler;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, capacity);
+        }
+    }
+
+    /**
+     * Starts the shard threads.
+     */
+    void start() {
+        for (Shard shard : shards) shard.thread.start();
+    }
+
+    /**
+     * Hands an event to the shard of its recipient, or to every shard if it is a broadcast.
+     *
+     * @param event The event to handle.
+     * @throws InterruptedException if interrupted while waiting for space in a shard.
+     */
+    void dispatch(GameEvent event) throws InterruptedException {
+        final Runnable task = () -> handler.accept(event);
+        if (event.isBroadcast()) {
+            for (Shard shard : shards) shard.queue.put(task);
+        } else {
+            shards[shardOf(event.targetSessionId())].queue.put(task);
+        }
+    }
+
+    /**
+     * Hands a task concerning one session to the shard owning the session, behind the events
+     * already dispatched to it. Never blocks, so it is safe to call from the threads reading sockets.
+     *
+     * @param sessionId The session ID.
+     * @param task      The task to run on the thread of the shard.
+     * @return {@code false} if the shard's queue is full and the task was not accepted.
+     */
+    boolean submit(String sessionId, Runnable task) {
+        return shards[shardOf(sessionId)].queue.offer(task);
+    }
+
+    /**
+     * @return The index of the shard owning the session.
+     */
+    int shardOf(String sessionId) {
+        return sessionId == null ? 0 : Math.floorMod(sessionId.hashCode(), shards.length);
+    }
+
+    /**
+     * Tells whether the calling thread serves the session. Threads outside of the shards serve
+     * no session; they {@link #submit} their work to the owning shard instead.
+     *
+     * @param sessionId The session ID.
+     * @return {@code true} if the caller may send to the session.
+     */
+    boolean owns(String sessionId) {
+        final Shard current = CURRENT.get();
+        return current != null && current.index == shardOf(sessionId);
+    }
+
+    int size() {
+        return shards.length;
+    }
+
+    /**
+     * Stops the shard threads; events and tasks still waiting are discarded.
+     */
+    void shutdown() {
+        for (Shard shard : shards) shard.thread.interrupt();
+    }
+
+    private static final class Shard {
+        private final int index;
+        private final BlockingQueue<Runnable> queue;
+        private final Thread thread;
+
+        private Shard(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this::run, "event-shard-" + index);
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            CURRENT.set(this);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    queue.take().run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("Error processing event", e);
+                }
+            }
+        }
+    }
+}
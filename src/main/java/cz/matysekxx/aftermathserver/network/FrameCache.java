@@ -0,0 +1,76 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.event.GameEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of encoded frames of versioned map state (map objects, NPC lists).
+ * <p>
+ * A frame is keyed by message type, map and the view the state is filtered through (see
+ * {@link AreaOfInterest}), and tagged with the version of the state it was encoded from. As long
+ * as the version does not change, every recipient, whether reached by a broadcast or a unicast on
+ * arrival, gets the same {@link OutboundMessage}, so the state is serialized once per change and
+ * wire protocol instead of once per message. Only the newest version of each key is kept.
+ *
+ * @author Matysekxx
+ */
+class FrameCache {
+    private final Map<FrameKey, Frame> frames = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the message of the given state, creating a new one only if the version is not cached yet.
+     *
+     * @param type    The message type.
+     * @param mapId   The map the state belongs to.
+     * @param version The version of the state, or {@link GameEvent#UNVERSIONED}.
+     * @param payload The state to send on a miss.
+     * @return The message shared by all recipients of this version.
+     */
+    OutboundMessage get(String type, String mapId, long version, Object payload) {
+        return get(type, mapId, null, version, () -> payload);
+    }
+
+    /**
+     * Returns the message of the given state seen through a view, building the payload only on a miss.
+     *
+     * @param type    The message type.
+     * @param mapId   The map the state belongs to.
+     * @param view    The view the state is filtered through, or null for the whole map.
+     * @param version The version of the state, or {@link GameEvent#UNVERSIONED}.
+     * @param payload Builds the payload on a miss.
+     * @return The message shared by all recipients of this version and view.
+     */
+    OutboundMessage get(String type, String mapId, Object view, long version, Supplier<?> payload) {
+        if (version == GameEvent.UNVERSIONED || mapId == null) return new OutboundMessage(type, payload.get());
+        final FrameKey key = new FrameKey(type, mapId, view);
+        final Frame cached = frames.get(key);
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached.message();
+        }
+        misses.increment();
+        final OutboundMessage message = new OutboundMessage(type, payload.get());
+        frames.merge(key, new Frame(version, message), (old, fresh) -> fresh.version() >= old.version() ? fresh : old);
+        return message;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    private record FrameKey(String type, String mapId, Object view) {
+    }
+
+    private record Frame(long version, OutboundMessage message) {
+    }
+}
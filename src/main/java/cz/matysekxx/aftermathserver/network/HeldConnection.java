@@ -0,0 +1,52 @@
+package cz.matysekxx.aftermathserver.network;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.net.URI;
+
+/**
+ * Stands in for the lost connection of a held session during the grace period.
+ * <p>
+ * The connection counts as open, so messages for the session are still encoded for its protocol
+ * and queued in its parked writer, which writes them once the client resumes. It never writes anything itself.
+ *
+ * @author Matysekxx
+ */
+final class HeldConnection implements ClientConnection {
+    private final ClientConnection lost;
+
+    HeldConnection(ClientConnection lost) {
+        this.lost = lost;
+    }
+
+    @Override
+    public String getId() {
+        return lost.getId();
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return lost.getAcceptedProtocol();
+    }
+
+    @Override
+    public URI getUri() {
+        return lost.getUri();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        throw new IllegalStateException("Session of connection " + lost.getId() + " is held");
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        // the lost connection is already closed
+    }
+}
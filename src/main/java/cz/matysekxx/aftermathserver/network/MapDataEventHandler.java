@@ -1,13 +1,13 @@
 package cz.matysekxx.aftermathserver.network;
 
-import cz.matysekxx.aftermathserver.dto.MapViewportPayload;
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
 import cz.matysekxx.aftermathserver.event.EventType;
 import cz.matysekxx.aftermathserver.event.GameEvent;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 /**
- * Handles {@code SEND_MAP_DATA} events by sending map layout and metadata to the client.
+ * Handles {@code SEND_MAP_DATA} events by streaming the chunks around the player to the client.
  *
  * @author Matysekxx
  */
@@ -25,8 +25,8 @@ public class MapDataEventHandler extends GameEventHandler {
 
     @Override
     public void handleEvent(GameEvent event) {
-        if (event.payload() instanceof MapViewportPayload viewport) {
-            networkService.sendMapData(event.targetSessionId(), viewport);
+        if (event.payload() instanceof ChunkWindow window) {
+            networkService.sendMapData(event.targetSessionId(), window);
         }
     }
-}
\ No newline at end of file
+}
@@ -9,7 +9,7 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 
 /**
- * Handles {@code SEND_MAP_OBJECTS} events by sending or broadcasting the list of interactive objects on the map.
+ * Handles {@code SEND_MAP_OBJECTS} events by sending or broadcasting the full list of interactive objects on the map.
  *
  * @author Matysekxx
  */
@@ -30,9 +30,9 @@ public class MapObjectEventHandler extends GameEventHandler {
         if (event.payload() instanceof List<?> list) {
             @SuppressWarnings("unchecked") final List<MapObject> mapObjects = (List<MapObject>) list;
             if (event.isBroadcast()) {
-                networkService.broadcastMapObjects(mapObjects, event.mapId());
+                networkService.broadcastMapObjects(mapObjects, event.mapId(), event.version());
             } else {
-                networkService.sendMapObjects(event.targetSessionId(), mapObjects);
+                networkService.sendMapObjects(event.targetSessionId(), event.mapId(), event.version(), mapObjects);
             }
         }
     }
@@ -2,42 +2,133 @@ package cz.matysekxx.aftermathserver.network;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.matysekxx.aftermathserver.config.EventQueueSettings;
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.OutboundSettings;
+import cz.matysekxx.aftermathserver.config.ResumeSettings;
+import cz.matysekxx.aftermathserver.core.PlayerRegistry;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.metro.MetroStation;
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
+import cz.matysekxx.aftermathserver.core.world.MapChunk;
 import cz.matysekxx.aftermathserver.core.world.MapObject;
 import cz.matysekxx.aftermathserver.dto.*;
 import cz.matysekxx.aftermathserver.event.EventType;
 import cz.matysekxx.aftermathserver.event.GameEvent;
 import cz.matysekxx.aftermathserver.event.GameEventQueue;
+import cz.matysekxx.aftermathserver.network.protocol.BinaryCodec;
+import cz.matysekxx.aftermathserver.network.protocol.WireProtocol;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
 
 import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for WebSocket communication and event dispatching.
  * Manages active sessions, handles the main event loop, and sends messages to clients.
+ * <p>
+ * The event loop never writes to a socket itself. Every session gets a {@link SessionWriter}
+ * with a bounded queue, running on a virtual thread, so one slow client cannot delay the others.
+ * Messages carrying complete state replace their older versions still waiting in the queue.
+ * <p>
+ * Map broadcasts only visit the sessions in the map's room kept by the {@link PlayerRegistry},
+ * so their cost depends on the number of recipients, not on the number of connected clients.
+ * Versioned map state (objects, NPC lists) is encoded through the {@link FrameCache}, so one
+ * frame is shared by all recipients until the state changes. NPC lists are sent in full only to
+ * clients without an acknowledged snapshot; the others receive deltas from the {@link NpcDeltaTracker}.
+ * NPCs, players and map objects are filtered by each client's {@link AreaOfInterest}, so the size of
+ * a broadcast depends on the density around the recipient rather than on the population of the map.
+ * Map objects are sent in full only on join, on entering a new area and on resync; afterwards every
+ * added, removed or changed object is sent on its own.
+ * The map itself is streamed as content-addressed chunks, and the {@link ChunkTracker} keeps every
+ * chunk from being sent to a client that already holds it.
+ * <p>
+ * Events are taken from the queue by one thread and handled in parallel by the shards of the
+ * {@link EventDispatcher}. Every session is served by one shard, so broadcast loops skip the sessions
+ * of other shards and each client still receives its messages in order.
+ * <p>
+ * Sessions are resumable: a client gets a resume token on connect, and when its connection drops
+ * the player stays in the world for a grace period. A client reconnecting with the token keeps its
+ * session ID; it gets the messages it missed from the session's {@link ReplayBuffer}, then the messages
+ * queued for the held session during the grace period. Only a client the replay cannot bring up to date
+ * needs a resync, which still avoids a full login.
+ * <p>
+ * When batching per tick is enabled, messages wait in the writers until the {@code TICK_END} event
+ * and every session then gets everything the tick produced for it as one {@link Envelope}.
+ * <p>
+ * Each session speaks the {@link WireProtocol} negotiated in its handshake. Messages are encoded
+ * lazily per protocol, so a broadcast is serialized once for JSON clients and once for binary ones.
+ * <p>
+ * Connections are seen through {@link ClientConnection}, so sessions of the servlet endpoint and of the
+ * reactive endpoint share one game core.
  *
  * @author Matysekxx
  */
 @Service
 @Slf4j
 public class NetworkService {
+    /**
+     * Coalescing keys of the message types whose newest message supersedes any older one not yet sent.
+     * A full NPC snapshot and an NPC delta supersede each other, since a delta only needs the
+     * acknowledged snapshot on the client.
+     */
+    private static final Map<String, String> COALESCE_KEYS = Map.of(
+            "SEND_NPCS", "SEND_NPCS",
+            "NPCS_DELTA", "SEND_NPCS",
+            "SEND_STATS", "SEND_STATS",
+            "BROADCAST_PLAYERS", "BROADCAST_PLAYERS",
+            "SEND_PLAYER_POSITION", "SEND_PLAYER_POSITION");
+    /**
+     * Marks recipients that are already up to date.
+     */
+    private static final OutboundMessage SKIP = new OutboundMessage(null, null);
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final BinaryCodec binaryCodec = new BinaryCodec(objectMapper);
+    private final FrameCache frameCache = new FrameCache();
+    private final NpcDeltaTracker npcDeltaTracker = new NpcDeltaTracker();
+    private final AreaOfInterest areaOfInterest = new AreaOfInterest();
+    private final ChunkTracker chunkTracker = new ChunkTracker();
+    private final Map<String, VersionedObjects> latestObjects = new ConcurrentHashMap<>();
+    private final Map<String, ClientConnection> sessions = new ConcurrentHashMap<>();
     private final Map<EventType, GameEventHandler> handlers = new EnumMap<>(EventType.class);
-    private final Map<String, String> sessionToMap = new ConcurrentHashMap<>();
+    private final Map<String, SessionWriter> writers = new ConcurrentHashMap<>();
+    /**
+     * The session ID served by each connection, keyed by the ID of the connection. A resumed session
+     * keeps the ID of the connection it started on.
+     */
+    private final Map<String, String> sessionIds = new ConcurrentHashMap<>();
+    private final Map<String, ResumableSession> resumables = new ConcurrentHashMap<>();
+    private final Map<String, String> resumeTokens = new ConcurrentHashMap<>();
+    private final SecureRandom tokenRandom = new SecureRandom();
+    private final ScheduledExecutorService graceTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "session-grace");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final GameEventQueue gameEventQueue;
+    private final PlayerRegistry playerRegistry;
+    private final OutboundSettings outboundSettings;
+    private final ResumeSettings resumeSettings;
+    private final EventDispatcher dispatcher;
     private ExecutorService eventLoopExecutor;
 
     /**
@@ -45,37 +136,50 @@ public class NetworkService {
      *
      * @param gameEventQueue    The queue for game events.
      * @param gameEventHandlers A list of handlers for processing specific event types.
+     * @param settings          Game-wide settings.
+     * @param playerRegistry    Registry holding the players of each map.
      */
-    public NetworkService(GameEventQueue gameEventQueue, List<GameEventHandler> gameEventHandlers) {
+    public NetworkService(GameEventQueue gameEventQueue, List<GameEventHandler> gameEventHandlers, GameSettings settings,
+                          PlayerRegistry playerRegistry) {
         this.gameEventQueue = gameEventQueue;
+        this.playerRegistry = playerRegistry;
+        this.outboundSettings = settings.getOutbound();
+        this.resumeSettings = settings.getResume();
         for (GameEventHandler gameEventHandler : gameEventHandlers) {
             handlers.put(gameEventHandler.getType(), gameEventHandler);
         }
+        final EventQueueSettings eventQueue = settings.getEventQueue();
+        final int shards = eventQueue.getShards() > 0 ? eventQueue.getShards() : Runtime.getRuntime().availableProcessors();
+        this.dispatcher = new EventDispatcher(shards, eventQueue.getShardCapacity(), this::handle);
     }
 
     /**
-     * Starts the background thread for processing events from the queue.
+     * Starts the dispatch shards and the background thread routing events from the queue to them.
      */
     @PostConstruct
     private void startEventLoop() {
+        dispatcher.start();
         final Runnable runnable = () -> {
             while (true) {
                 try {
-                    final GameEvent gameEvent = gameEventQueue.take();
-                    if (handlers.containsKey(gameEvent.type())) {
-                        handlers.get(gameEvent.type()).handleEvent(gameEvent);
-                    }
+                    dispatcher.dispatch(gameEventQueue.take());
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     log.error("Network thread interrupted", e);
                     break;
                 } catch (Exception e) {
-                    log.error("Error processing event", e);
+                    log.error("Error dispatching event", e);
                 }
             }
         };
         eventLoopExecutor = Executors.newSingleThreadExecutor();
         eventLoopExecutor.execute(runnable);
+        log.info("Network event loop started with {} dispatch shards", dispatcher.size());
+    }
+
+    private void handle(GameEvent gameEvent) {
+        final GameEventHandler handler = handlers.get(gameEvent.type());
+        if (handler != null) handler.handleEvent(gameEvent);
     }
 
     /**
@@ -87,15 +191,26 @@ public class NetworkService {
             log.info("Stopping network event loop...");
             eventLoopExecutor.shutdownNow();
         }
+        dispatcher.shutdown();
+        graceTimer.shutdownNow();
     }
 
     /**
-     * Registers a new WebSocket session.
+     * Registers a new WebSocket session and, if sessions are resumable, sends it its resume token.
      *
-     * @param session The session to add.
+     * @param session The connection of the session to add; its ID becomes the session ID.
      */
-    public void addSession(WebSocketSession session) {
-        sessions.put(session.getId(), session);
+    public void addSession(ClientConnection session) {
+        final String sessionId = session.getId();
+        final ResumableSession resumable = resumeSettings.isEnabled()
+                ? new ResumableSession(new ReplayBuffer(resumeSettings.getReplayCapacity()))
+                : null;
+        if (resumable != null) resumables.put(sessionId, resumable);
+        final SessionWriter writer = createWriter(sessionId, session, resumable);
+        if (resumable != null) {
+            sendControl(session, writer, "SESSION", new SessionResponse(sessionId, issueToken(sessionId, resumable), 0, 0));
+        }
+        attach(sessionId, session, writer);
     }
 
     /**
@@ -104,63 +219,231 @@ public class NetworkService {
      * @param sessionId The ID of the session to remove.
      */
     public void removeSession(String sessionId) {
-        sessions.remove(sessionId);
-        sessionToMap.remove(sessionId);
+        detach(sessionId);
+        npcDeltaTracker.forget(sessionId);
+        areaOfInterest.forget(sessionId);
+        chunkTracker.forget(sessionId);
+        final ResumableSession resumable = resumables.remove(sessionId);
+        if (resumable != null) {
+            resumable.discard();
+            final String token = resumable.token();
+            if (token != null) resumeTokens.remove(token);
+        }
     }
 
     /**
-     * Updates the map ID associated with a session.
+     * Returns the session a connection serves.
+     *
+     * @param connectionId The ID of the WebSocket connection.
+     * @return The session ID, or null if the connection was replaced by a resumed one.
+     */
+    public String sessionIdOf(String connectionId) {
+        return sessionIds.get(connectionId);
+    }
+
+    /**
+     * Keeps the session of a lost connection for the grace period, so the client can resume it.
+     * Only sessions with a logged-in player are held. The writer of a held session is parked:
+     * messages for the session keep being queued and are written once the client resumes.
      *
      * @param sessionId The session ID.
-     * @param mapId     The new map ID.
+     * @param onExpired Invoked on the timer thread if the grace period runs out without a resume.
+     * @return {@code true} if the session is held, {@code false} if it should be removed right away.
      */
-    public void updatePlayerLocation(String sessionId, String mapId) {
-        sessionToMap.put(sessionId, mapId);
+    public boolean hold(String sessionId, Runnable onExpired) {
+        final ResumableSession resumable = resumables.get(sessionId);
+        if (resumable == null || !playerRegistry.containsId(sessionId) || !resumable.hold()) return false;
+        park(sessionId);
+        resumable.expireWith(graceTimer.schedule(() -> {
+            if (resumable.expire()) onExpired.run();
+        }, resumeSettings.getGracePeriodMs(), TimeUnit.MILLISECONDS));
+        log.info("Holding session {} for {} ms", sessionId, resumeSettings.getGracePeriodMs());
+        return true;
     }
 
     /**
-     * Broadcasts a message to all players on a specific map.
+     * Resumes a session on a new connection.
+     * <p>
+     * The messages written after the client's sequence number are sent again, preceded by a
+     * {@code RESUMED} message with a new resume token, and followed by the messages queued while
+     * the session was held. A connection of the session that is still open, because the server has
+     * not noticed it dropped yet, is closed. If the missed messages are no longer in the replay
+     * buffer or the client switched protocols, the queued messages are dropped and the client
+     * needs a resync instead.
      *
-     * @param payload The message payload.
-     * @param mapId   The target map ID.
+     * @param connection The new connection.
+     * @param token      The resume token presented by the client.
+     * @param seq        The number of messages the client received on the session.
+     * @return The resumed session, or null if the token is unknown or the grace period ran out.
      */
-    void broadcastToMap(String payload, String mapId) {
-        final TextMessage message = new TextMessage(payload);
-        sessions.values().stream().filter(WebSocketSession::isOpen).forEach(session -> {
-            final String currentMap = sessionToMap.get(session.getId());
-            if (currentMap == null || !currentMap.equals(mapId)) return;
+    public Resumption resume(ClientConnection connection, String token, long seq) {
+        final String sessionId = token != null ? resumeTokens.remove(token) : null;
+        final ResumableSession resumable = sessionId != null ? resumables.get(sessionId) : null;
+        if (resumable == null || !resumable.resume()) return null;
+        final ClientConnection previous = park(sessionId);
+        if (previous != null) {
             try {
-                session.sendMessage(message);
+                previous.close(CloseStatus.NORMAL);
             } catch (IOException e) {
-                log.error(e.getMessage());
-            } catch (IllegalStateException e) {
-                log.warn("Connection closed while broadcasting to {}: {}", session.getId(), e.getMessage());
-                removeSession(session.getId());
+                log.warn("Error closing replaced connection of session {}: {}", sessionId, e.getMessage());
             }
-        });
+        }
+        // replayed messages are encoded for the protocol of the previous connection
+        final boolean sameProtocol = previous == null
+                || WireProtocol.fromSubprotocol(previous.getAcceptedProtocol()) == WireProtocol.fromSubprotocol(connection.getAcceptedProtocol());
+        final List<WebSocketMessage<?>> missed = sameProtocol ? resumable.replay().since(seq) : null;
+        final long base = missed != null ? seq : resumable.replay().sequence();
+        final List<WebSocketMessage<?>> control = new ArrayList<>();
+        final WebSocketMessage<?> resumed = encodeControl(connection, "RESUMED",
+                new SessionResponse(sessionId, issueToken(sessionId, resumable), base, missed != null ? missed.size() : -1));
+        if (resumed != null) control.add(resumed);
+        if (missed != null) control.addAll(missed);
+        SessionWriter writer = writers.get(sessionId);
+        // without the writer, the messages of the grace period are gone as well
+        final boolean complete = writer != null && missed != null;
+        if (complete) {
+            writer.reattach(connection, control);
+        } else {
+            if (writer != null) writer.close();
+            writer = createWriter(sessionId, connection, resumable);
+            control.forEach(writer::enqueueControl);
+        }
+        attach(sessionId, connection, writer);
+        log.info("Resumed session {} on connection {}, replayed {} messages", sessionId, connection.getId(),
+                missed != null ? missed.size() : "no");
+        return new Resumption(sessionId, complete);
     }
 
     /**
-     * Broadcasts a message to all connected players regardless of their location.
+     * Releases the messages a client confirmed to have received from the replay buffer of its session.
+     *
+     * @param sessionId The session ID.
+     * @param seq       The number of messages the client received.
      */
-    void broadcastGlobalAnnouncement(String message) {
+    public void acknowledgeSequence(String sessionId, long seq) {
+        final ResumableSession resumable = resumables.get(sessionId);
+        if (resumable != null) resumable.replay().acknowledge(seq);
+    }
+
+    private SessionWriter createWriter(String sessionId, ClientConnection connection, ResumableSession resumable) {
+        // a writer that finds its connection closed only parks; the session is held or removed once the close is handled
+        return new SessionWriter(connection, outboundSettings, resumable != null ? resumable.replay() : null,
+                () -> writers.computeIfPresent(sessionId, (id, writer) -> writer.isClosed() ? null : writer));
+    }
+
+    private void attach(String sessionId, ClientConnection connection, SessionWriter writer) {
+        sessionIds.put(connection.getId(), sessionId);
+        writers.put(sessionId, writer);
+        sessions.put(sessionId, connection);
+    }
+
+    /**
+     * Disconnects a session from its connection, keeping everything that outlives the connection.
+     *
+     * @return The detached connection, or null.
+     */
+    private ClientConnection detach(String sessionId) {
+        final ClientConnection connection = sessions.remove(sessionId);
+        if (connection != null) sessionIds.remove(connection.getId());
+        final SessionWriter writer = writers.remove(sessionId);
+        if (writer != null) writer.close();
+        return connection;
+    }
+
+    /**
+     * Parks the writer of a session and puts a {@link HeldConnection} in place of its connection,
+     * so messages for the session are queued until it is resumed.
+     *
+     * @return The connection the session was served on, or null.
+     */
+    private ClientConnection park(String sessionId) {
+        final ClientConnection connection = sessions.get(sessionId);
+        if (connection == null) return null;
+        sessionIds.remove(connection.getId());
+        sessions.put(sessionId, connection instanceof HeldConnection ? connection : new HeldConnection(connection));
+        final SessionWriter writer = writers.get(sessionId);
+        if (writer != null) writer.park();
+        return connection;
+    }
+
+    private String issueToken(String sessionId, ResumableSession resumable) {
+        final byte[] bytes = new byte[24];
+        tokenRandom.nextBytes(bytes);
+        final String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        final String previous = resumable.rotateToken(token);
+        if (previous != null) resumeTokens.remove(previous);
+        resumeTokens.put(token, sessionId);
+        return token;
+    }
+
+    private void sendControl(ClientConnection connection, SessionWriter writer, String type, Object payload) {
+        final WebSocketMessage<?> message = encodeControl(connection, type, payload);
+        if (message != null) writer.enqueueControl(message);
+    }
+
+    private WebSocketMessage<?> encodeControl(ClientConnection connection, String type, Object payload) {
         try {
-            final String json = objectMapper.writeValueAsString(WebSocketResponse.of("GLOBAL_ANNOUNCEMENT", message));
-            final TextMessage textMessage = new TextMessage(json);
-            sessions.values().stream()
-                    .filter(WebSocketSession::isOpen)
-                    .forEach(session -> {
-                        try {
-                            session.sendMessage(textMessage);
-                        } catch (IOException e) {
-                            log.error("Error sending global announcement to {}: {}", session.getId(), e.getMessage());
-                        }
-                    });
+            final WireProtocol protocol = WireProtocol.fromSubprotocol(connection.getAcceptedProtocol());
+            return new OutboundMessage(type, payload).encode(protocol, objectMapper, binaryCodec);
         } catch (JsonProcessingException e) {
-            log.error("Error serializing global announcement: {}", e.getMessage());
+            log.error("Error serializing {} for {}: {}", type, connection.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sends the messages held for the current tick, each session's messages as one envelope.
+     * Does nothing unless {@code game.outbound.batch-per-tick} is enabled.
+     */
+    void flush() {
+        writers.forEach((sessionId, writer) -> {
+            if (dispatcher.owns(sessionId)) writer.flush();
+        });
+    }
+
+    /**
+     * Returns the outbound queue metrics of all sessions, the ones furthest behind first.
+     *
+     * @return The queue metrics.
+     */
+    public List<SessionQueueStats> getQueueStats() {
+        return writers.values().stream()
+                .map(SessionWriter::stats)
+                .sorted(Comparator.comparingInt(SessionQueueStats::depth).reversed())
+                .toList();
+    }
+
+    /**
+     * Broadcasts a message to all players on a specific map.
+     *
+     * @param payload The message payload.
+     * @param mapId   The target map ID.
+     */
+    void broadcastToMap(String payload, String mapId) {
+        broadcastToMap(new OutboundMessage(null, payload), mapId);
+    }
+
+    private void broadcastToMap(OutboundMessage message, String mapId) {
+        final Set<String> room = playerRegistry.getPlayerIdsOnMap(mapId);
+        if (room.isEmpty()) return;
+        for (String sessionId : room) {
+            if (!dispatcher.owns(sessionId)) continue;
+            final ClientConnection session = sessions.get(sessionId);
+            if (session != null && session.isOpen()) send(sessionId, session, message);
         }
     }
 
+    /**
+     * Broadcasts a message to all players in the game regardless of their location.
+     */
+    void broadcastGlobalAnnouncement(String message) {
+        final OutboundMessage announcement = new OutboundMessage("GLOBAL_ANNOUNCEMENT", message);
+        playerRegistry.forEachRoom((mapId, room) -> room.forEach(sessionId -> {
+            final ClientConnection session = dispatcher.owns(sessionId) ? sessions.get(sessionId) : null;
+            if (session != null && session.isOpen()) send(sessionId, session, announcement);
+        }));
+    }
+
     /**
      * Sends the Metro UI data to a client.
      */
@@ -207,58 +490,250 @@ public class NetworkService {
     }
 
     /**
-     * Sends the map viewport data to a client.
+     * Streams a chunk window to a client: first the chunks it does not hold yet, then the window
+     * itself, which lists the chunk IDs the client draws its viewport from.
      */
-    void sendMapData(String sessionId, MapViewportPayload payload) {
-        sendJson(sessionId, "SEND_MAP_DATA", payload);
+    void sendMapData(String sessionId, ChunkWindow window) {
+        final List<MapChunk> missing = chunkTracker.missing(sessionId, window);
+        if (!missing.isEmpty()) sendJson(sessionId, "MAP_CHUNKS", missing);
+        sendJson(sessionId, "MAP_VIEW", window);
     }
 
     /**
-     * Broadcasts the list of map objects to all players on a map.
+     * Records the chunks a client reported to hold and sends its current window again,
+     * so chunks it evicted or never received are streamed right away. Runs on the session's dispatch shard.
+     *
+     * @param sessionId The session ID of the client.
+     * @param hashes    The hashes of the chunks the client holds.
      */
-    void broadcastMapObjects(List<MapObject> objects, String mapId) {
-        try {
-            broadcastToMap(objectMapper.writeValueAsString(WebSocketResponse.of("SEND_MAP_OBJECTS", objects)), mapId);
-        } catch (JsonProcessingException e) {
-            log.error(e.getMessage());
+    public void reportChunks(String sessionId, Collection<Long> hashes) {
+        runOnShard(sessionId, "CHUNK_HAVE", () -> {
+            final ChunkWindow window = chunkTracker.report(sessionId, hashes);
+            if (window != null) sendMapData(sessionId, window);
+        });
+    }
+
+    /**
+     * Broadcasts the full list of map objects to all players on a map, each seeing only the objects in its
+     * area of interest. Used after bulk changes; single changes go through {@link #broadcastObjectChange}.
+     */
+    void broadcastMapObjects(List<MapObject> objects, String mapId, long version) {
+        latestObjects.put(mapId, new VersionedObjects(version, objects));
+        for (String recipient : playerRegistry.getPlayerIdsOnMap(mapId)) {
+            if (!dispatcher.owns(recipient)) continue;
+            final ClientConnection session = sessions.get(recipient);
+            final Player player = playerRegistry.getPlayer(recipient);
+            if (session == null || !session.isOpen() || player == null) continue;
+            send(recipient, session, objectsInView(AreaOfInterest.viewOf(player, mapId), version, objects));
         }
     }
 
     /**
-     * Sends the list of map objects to a specific client.
+     * Sends the map objects in the area of interest of a specific client.
      */
-    void sendMapObjects(String sessionId, List<MapObject> objects) {
-        sendJson(sessionId, "SEND_MAP_OBJECTS", objects);
+    void sendMapObjects(String sessionId, String mapId, long version, List<MapObject> objects) {
+        latestObjects.put(mapId, new VersionedObjects(version, objects));
+        final ClientConnection session = sessions.get(sessionId);
+        final Player player = playerRegistry.getPlayer(sessionId);
+        if (session == null || !session.isOpen() || player == null) {
+            log.warn("Cannot send message to session {}: Session not found or closed", sessionId);
+            return;
+        }
+        final AreaOfInterest.View view = AreaOfInterest.viewOf(player, mapId);
+        areaOfInterest.update(sessionId, view);
+        send(sessionId, session, objectsInView(view, version, objects));
     }
 
     /**
-     * Sends the list of NPCs to a client or broadcasts it to a map.
+     * Sends a single added, removed or changed object to the players on a map whose area of interest contains it.
+     * All recipients share one message.
+     *
+     * @param type    The kind of change.
+     * @param object  The object that changed.
+     * @param mapId   The map the object is on.
+     * @param version The version of the map objects after the change.
      */
-    void sendNpcs(String sessionId, String mapId, boolean isBroadcast, List<NpcDto> npcs) {
-        try {
-            final String json = objectMapper.writeValueAsString(WebSocketResponse.of("SEND_NPCS", npcs));
-            if (isBroadcast) {
-                broadcastToMap(json, mapId);
-            } else sendJson(sessionId, "SEND_NPCS", npcs);
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing NPCs: {}", e.getMessage());
+    void broadcastObjectChange(EventType type, MapObject object, String mapId, long version) {
+        latestObjects.computeIfPresent(mapId, (id, latest) ->
+                version > latest.version() ? new VersionedObjects(version, latest.objects()) : latest);
+        final MapObjectChangeResponse change = type == EventType.OBJECT_REMOVED
+                ? MapObjectChangeResponse.removed(mapId, version, object.getId())
+                : new MapObjectChangeResponse(mapId, version, object.getId(), object);
+        final OutboundMessage message = new OutboundMessage(type.name(), change);
+        for (String recipient : playerRegistry.getPlayerIdsOnMap(mapId)) {
+            if (!dispatcher.owns(recipient)) continue;
+            final ClientConnection session = sessions.get(recipient);
+            final Player player = playerRegistry.getPlayer(recipient);
+            if (session == null || !session.isOpen() || player == null) continue;
+            if (AreaOfInterest.viewOf(player, mapId).contains(object)) send(recipient, session, message);
+        }
+    }
+
+    /**
+     * Sends the full list of map objects in the client's area of interest again,
+     * for clients that lost track of the object changes. Runs on the session's dispatch shard.
+     *
+     * @param sessionId The session ID of the client.
+     */
+    public void resyncObjects(String sessionId) {
+        runOnShard(sessionId, "SYNC_OBJECTS", () -> {
+            final ClientConnection session = sessions.get(sessionId);
+            final Player player = playerRegistry.getPlayer(sessionId);
+            if (session == null || !session.isOpen() || player == null) return;
+            final VersionedObjects objects = latestObjects.get(player.getMapId());
+            if (objects != null) {
+                send(sessionId, session, objectsInView(AreaOfInterest.viewOf(player, player.getMapId()), objects.version(), objects.objects()));
+            }
+        });
+    }
+
+    /**
+     * Tells a client that its requests of a type are rejected for exceeding the rate limit.
+     *
+     * @param sessionId The session ID of the client.
+     * @param type      The rejected request type.
+     */
+    public void rejectRequest(String sessionId, String type) {
+        runOnShard(sessionId, "rejection notice", () -> sendError(sessionId, "Too many " + type + " requests, slow down."));
+    }
+
+    /**
+     * Runs work requested by a client on the dispatch shard owning its session, so its messages
+     * are ordered with the ones the game loop produces for the session.
+     */
+    private void runOnShard(String sessionId, String what, Runnable task) {
+        if (!dispatcher.submit(sessionId, task)) {
+            log.warn("Dropping {} of session {}: dispatch shard is full", what, sessionId);
+        }
+    }
+
+    private OutboundMessage objectsInView(AreaOfInterest.View view, long version, List<MapObject> objects) {
+        return frameCache.get("SEND_MAP_OBJECTS", view.mapId(), view, version, () -> view.filter(objects));
+    }
+
+    /**
+     * Records the NPC snapshot a client confirmed to have applied.
+     *
+     * @param sessionId The session ID of the client.
+     * @param mapId     The map of the snapshot.
+     * @param version   The version of the snapshot.
+     */
+    public void acknowledgeNpcs(String sessionId, String mapId, long version) {
+        if (mapId != null) npcDeltaTracker.acknowledge(sessionId, mapId, version);
+    }
+
+    /**
+     * Sends the NPCs of a map to a client or to every player on the map.
+     * <p>
+     * Every client only receives the NPCs in its area of interest. A single client always receives
+     * the full snapshot of its view. A broadcast sends each client the NPCs that entered, changed
+     * or left its view since its acknowledged snapshot, or the full snapshot of its view if it has
+     * none the history still knows. Clients sharing a baseline and a view share the same frame.
+     */
+    void sendNpcs(String sessionId, String mapId, boolean isBroadcast, List<NpcDto> npcs, long version) {
+        npcDeltaTracker.record(mapId, version, npcs);
+        if (!isBroadcast) {
+            final ClientConnection session = sessions.get(sessionId);
+            final Player player = playerRegistry.getPlayer(sessionId);
+            if (session == null || !session.isOpen() || player == null) {
+                log.warn("Cannot send message to session {}: Session not found or closed", sessionId);
+                return;
+            }
+            final AreaOfInterest.View view = AreaOfInterest.viewOf(player, mapId);
+            areaOfInterest.update(sessionId, view);
+            send(sessionId, session, npcsInView(view, version, npcs));
+            npcDeltaTracker.sent(sessionId, version, view);
+            return;
         }
+        final Map<DeltaKey, OutboundMessage> deltas = new HashMap<>();
+        for (String recipient : playerRegistry.getPlayerIdsOnMap(mapId)) {
+            if (!dispatcher.owns(recipient)) continue;
+            final ClientConnection session = sessions.get(recipient);
+            final Player player = playerRegistry.getPlayer(recipient);
+            if (session == null || !session.isOpen() || player == null) continue;
+            sendNpcView(recipient, session, AreaOfInterest.viewOf(player, mapId), version, npcs, deltas);
+        }
+    }
+
+    private void sendNpcView(String sessionId, ClientConnection session, AreaOfInterest.View view, long version, Collection<NpcDto> npcs,
+                             Map<DeltaKey, OutboundMessage> deltas) {
+        final NpcDeltaTracker.Baseline base = version == GameEvent.UNVERSIONED ? null
+                : npcDeltaTracker.baseline(sessionId, view.mapId());
+        final OutboundMessage message = base == null
+                ? npcsInView(view, version, npcs)
+                : deltas.computeIfAbsent(new DeltaKey(base, view), key -> npcDelta(key, version, npcs));
+        if (message == SKIP) return;
+        send(sessionId, session, message);
+        npcDeltaTracker.sent(sessionId, version, view);
+    }
+
+    private OutboundMessage npcsInView(AreaOfInterest.View view, long version, Collection<NpcDto> npcs) {
+        return frameCache.get("SEND_NPCS", view.mapId(), view, version,
+                () -> new NpcSnapshotResponse(view.mapId(), version, view.filter(npcs)));
+    }
+
+    private OutboundMessage npcDelta(DeltaKey key, long version, Collection<NpcDto> npcs) {
+        final NpcDeltaResponse delta = npcDeltaTracker.delta(key.view().mapId(), key.base(), version, key.view());
+        if (delta == null) return npcsInView(key.view(), version, npcs);
+        return delta.isEmpty() ? SKIP : new OutboundMessage("NPCS_DELTA", delta);
     }
 
     /**
      * Sends the player's updated position to the client.
+     * <p>
+     * When the player crosses into a new area of interest, the NPCs and map objects of the new
+     * area are pushed right away instead of waiting for the next change on the map.
      */
     void sendPosition(Player p) {
         sendJson(p.getId(), "SEND_PLAYER_POSITION", PlayerUpdatePayload.of(p));
+        final AreaOfInterest.View view = AreaOfInterest.viewOf(p, p.getMapId());
+        if (areaOfInterest.update(p.getId(), view)) refreshView(p.getId(), view);
+    }
+
+    /**
+     * Sends a resumed client the NPCs and map objects of its area of interest. NPCs are sent as
+     * changes since the snapshot the client acknowledged, if the history still has it.
+     */
+    void catchUp(Player p) {
+        final AreaOfInterest.View view = AreaOfInterest.viewOf(p, p.getMapId());
+        areaOfInterest.update(p.getId(), view);
+        refreshView(p.getId(), view);
+    }
+
+    private void refreshView(String sessionId, AreaOfInterest.View view) {
+        final ClientConnection session = sessions.get(sessionId);
+        if (session == null || !session.isOpen()) return;
+        final NpcDeltaTracker.Snapshot npcs = npcDeltaTracker.latest(view.mapId());
+        if (npcs != null) sendNpcView(sessionId, session, view, npcs.version(), npcs.npcs().values(), new HashMap<>());
+        final VersionedObjects objects = latestObjects.get(view.mapId());
+        if (objects != null) send(sessionId, session, objectsInView(view, objects.version(), objects.objects()));
     }
 
+    /**
+     * Broadcasts the players of a map, each recipient seeing only the players in its area of interest.
+     * Recipients whose set of visible players did not change share one frame per view; the others get
+     * the players that entered and left their view along with the list. A list with such changes
+     * replaces a waiting list, but is never replaced by a later one.
+     */
     void broadcastPlayers(List<OtherPlayerDto> players, String mapId) {
-        try {
-            broadcastToMap(objectMapper.writeValueAsString(
-                    WebSocketResponse.of("BROADCAST_PLAYERS", players)
-            ), mapId);
-        } catch (JsonProcessingException e) {
-            log.error("Error broadcasting players: {}", e.getMessage());
+        final Map<AreaOfInterest.View, List<OtherPlayerDto>> visibleByView = new HashMap<>();
+        final Map<AreaOfInterest.View, OutboundMessage> steady = new HashMap<>();
+        for (String recipient : playerRegistry.getPlayerIdsOnMap(mapId)) {
+            if (!dispatcher.owns(recipient)) continue;
+            final ClientConnection session = sessions.get(recipient);
+            final Player player = playerRegistry.getPlayer(recipient);
+            if (session == null || !session.isOpen() || player == null) continue;
+            final AreaOfInterest.View view = AreaOfInterest.viewOf(player, mapId);
+            final List<OtherPlayerDto> visible = visibleByView.computeIfAbsent(view, v -> v.filter(players));
+            final AreaOfInterest.Visibility visibility = areaOfInterest.updateVisiblePlayers(recipient, visible);
+            if (visibility.isUnchanged()) {
+                send(recipient, session, steady.computeIfAbsent(view,
+                        v -> new OutboundMessage("BROADCAST_PLAYERS", PlayersInViewResponse.of(visible))));
+            } else {
+                // the visible set is already committed, so a later list must not swallow the change
+                send(recipient, session, new OutboundMessage("BROADCAST_PLAYERS",
+                        new PlayersInViewResponse(visible, visibility.entered(), visibility.left())), false);
+            }
         }
     }
 
@@ -284,22 +759,67 @@ public class NetworkService {
     }
 
     /**
-     * Helper method to serialize and send a message to a specific session.
+     * Helper method to send a message to a specific session.
      */
     private void sendJson(String sessionId, String type, Object payload) {
-        final WebSocketSession session = sessions.get(sessionId);
+        final ClientConnection session = sessions.get(sessionId);
         if (session != null && session.isOpen()) {
-            try {
-                final String json = objectMapper.writeValueAsString(WebSocketResponse.of(type, payload));
-                session.sendMessage(new TextMessage(json));
-            } catch (IOException e) {
-                log.error("Error sending message to {}: {}", sessionId, e.getMessage());
-            } catch (IllegalStateException e) {
-                log.warn("Connection closed while sending message to {}: {}", sessionId, e.getMessage());
-                removeSession(sessionId);
-            }
+            send(sessionId, session, new OutboundMessage(type, payload));
         } else {
             log.warn("Cannot send message to session {}: Session not found or closed", sessionId);
         }
     }
+
+    /**
+     * Encodes a message in the protocol of the session's connection and hands it over to the session's writer.
+     *
+     * @param sessionId The target session.
+     * @param session   The connection the session is served on.
+     * @param message   The message to send; its type is used to coalesce superseded messages.
+     */
+    private void send(String sessionId, ClientConnection session, OutboundMessage message) {
+        send(sessionId, session, message, true);
+    }
+
+    /**
+     * Encodes a message in the protocol of the session's connection and hands it over to the session's writer.
+     *
+     * @param sessionId   The target session.
+     * @param session     The connection the session is served on.
+     * @param message     The message to send; its type is used to coalesce superseded messages.
+     * @param replaceable Whether a later message of the same type may replace the message while it waits.
+     */
+    private void send(String sessionId, ClientConnection session, OutboundMessage message, boolean replaceable) {
+        final SessionWriter writer = writers.get(sessionId);
+        if (writer == null) return;
+        final String type = message.getType();
+        try {
+            final WireProtocol protocol = WireProtocol.fromSubprotocol(session.getAcceptedProtocol());
+            final WebSocketMessage<?> encoded = message.encode(protocol, objectMapper, binaryCodec);
+            final String coalesceKey = type != null ? COALESCE_KEYS.get(type) : null;
+            if (replaceable) writer.enqueue(encoded, coalesceKey, type == null);
+            else writer.enqueueUnreplaceable(encoded, coalesceKey);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing {} for {}: {}", type, sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * The outcome of resuming a session.
+     *
+     * @param sessionId The ID of the resumed session.
+     * @param complete  Whether the client got every message it missed, so it needs no resync.
+     */
+    public record Resumption(String sessionId, boolean complete) {
+    }
+
+    /**
+     * The latest map objects of a map, kept to push them to players entering a new area of interest.
+     * The list is the live object list of the map; object changes only raise the version.
+     */
+    private record VersionedObjects(long version, List<MapObject> objects) {
+    }
+
+    private record DeltaKey(NpcDeltaTracker.Baseline base, AreaOfInterest.View view) {
+    }
 }
@@ -0,0 +1,180 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.dto.NpcDeltaResponse;
+import cz.matysekxx.aftermathserver.dto.NpcDto;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the recent NPC snapshots of each map and the snapshot each client acknowledged.
+ * <p>
+ * Clients only see the NPCs of their {@link AreaOfInterest.View}, so a client's state is a
+ * snapshot version seen through a view. A client that acknowledged a snapshot still in the
+ * history receives only the NPCs that entered, changed or left its view since then. A client
+ * without an acknowledgement, or whose acknowledged snapshot has already fallen out of the
+ * history, receives the full snapshot of its view again.
+ *
+ * @author Matysekxx
+ */
+class NpcDeltaTracker {
+    /**
+     * Number of snapshot versions kept per map; versions only advance when the NPCs change.
+     */
+    static final int HISTORY_SIZE = 64;
+    /**
+     * Number of sent versions remembered per client until they are acknowledged.
+     */
+    static final int UNACKNOWLEDGED_LIMIT = 16;
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+    private final Map<String, ClientState> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Records a snapshot of a map; recording a version that is already known is a no-op.
+     */
+    void record(String mapId, long version, List<NpcDto> npcs) {
+        if (version == GameEvent.UNVERSIONED || mapId == null) return;
+        histories.computeIfAbsent(mapId, id -> new History()).record(version, npcs);
+    }
+
+    /**
+     * @return The newest recorded snapshot of a map, or null if there is none.
+     */
+    Snapshot latest(String mapId) {
+        final History history = histories.get(mapId);
+        return history != null ? history.latest() : null;
+    }
+
+    /**
+     * Remembers the view a snapshot version was sent through, for when the client acknowledges it.
+     */
+    void sent(String sessionId, long version, AreaOfInterest.View view) {
+        if (version == GameEvent.UNVERSIONED) return;
+        clients.computeIfAbsent(sessionId, id -> new ClientState()).sent(new Baseline(version, view));
+    }
+
+    /**
+     * Stores the snapshot a client confirmed to have applied. A client that lost track of its
+     * snapshots acknowledges {@link GameEvent#UNVERSIONED} to get the full snapshot again.
+     */
+    void acknowledge(String sessionId, String mapId, long version) {
+        final ClientState client = clients.get(sessionId);
+        if (client != null) client.acknowledge(mapId, version);
+    }
+
+    /**
+     * @return The snapshot acknowledged by the client on the given map, or null.
+     */
+    Baseline baseline(String sessionId, String mapId) {
+        final ClientState client = clients.get(sessionId);
+        return client != null ? client.baseline(mapId) : null;
+    }
+
+    /**
+     * Computes the changes between a snapshot seen through one view and a newer snapshot seen through another.
+     *
+     * @return The delta, or null if either snapshot is no longer in the history.
+     */
+    NpcDeltaResponse delta(String mapId, Baseline base, long version, AreaOfInterest.View view) {
+        final History history = histories.get(mapId);
+        if (history == null) return null;
+        final Snapshot from = history.get(base.version());
+        final Snapshot to = history.get(version);
+        if (from == null || to == null) return null;
+        final List<NpcDto> entered = new ArrayList<>();
+        final List<NpcDto> changed = new ArrayList<>();
+        final List<String> left = new ArrayList<>();
+        for (NpcDto npc : to.npcs().values()) {
+            if (!view.contains(npc)) continue;
+            final NpcDto previous = from.npcs().get(npc.getId());
+            if (previous == null || !base.view().contains(previous)) entered.add(npc);
+            else if (!Objects.equals(previous, npc)) changed.add(npc);
+        }
+        for (NpcDto previous : from.npcs().values()) {
+            if (!base.view().contains(previous)) continue;
+            final NpcDto npc = to.npcs().get(previous.getId());
+            if (npc == null || !view.contains(npc)) left.add(previous.getId());
+        }
+        return new NpcDeltaResponse(mapId, base.version(), version, entered, changed, left);
+    }
+
+    void forget(String sessionId) {
+        clients.remove(sessionId);
+    }
+
+    /**
+     * A snapshot version as seen by a client through a view.
+     */
+    record Baseline(long version, AreaOfInterest.View view) {
+    }
+
+    record Snapshot(long version, Map<String, NpcDto> npcs) {
+    }
+
+    /**
+     * Bounded history of the snapshots of one map, the newest last.
+     */
+    private static final class History {
+        private final Deque<Snapshot> snapshots = new ArrayDeque<>();
+
+        synchronized void record(long version, List<NpcDto> npcs) {
+            if (!snapshots.isEmpty() && snapshots.peekLast().version() >= version) return;
+            final Map<String, NpcDto> byId = new LinkedHashMap<>();
+            for (NpcDto npc : npcs) byId.put(npc.getId(), npc);
+            snapshots.addLast(new Snapshot(version, byId));
+            if (snapshots.size() > HISTORY_SIZE) snapshots.pollFirst();
+        }
+
+        synchronized Snapshot get(long version) {
+            for (Snapshot snapshot : snapshots) {
+                if (snapshot.version() == version) return snapshot;
+            }
+            return null;
+        }
+
+        synchronized Snapshot latest() {
+            return snapshots.peekLast();
+        }
+    }
+
+    /**
+     * The versions sent to one client and the one it acknowledged last.
+     */
+    private static final class ClientState {
+        private final Deque<Baseline> unacknowledged = new ArrayDeque<>();
+        private Baseline acknowledged;
+
+        synchronized void sent(Baseline baseline) {
+            unacknowledged.removeIf(sent -> sent.version() == baseline.version() && sent.view().mapId().equals(baseline.view().mapId()));
+            unacknowledged.addLast(baseline);
+            if (unacknowledged.size() > UNACKNOWLEDGED_LIMIT) unacknowledged.pollFirst();
+        }
+
+        synchronized void acknowledge(String mapId, long version) {
+            if (version == GameEvent.UNVERSIONED) {
+                acknowledged = null;
+                return;
+            }
+            for (Baseline sent : unacknowledged) {
+                if (sent.version() == version && sent.view().mapId().equals(mapId)) {
+                    if (acknowledged == null || !acknowledged.view().mapId().equals(mapId) || acknowledged.version() < version) {
+                        acknowledged = sent;
+                    }
+                    unacknowledged.removeIf(older -> older.view().mapId().equals(mapId) && older.version() <= version);
+                    return;
+                }
+            }
+        }
+
+        synchronized Baseline baseline(String mapId) {
+            return acknowledged != null && acknowledged.view().mapId().equals(mapId) ? acknowledged : null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.core.world.MapObject;
+import cz.matysekxx.aftermathserver.event.EventType;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles {@code OBJECT_ADDED} events by sending an object added to a map to the players who can see it.
+ *
+ * @author Matysekxx
+ */
+@Component
+public class ObjectAddedEventHandler extends GameEventHandler {
+
+    public ObjectAddedEventHandler(@Lazy NetworkService networkService) {
+        super(networkService);
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.OBJECT_ADDED;
+    }
+
+    @Override
+    public void handleEvent(GameEvent event) {
+        if (event.payload() instanceof MapObject object) {
+            networkService.broadcastObjectChange(getType(), object, event.mapId(), event.version());
+        }
+    }
+}
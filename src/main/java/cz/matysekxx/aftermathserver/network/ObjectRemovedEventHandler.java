@@ -0,0 +1,32 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.core.world.MapObject;
+import cz.matysekxx.aftermathserver.event.EventType;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles {@code OBJECT_REMOVED} events by sending an object removed from a map to the players who can see it.
+ *
+ * @author Matysekxx
+ */
+@Component
+public class ObjectRemovedEventHandler extends GameEventHandler {
+
+    public ObjectRemovedEventHandler(@Lazy NetworkService networkService) {
+        super(networkService);
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.OBJECT_REMOVED;
+    }
+
+    @Override
+    public void handleEvent(GameEvent event) {
+        if (event.payload() instanceof MapObject object) {
+            networkService.broadcastObjectChange(getType(), object, event.mapId(), event.version());
+        }
+    }
+}
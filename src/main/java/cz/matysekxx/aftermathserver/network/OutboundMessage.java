@@ -0,0 +1,64 @@
+package cz.matysekxx.aftermathserver.network;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.matysekxx.aftermathserver.dto.WebSocketResponse;
+import cz.matysekxx.aftermathserver.network.protocol.BinaryCodec;
+import cz.matysekxx.aftermathserver.network.protocol.WireProtocol;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * An outgoing message that is encoded at most once per wire protocol.
+ * <p>
+ * A message sent to many sessions is encoded on the first send in each protocol and the
+ * encoding is reused for the rest. Two threads may race to encode the same message; both
+ * produce equal frames, so the race is benign.
+ *
+ * @author Matysekxx
+ */
+final class OutboundMessage {
+    private final String type;
+    private final Object payload;
+    private volatile TextMessage text;
+    private volatile byte[] binary;
+
+    /**
+     * @param type    The message type, or null for plain text sent without an envelope.
+     * @param payload The payload of the message.
+     */
+    OutboundMessage(String type, Object payload) {
+        this.type = type;
+        this.payload = payload;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the frame of this message in the given protocol.
+     *
+     * @param protocol     The protocol of the recipient.
+     * @param objectMapper The mapper of the JSON protocol.
+     * @param binaryCodec  The codec of the binary protocol.
+     * @return The frame to send.
+     * @throws JsonProcessingException if the payload cannot be serialized.
+     */
+    WebSocketMessage<?> encode(WireProtocol protocol, ObjectMapper objectMapper, BinaryCodec binaryCodec) throws JsonProcessingException {
+        if (protocol == WireProtocol.BINARY) {
+            byte[] bytes = binary;
+            if (bytes == null) binary = bytes = binaryCodec.encode(type, payload);
+            // the buffer of a binary message is consumed by sending, so every session gets its own wrapper
+            return new BinaryMessage(bytes);
+        }
+        TextMessage message = text;
+        if (message == null) {
+            text = message = type == null
+                    ? new TextMessage(String.valueOf(payload))
+                    : new TextMessage(objectMapper.writeValueAsBytes(WebSocketResponse.of(type, payload)));
+        }
+        return message;
+    }
+}
@@ -0,0 +1,17 @@
+package cz.matysekxx.aftermathserver.network;
+
+/**
+ * Strategy applied by a {@link SessionWriter} when the outbound queue of a session is full.
+ *
+ * @author Matysekxx
+ */
+public enum OverflowPolicy {
+    /**
+     * Discards the oldest queued message to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Closes the connection of a client that cannot keep up.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,83 @@
+package cz.matysekxx.aftermathserver.network;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded history of the messages written to a session, numbered by sequence.
+ * <p>
+ * Every message written to the socket gets the next sequence number, counting from 1; the elements
+ * of an envelope are numbered one by one. A client counts the messages it receives the same way, so
+ * after a reconnect the messages it missed are the ones numbered above its count. Messages the client
+ * acknowledged and messages beyond the capacity are released.
+ *
+ * @author Matysekxx
+ */
+final class ReplayBuffer {
+    private final int capacity;
+    private final Deque<WebSocketMessage<?>> messages = new ArrayDeque<>();
+    private long sequence;
+
+    ReplayBuffer(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Records a message about to be written.
+     *
+     * @param message The message; the payload of a binary message is not consumed.
+     * @return The sequence number of the message.
+     */
+    synchronized long record(WebSocketMessage<?> message) {
+        sequence++;
+        if (capacity == 0) return sequence;
+        messages.addLast(copyOf(message));
+        if (messages.size() > capacity) messages.pollFirst();
+        return sequence;
+    }
+
+    /**
+     * Releases the messages up to the given sequence number, which the client confirmed to hold.
+     */
+    synchronized void acknowledge(long seq) {
+        final long released = Math.min(seq, sequence) - first() + 1;
+        for (long i = 0; i < released; i++) messages.pollFirst();
+    }
+
+    /**
+     * Returns the messages numbered above the given sequence number.
+     *
+     * @param seq The sequence number of the last message the client received.
+     * @return Copies of the missed messages, oldest first, or null if some of them are no longer kept.
+     */
+    synchronized List<WebSocketMessage<?>> since(long seq) {
+        if (seq < 0 || seq > sequence || seq + 1 < first()) return null;
+        final List<WebSocketMessage<?>> missed = new ArrayList<>((int) (sequence - seq));
+        long current = first();
+        for (WebSocketMessage<?> message : messages) {
+            if (current++ > seq) missed.add(copyOf(message));
+        }
+        return missed;
+    }
+
+    /**
+     * @return The sequence number of the newest message.
+     */
+    synchronized long sequence() {
+        return sequence;
+    }
+
+    private long first() {
+        return sequence - messages.size() + 1;
+    }
+
+    private static WebSocketMessage<?> copyOf(WebSocketMessage<?> message) {
+        // the buffer of a binary message is consumed by sending, so every write gets its own view
+        return message instanceof BinaryMessage binary ? new BinaryMessage(binary.getPayload().duplicate()) : message;
+    }
+}
@@ -0,0 +1,99 @@
+package cz.matysekxx.aftermathserver.network;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * The part of a session that outlives its connection: the replay buffer, the current resume token
+ * and, while the connection is lost, the timer ending the grace period.
+ *
+ * @author Matysekxx
+ */
+final class ResumableSession {
+    private final ReplayBuffer replay;
+    private String token;
+    private ScheduledFuture<?> expiry;
+    private boolean held;
+    private boolean expired;
+
+    ResumableSession(ReplayBuffer replay) {
+        this.replay = replay;
+    }
+
+    ReplayBuffer replay() {
+        return replay;
+    }
+
+    /**
+     * Replaces the resume token.
+     *
+     * @return The previous token, or null.
+     */
+    synchronized String rotateToken(String newToken) {
+        final String previous = token;
+        token = newToken;
+        return previous;
+    }
+
+    synchronized String token() {
+        return token;
+    }
+
+    /**
+     * Starts the grace period of a lost connection. The timer ending it is set afterwards
+     * with {@link #expireWith}; until then the session counts as held already.
+     *
+     * @return {@code false} if the session already expired.
+     */
+    synchronized boolean hold() {
+        if (expired) return false;
+        held = true;
+        return true;
+    }
+
+    /**
+     * Sets the timer ending the grace period, or cancels it if the session was resumed meanwhile.
+     */
+    synchronized void expireWith(ScheduledFuture<?> timer) {
+        if (held) expiry = timer;
+        else timer.cancel(false);
+    }
+
+    /**
+     * Ends the grace period because a client resumed the session.
+     *
+     * @return {@code false} if the grace period already expired.
+     */
+    synchronized boolean resume() {
+        if (expired) return false;
+        held = false;
+        cancelExpiry();
+        return true;
+    }
+
+    /**
+     * Ends the grace period because it ran out.
+     *
+     * @return {@code false} if the session was resumed in the meantime.
+     */
+    synchronized boolean expire() {
+        if (!held) return false;
+        held = false;
+        expired = true;
+        expiry = null;
+        return true;
+    }
+
+    /**
+     * Stops the grace period timer of a session that is being removed.
+     */
+    synchronized void discard() {
+        held = false;
+        expired = true;
+        cancelExpiry();
+    }
+
+    private void cancelExpiry() {
+        if (expiry != null) expiry.cancel(false);
+        expiry = null;
+    }
+}
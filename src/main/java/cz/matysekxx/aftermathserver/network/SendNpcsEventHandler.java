@@ -28,7 +28,7 @@ public class SendNpcsEventHandler extends GameEventHandler {
     public void handleEvent(GameEvent event) {
         if (event.payload() instanceof List<?> list) {
             @SuppressWarnings("unchecked") final List<NpcDto> npcs = (List<NpcDto>) list;
-            networkService.sendNpcs(event.targetSessionId(), event.mapId(), event.isBroadcast(), npcs);
+            networkService.sendNpcs(event.targetSessionId(), event.mapId(), event.isBroadcast(), npcs, event.version());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.event.EventType;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles {@code SESSION_RESUMED} events by sending a resumed client what changed in its area of interest.
+ *
+ * @author Matysekxx
+ */
+@Component
+public class SessionResumedEventHandler extends GameEventHandler {
+
+    public SessionResumedEventHandler(@Lazy NetworkService networkService) {
+        super(networkService);
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.SESSION_RESUMED;
+    }
+
+    @Override
+    public void handleEvent(GameEvent event) {
+        if (event.payload() instanceof Player player) networkService.catchUp(player);
+    }
+}
@@ -0,0 +1,415 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.config.OutboundSettings;
+import cz.matysekxx.aftermathserver.dto.SessionQueueStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes outgoing messages of a single session on its own virtual thread.
+ * <p>
+ * Writers are always virtual threads, whatever {@code game.virtual-threads} says: a writer spends
+ * nearly all its life waiting for messages or for the socket, so a platform thread per connection
+ * would cap the number of connections long before the game does.
+ * <p>
+ * The dispatching thread only enqueues messages, so a slow or stalled socket blocks
+ * nothing but its own writer. The queue is bounded: when it is full, the oldest message
+ * is dropped or the session is disconnected, depending on the {@link OverflowPolicy}.
+ * Messages carrying full state (stats, NPC lists, ...) are enqueued with a coalescing key;
+ * a newer message with the same key replaces the waiting one in place instead of queueing
+ * behind it, so a lagging client skips straight to the latest state.
+ * <p>
+ * With {@code game.outbound.batch-per-tick} enabled, queued messages are held until {@link #flush()}
+ * is called at the end of the tick and then written as one {@link Envelope}, so a session gets a
+ * single frame per tick however many messages the tick produced for it.
+ * <p>
+ * Every message is recorded in the session's {@link ReplayBuffer} just before it is written, except
+ * control messages, which describe the connection itself or are being replayed.
+ * <p>
+ * A writer that finds its connection closed parks instead of closing: it stops writing but keeps
+ * queueing, with coalescing and dropping the oldest message when full, so nothing produced for a
+ * held session is lost before the client resumes and the writer is {@link #reattach reattached}.
+ *
+ * @author Matysekxx
+ */
+@Slf4j
+class SessionWriter {
+    /**
+     * How long parking waits for the writer thread to finish the message it is writing.
+     */
+    private static final long PARK_TIMEOUT_MS = 1000;
+    private volatile ClientConnection session;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Runnable onClosed;
+    private final boolean batched;
+    private final ReplayBuffer replay;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Deque<Pending> outbox = new ArrayDeque<>();
+    private final Map<String, Pending> pendingByKey = new HashMap<>();
+    private volatile Thread thread;
+    private volatile boolean closed;
+    private boolean parked;
+    private boolean flushRequested;
+    private int maxDepth;
+    private long sent;
+    private long coalesced;
+    private long dropped;
+
+    /**
+     * Creates the writer and starts its thread.
+     *
+     * @param session  The session to write to.
+     * @param settings The queue capacity and overflow policy.
+     * @param onClosed Callback invoked when the connection is dropped for falling behind.
+     */
+    SessionWriter(ClientConnection session, OutboundSettings settings, Runnable onClosed) {
+        this(session, settings, null, onClosed);
+    }
+
+    /**
+     * Creates the writer and starts its thread.
+     *
+     * @param session  The session to write to.
+     * @param settings The queue capacity and overflow policy.
+     * @param replay   The buffer written messages are recorded in, or null.
+     * @param onClosed Callback invoked when the connection is dropped for falling behind.
+     */
+    SessionWriter(ClientConnection session, OutboundSettings settings, ReplayBuffer replay, Runnable onClosed) {
+        this.session = session;
+        this.replay = replay;
+        this.capacity = Math.max(1, settings.getQueueCapacity());
+        this.overflowPolicy = settings.getOverflowPolicy();
+        this.onClosed = onClosed;
+        this.batched = settings.isBatchPerTick();
+        // the thread checks under the lock that it is the current writer thread
+        lock.lock();
+        try {
+            this.thread = startThread();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Thread startThread() {
+        return Thread.ofVirtual().name("ws-writer-" + session.getId()).start(this::writeLoop);
+    }
+
+    /**
+     * Queues a message for sending.
+     *
+     * @param message     The message to send.
+     * @param coalesceKey Key of messages superseding each other, or null if the message must always be delivered.
+     */
+    void enqueue(WebSocketMessage<?> message, String coalesceKey) {
+        enqueue(message, coalesceKey, false);
+    }
+
+    /**
+     * Queues a message for sending.
+     *
+     * @param message     The message to send.
+     * @param coalesceKey Key of messages superseding each other, or null if the message must always be delivered.
+     * @param plainText   Whether the message is plain text rather than JSON, which matters when it is batched.
+     */
+    void enqueue(WebSocketMessage<?> message, String coalesceKey, boolean plainText) {
+        enqueue(message, coalesceKey, plainText, true, true);
+    }
+
+    /**
+     * Queues a message that supersedes the waiting message with the same coalescing key but
+     * must itself be delivered, because it carries a change the newer messages do not repeat.
+     * Later messages with the key queue behind it.
+     *
+     * @param message     The message to send.
+     * @param coalesceKey Key of the messages the message supersedes.
+     */
+    void enqueueUnreplaceable(WebSocketMessage<?> message, String coalesceKey) {
+        enqueue(message, coalesceKey, false, true, false);
+    }
+
+    /**
+     * Queues a control message, which is never coalesced nor recorded for replay.
+     *
+     * @param message The message to send.
+     */
+    void enqueueControl(WebSocketMessage<?> message) {
+        enqueue(message, null, false, false, true);
+    }
+
+    private void enqueue(WebSocketMessage<?> message, String coalesceKey, boolean plainText, boolean recorded,
+                         boolean replaceable) {
+        if (closed) return;
+        boolean overflow = false;
+        lock.lock();
+        try {
+            final Pending waiting = coalesceKey != null ? pendingByKey.get(coalesceKey) : null;
+            if (waiting != null) {
+                waiting.message = message;
+                coalesced++;
+                if (!replaceable) {
+                    pendingByKey.remove(coalesceKey);
+                    waiting.coalesceKey = null;
+                }
+                return;
+            }
+            if (outbox.size() >= capacity) {
+                // a parked writer has no connection left to drop
+                if (overflowPolicy == OverflowPolicy.DISCONNECT && !parked) {
+                    overflow = true;
+                } else {
+                    forget(outbox.pollFirst());
+                    dropped++;
+                }
+            }
+            if (!overflow) {
+                final Pending pending = new Pending(message, replaceable ? coalesceKey : null, plainText, recorded);
+                outbox.addLast(pending);
+                if (pending.coalesceKey != null) pendingByKey.put(coalesceKey, pending);
+                maxDepth = Math.max(maxDepth, outbox.size());
+                if (!batched) notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (overflow) disconnect();
+    }
+
+    /**
+     * Releases the messages queued during the tick. Does nothing unless messages are batched per tick.
+     */
+    void flush() {
+        if (!batched) return;
+        lock.lock();
+        try {
+            if (!outbox.isEmpty()) {
+                flushRequested = true;
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the writer and discards unsent messages.
+     */
+    void close() {
+        closed = true;
+        thread.interrupt();
+        lock.lock();
+        try {
+            outbox.clear();
+            pendingByKey.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops writing while the session has no connection; messages keep being queued.
+     * Waits a while for the writer thread to finish the message it is writing, so that
+     * everything written until now is in the replay buffer.
+     */
+    void park() {
+        final Thread writerThread;
+        lock.lock();
+        try {
+            if (closed) return;
+            parked = true;
+            writerThread = thread;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (writerThread == Thread.currentThread()) return;
+        try {
+            writerThread.join(PARK_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Moves a parked writer to a new connection of its session and resumes writing.
+     * The control messages are written first, followed by everything queued while parked.
+     *
+     * @param connection The new connection.
+     * @param control    Messages to write ahead of the queue; they are not recorded for replay.
+     */
+    void reattach(ClientConnection connection, List<WebSocketMessage<?>> control) {
+        lock.lock();
+        try {
+            if (closed) return;
+            for (int i = control.size() - 1; i >= 0; i--) outbox.addFirst(new Pending(control.get(i), null, false, false));
+            maxDepth = Math.max(maxDepth, outbox.size());
+            session = connection;
+            parked = false;
+            if (batched && !outbox.isEmpty()) flushRequested = true;
+            thread = startThread();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The current queue metrics of the session.
+     */
+    SessionQueueStats stats() {
+        lock.lock();
+        try {
+            return new SessionQueueStats(session.getId(), outbox.size(), maxDepth, sent, coalesced, dropped);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void disconnect() {
+        log.warn("Disconnecting session {}: outbound queue exceeded {} messages", session.getId(), capacity);
+        close();
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.error("Error closing session {}: {}", session.getId(), e.getMessage());
+        }
+        onClosed.run();
+    }
+
+    private void forget(Pending pending) {
+        if (pending != null && pending.coalesceKey != null) pendingByKey.remove(pending.coalesceKey);
+    }
+
+    /**
+     * Waits for the next message or, when batching, for the next flush of the queued messages.
+     *
+     * @return The messages to write, or null if the writer was closed or parked.
+     */
+    private List<Pending> take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (outbox.isEmpty() || (batched && !flushRequested)) {
+                if (closed || parked) return null;
+                notEmpty.await();
+            }
+            if (closed || parked || Thread.currentThread() != thread) return null;
+            final List<Pending> taken;
+            if (batched) {
+                taken = new ArrayList<>(outbox);
+                outbox.clear();
+                pendingByKey.clear();
+                flushRequested = false;
+            } else {
+                final Pending pending = outbox.pollFirst();
+                forget(pending);
+                taken = List.of(pending);
+            }
+            sent += taken.size();
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static WebSocketMessage<?> envelope(List<Pending> batch) {
+        if (batch.getFirst().message instanceof BinaryMessage) {
+            final List<ByteBuffer> frames = new ArrayList<>(batch.size());
+            for (Pending pending : batch) frames.add(((BinaryMessage) pending.message).getPayload());
+            return Envelope.binary(frames);
+        }
+        final List<String> elements = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            final String text = ((TextMessage) pending.message).getPayload();
+            elements.add(pending.plainText ? Envelope.quote(text) : text);
+        }
+        return Envelope.json(elements);
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            try {
+                final List<Pending> batch = take();
+                if (batch == null) break;
+                if (!session.isOpen()) {
+                    requeue(batch);
+                    break;
+                }
+                if (replay != null) {
+                    for (Pending pending : batch) {
+                        if (pending.recorded) replay.record(pending.message);
+                    }
+                }
+                session.sendMessage(batch.size() == 1 ? batch.getFirst().message : envelope(batch));
+            } catch (InterruptedException e) {
+                break;
+            } catch (IOException e) {
+                log.error("Error sending message to {}: {}", session.getId(), e.getMessage());
+            } catch (IllegalStateException e) {
+                // the batch is already recorded, so a resuming client gets it replayed
+                log.warn("Connection closed while sending message to {}: {}", session.getId(), e.getMessage());
+                if (Thread.currentThread() == thread) park();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Puts a batch that could not be written back at the head of the queue and parks the writer.
+     * Coalescable messages superseded while the batch was out are not put back.
+     *
+     * @param batch The messages taken from the queue.
+     */
+    private void requeue(List<Pending> batch) {
+        lock.lock();
+        try {
+            if (closed || Thread.currentThread() != thread) return;
+            parked = true;
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                final Pending pending = batch.get(i);
+                if (pending.coalesceKey != null) {
+                    if (pendingByKey.containsKey(pending.coalesceKey)) continue;
+                    pendingByKey.put(pending.coalesceKey, pending);
+                }
+                outbox.addFirst(pending);
+                sent--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A queued message; the message of a coalescable entry is replaced by newer ones.
+     */
+    private static final class Pending {
+        private String coalesceKey;
+        private final boolean plainText;
+        private final boolean recorded;
+        private WebSocketMessage<?> message;
+
+        private Pending(WebSocketMessage<?> message, String coalesceKey, boolean plainText, boolean recorded) {
+            this.message = message;
+            this.coalesceKey = coalesceKey;
+            this.plainText = plainText;
+            this.recorded = recorded;
+        }
+    }
+}
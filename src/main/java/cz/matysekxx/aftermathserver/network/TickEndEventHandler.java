@@ -0,0 +1,29 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.event.EventType;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles {@code TICK_END} events by flushing the messages every session received during the tick.
+ *
+ * @author Matysekxx
+ */
+@Component
+public class TickEndEventHandler extends GameEventHandler {
+
+    public TickEndEventHandler(@Lazy NetworkService networkService) {
+        super(networkService);
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.TICK_END;
+    }
+
+    @Override
+    public void handleEvent(GameEvent event) {
+        networkService.flush();
+    }
+}
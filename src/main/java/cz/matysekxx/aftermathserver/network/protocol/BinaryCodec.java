@@ -0,0 +1,275 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.matysekxx.aftermathserver.core.world.ChunkWindow;
+import cz.matysekxx.aftermathserver.core.world.MapChunk;
+import cz.matysekxx.aftermathserver.dto.BuyRequest;
+import cz.matysekxx.aftermathserver.dto.ChatRequest;
+import cz.matysekxx.aftermathserver.dto.ChunkHaveRequest;
+import cz.matysekxx.aftermathserver.dto.DropRequest;
+import cz.matysekxx.aftermathserver.dto.EquipRequest;
+import cz.matysekxx.aftermathserver.dto.LoginRequest;
+import cz.matysekxx.aftermathserver.dto.MoveRequest;
+import cz.matysekxx.aftermathserver.dto.NpcAckRequest;
+import cz.matysekxx.aftermathserver.dto.NpcDeltaResponse;
+import cz.matysekxx.aftermathserver.dto.NpcDto;
+import cz.matysekxx.aftermathserver.dto.NpcSnapshotResponse;
+import cz.matysekxx.aftermathserver.dto.OtherPlayerDto;
+import cz.matysekxx.aftermathserver.dto.PayDebtRequest;
+import cz.matysekxx.aftermathserver.dto.PlayerUpdatePayload;
+import cz.matysekxx.aftermathserver.dto.PlayersInViewResponse;
+import cz.matysekxx.aftermathserver.dto.SellRequest;
+import cz.matysekxx.aftermathserver.dto.SequenceAckRequest;
+import cz.matysekxx.aftermathserver.dto.StatsResponse;
+import cz.matysekxx.aftermathserver.dto.TravelRequest;
+import cz.matysekxx.aftermathserver.dto.UseRequest;
+import cz.matysekxx.aftermathserver.dto.WebSocketRequest;
+import cz.matysekxx.aftermathserver.util.Direction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoder and decoder of the binary wire protocol.
+ * <p>
+ * Every frame starts with the varint ID of the message ({@link MessageId}) or request ({@link RequestId}).
+ * The messages sent every tick (NPCs, stats, positions, players), map chunks and plain text messages
+ * have a compact layout of varints and length-prefixed strings; chunk tiles are sent as a per-chunk
+ * palette of symbols followed by one palette index per tile and chunk IDs as raw 64-bit hashes. The remaining, rarely sent UI messages
+ * carry the JSON of their payload after the ID.
+ * <p>
+ * Requests are decoded into the same {@link WebSocketRequest} with a typed payload DTO the
+ * {@link JsonRequestDecoder} produces, so actions do not depend on the protocol of the client.
+ *
+ * @author Matysekxx
+ */
+public class BinaryCodec {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final ObjectMapper objectMapper;
+
+    public BinaryCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Encodes an outbound message.
+     *
+     * @param type    The message type, or null for plain text.
+     * @param payload The payload of the message.
+     * @return The binary frame.
+     * @throws JsonProcessingException if a payload without a compact layout cannot be serialized.
+     */
+    public byte[] encode(String type, Object payload) throws JsonProcessingException {
+        final MessageId id = MessageId.fromType(type);
+        if (id == null) throw new IllegalArgumentException("Message type has no binary ID: " + type);
+        final BinaryWriter writer = new BinaryWriter();
+        writer.writeVarInt(id.getId());
+        switch (id) {
+            case MAP_CHUNKS -> writeChunks(writer, (List<?>) payload);
+            case MAP_VIEW -> writeWindow(writer, (ChunkWindow) payload);
+            case SEND_NPCS -> writeNpcSnapshot(writer, (NpcSnapshotResponse) payload);
+            case NPCS_DELTA -> writeNpcDelta(writer, (NpcDeltaResponse) payload);
+            case SEND_STATS -> writeStats(writer, (StatsResponse) payload);
+            case SEND_PLAYER_POSITION -> writePosition(writer, (PlayerUpdatePayload) payload);
+            case BROADCAST_PLAYERS -> writePlayers(writer, (PlayersInViewResponse) payload);
+            case SEND_MESSAGE, SEND_ERROR, GLOBAL_ANNOUNCEMENT, TEXT -> writer.writeString((String) payload);
+            default -> writer.writeBytes(objectMapper.writeValueAsBytes(payload));
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes an inbound request.
+     *
+     * @param buffer The binary frame.
+     * @return The request with its fields in the payload DTO of its type.
+     * @throws IllegalArgumentException if the frame is malformed or the request is unknown.
+     */
+    public WebSocketRequest decodeRequest(ByteBuffer buffer) {
+        final BinaryReader reader = new BinaryReader(buffer);
+        final RequestId id = RequestId.fromId(reader.readVarInt());
+        if (id == null) throw new IllegalArgumentException("Unknown request ID");
+        final Object payload = switch (id) {
+            case LOGIN -> readLogin(reader);
+            case MOVE -> new MoveRequest(readDirection(reader).name());
+            case CHAT -> new ChatRequest(reader.readString());
+            case USE -> {
+                final UseRequest use = new UseRequest();
+                use.setSlotIndex(reader.readVarInt());
+                yield use;
+            }
+            case EQUIP -> {
+                final EquipRequest equip = new EquipRequest();
+                equip.setSlotIndex(reader.readVarInt());
+                yield equip;
+            }
+            case DROP -> new DropRequest(reader.readVarInt(), reader.readVarInt());
+            case BUY -> {
+                final BuyRequest buy = new BuyRequest();
+                buy.setNpcId(reader.readString());
+                buy.setItemIndex(reader.readVarInt());
+                yield buy;
+            }
+            case SELL -> {
+                final SellRequest sell = new SellRequest();
+                sell.setNpcId(reader.readString());
+                sell.setSlotIndex(reader.readVarInt());
+                yield sell;
+            }
+            case TRAVEL -> {
+                final TravelRequest travel = new TravelRequest();
+                travel.setMapId(reader.readString());
+                travel.setLineId(reader.readString());
+                yield travel;
+            }
+            case PAY_DEBT -> new PayDebtRequest(reader.readVarInt());
+            case ACK_NPCS -> new NpcAckRequest(reader.readString(), reader.readVarLong());
+            case ACK_SEQ -> new SequenceAckRequest(reader.readVarLong());
+            case CHUNK_HAVE -> {
+                final int count = reader.readVarInt();
+                final List<String> ids = new ArrayList<>(Math.min(count, 1024));
+                for (int i = 0; i < count; i++) ids.add(MapChunk.toId(reader.readVarLong()));
+                yield new ChunkHaveRequest(ids);
+            }
+            default -> null;
+        };
+        return new WebSocketRequest(id.name(), payload);
+    }
+
+    private static LoginRequest readLogin(BinaryReader reader) {
+        final LoginRequest login = new LoginRequest();
+        login.setUsername(reader.readString());
+        login.setPlayerClass(reader.readString());
+        login.setStartingMapId(reader.readString());
+        return login;
+    }
+
+    private static Direction readDirection(BinaryReader reader) {
+        final int ordinal = reader.readVarInt();
+        if (ordinal < 0 || ordinal >= DIRECTIONS.length) throw new IllegalArgumentException("Unknown direction " + ordinal);
+        return DIRECTIONS[ordinal];
+    }
+
+    private static void writeChunks(BinaryWriter writer, List<?> chunks) {
+        writer.writeVarInt(chunks.size());
+        for (Object element : chunks) {
+            final MapChunk chunk = (MapChunk) element;
+            writer.writeVarLong(chunk.hash());
+            writeTiles(writer, chunk.rows());
+        }
+    }
+
+    /**
+     * Writes a chunk window; every cell is a presence flag followed by the chunk hash if present.
+     */
+    private static void writeWindow(BinaryWriter writer, ChunkWindow window) {
+        writer.writeString(window.mapId())
+                .writeString(window.mapName())
+                .writeSignedVarInt(window.layer())
+                .writeSignedVarInt(window.originX())
+                .writeSignedVarInt(window.originY())
+                .writeVarInt(window.chunkSize())
+                .writeVarInt(window.columns())
+                .writeVarInt(window.rows());
+        for (MapChunk chunk : window.chunks()) {
+            writer.writeBoolean(chunk != null);
+            if (chunk != null) writer.writeVarLong(chunk.hash());
+        }
+    }
+
+    /**
+     * Writes the rows of a chunk as a symbol palette followed by the palette index of each tile,
+     * one byte per tile while the palette has at most 256 symbols and two bytes otherwise.
+     */
+    private static void writeTiles(BinaryWriter writer, List<String> rows) {
+        final int width = rows.isEmpty() ? 0 : rows.getFirst().length();
+        final Map<Character, Integer> palette = new HashMap<>();
+        final StringBuilder symbols = new StringBuilder();
+        for (String row : rows) {
+            for (int x = 0; x < row.length(); x++) {
+                final char symbol = row.charAt(x);
+                if (!palette.containsKey(symbol)) {
+                    palette.put(symbol, palette.size());
+                    symbols.append(symbol);
+                }
+            }
+        }
+        writer.writeVarInt(rows.size()).writeVarInt(width).writeString(symbols.toString());
+        final boolean wide = palette.size() > 256;
+        for (String row : rows) {
+            for (int x = 0; x < width; x++) {
+                final int index = x < row.length() ? palette.get(row.charAt(x)) : palette.getOrDefault(' ', 0);
+                if (wide) writer.writeByte(index >>> 8);
+                writer.writeByte(index);
+            }
+        }
+    }
+
+    private static void writeNpcSnapshot(BinaryWriter writer, NpcSnapshotResponse snapshot) {
+        writer.writeString(snapshot.mapId()).writeVarLong(snapshot.version());
+        writeNpcs(writer, snapshot.npcs());
+    }
+
+    private static void writeNpcDelta(BinaryWriter writer, NpcDeltaResponse delta) {
+        writer.writeString(delta.mapId()).writeVarLong(delta.baseVersion()).writeVarLong(delta.version());
+        writeNpcs(writer, delta.entered());
+        writeNpcs(writer, delta.changed());
+        writeIds(writer, delta.left());
+    }
+
+    private static void writeIds(BinaryWriter writer, List<String> ids) {
+        writer.writeVarInt(ids.size());
+        for (String id : ids) writer.writeString(id);
+    }
+
+    private static void writeNpcs(BinaryWriter writer, List<NpcDto> npcs) {
+        writer.writeVarInt(npcs.size());
+        for (NpcDto npc : npcs) {
+            writer.writeString(npc.getId())
+                    .writeString(npc.getName())
+                    .writeString(npc.getType())
+                    .writeSignedVarInt(npc.getX())
+                    .writeSignedVarInt(npc.getY())
+                    .writeSignedVarInt(npc.getZ())
+                    .writeSignedVarInt(npc.getHp())
+                    .writeVarInt(npc.getMaxHp())
+                    .writeBoolean(npc.isAggressive())
+                    .writeVarInt(npc.getInteraction() == null ? 0 : npc.getInteraction().ordinal() + 1);
+        }
+    }
+
+    private static void writeStats(BinaryWriter writer, StatsResponse stats) {
+        writer.writeSignedVarInt(stats.getHp())
+                .writeVarInt(stats.getMaxHp())
+                .writeSignedVarInt(stats.getRads())
+                .writeSignedVarInt(stats.getCredits())
+                .writeSignedVarInt(stats.getDebt())
+                .writeSignedVarLong(stats.getGlobalDebt())
+                .writeOptionalInt(stats.getEquippedWeaponSlot())
+                .writeOptionalInt(stats.getEquippedMaskSlot());
+    }
+
+    private static void writePosition(BinaryWriter writer, PlayerUpdatePayload position) {
+        writer.writeString(position.getPlayerId())
+                .writeSignedVarInt(position.getX())
+                .writeSignedVarInt(position.getY())
+                .writeSignedVarInt(position.getZ());
+    }
+
+    private static void writePlayers(BinaryWriter writer, PlayersInViewResponse view) {
+        writer.writeVarInt(view.players().size());
+        for (OtherPlayerDto player : view.players()) {
+            writer.writeString(player.getId())
+                    .writeString(player.getName())
+                    .writeSignedVarInt(player.getX())
+                    .writeSignedVarInt(player.getY())
+                    .writeSignedVarInt(player.getZ());
+        }
+        writeIds(writer, view.entered());
+        writeIds(writer, view.left());
+    }
+}
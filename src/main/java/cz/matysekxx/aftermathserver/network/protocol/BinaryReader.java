@@ -0,0 +1,80 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitives written by {@link BinaryWriter}.
+ *
+ * @author Matysekxx
+ */
+public class BinaryReader {
+    private final ByteBuffer buffer;
+
+    public BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public BinaryReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    public int readByte() {
+        requireRemaining(1);
+        return buffer.get() & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    public int readSignedVarInt() {
+        final int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readSignedVarLong() {
+        final long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public Integer readOptionalInt() {
+        final long value = readVarLong();
+        if (value == 0) return null;
+        final int zigzag = (int) (value - 1);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public String readString() {
+        final int length = readVarInt();
+        if (length == 0) return "";
+        requireRemaining(length);
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private void requireRemaining(int count) {
+        if (count < 0 || buffer.remaining() < count) {
+            throw new IllegalArgumentException("Unexpected end of binary message");
+        }
+    }
+}
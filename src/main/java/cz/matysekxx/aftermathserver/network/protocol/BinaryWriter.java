@@ -0,0 +1,105 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer writing the primitives of the binary protocol.
+ * <p>
+ * Unsigned integers are LEB128 varints, signed integers are zigzag-encoded varints
+ * and strings are a varint byte length followed by UTF-8 bytes.
+ *
+ * @author Matysekxx
+ */
+public class BinaryWriter {
+    private byte[] buffer;
+    private int size;
+
+    public BinaryWriter() {
+        this(64);
+    }
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public BinaryWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a non-negative integer as a varint (1 byte up to 127, 2 bytes up to 16383, ...).
+     */
+    public BinaryWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeVarInt(int value) {
+        return writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Writes a signed integer as a zigzag varint, so small negative values stay small.
+     */
+    public BinaryWriter writeSignedVarInt(int value) {
+        return writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public BinaryWriter writeSignedVarLong(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a nullable integer as a zigzag varint shifted by one, where zero stands for null.
+     */
+    public BinaryWriter writeOptionalInt(Integer value) {
+        return value == null ? writeVarInt(0) : writeVarLong(zigzag(value) + 1);
+    }
+
+    /**
+     * Writes a string; null is written the same way as an empty string.
+     */
+    public BinaryWriter writeString(String value) {
+        if (value == null || value.isEmpty()) return writeVarInt(0);
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        return writeBytes(bytes);
+    }
+
+    public BinaryWriter writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
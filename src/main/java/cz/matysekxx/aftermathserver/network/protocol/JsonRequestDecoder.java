@@ -0,0 +1,85 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import cz.matysekxx.aftermathserver.dto.WebSocketRequest;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decoder of requests in the JSON protocol.
+ * <p>
+ * The request is read with a streaming parser in one pass: the {@code type} field selects a
+ * reader prepared up front for the request DTO of that type, and the {@code payload} is bound
+ * straight into the DTO without building a tree. Payloads of requests without a DTO are skipped.
+ * Only a payload sent before its type has to be buffered until the type is known.
+ *
+ * @author Matysekxx
+ */
+public class JsonRequestDecoder {
+    private final ObjectMapper objectMapper;
+    private final Map<String, ObjectReader> readers = new HashMap<>();
+
+    /**
+     * @param objectMapper The mapper the readers are created from.
+     * @param payloadTypes The payload DTO of each request type; {@link Void} for requests without a payload.
+     */
+    public JsonRequestDecoder(ObjectMapper objectMapper, Map<String, Class<?>> payloadTypes) {
+        this.objectMapper = objectMapper;
+        payloadTypes.forEach((type, payloadType) -> {
+            if (payloadType != null && payloadType != Void.class) readers.put(type, objectMapper.readerFor(payloadType));
+        });
+    }
+
+    /**
+     * Decodes a request.
+     *
+     * @param json The text of the request.
+     * @return The request with its payload bound to the DTO of its type.
+     * @throws IOException              if the text is not valid JSON or the payload does not fit its DTO.
+     * @throws IllegalArgumentException if the request is not an object with a type.
+     */
+    public WebSocketRequest decode(String json) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) throw new IllegalArgumentException("Request is not a JSON object");
+            String type = null;
+            Object payload = null;
+            TokenBuffer early = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                if ("type".equals(field)) {
+                    type = parser.getValueAsString();
+                } else if ("payload".equals(field) && type != null) {
+                    payload = readPayload(type, parser);
+                } else if ("payload".equals(field)) {
+                    early = TokenBuffer.asCopyOfValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (type == null) throw new IllegalArgumentException("Request has no type");
+            if (early != null) {
+                try (JsonParser buffered = early.asParser(objectMapper)) {
+                    buffered.nextToken();
+                    payload = readPayload(type, buffered);
+                }
+            }
+            return new WebSocketRequest(type, payload);
+        }
+    }
+
+    private Object readPayload(String type, JsonParser parser) throws IOException {
+        final ObjectReader reader = readers.get(type);
+        if (reader == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+            parser.skipChildren();
+            return null;
+        }
+        return reader.readValue(parser);
+    }
+}
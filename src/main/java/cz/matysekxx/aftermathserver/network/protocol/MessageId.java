@@ -0,0 +1,78 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Numeric IDs of outbound messages in the binary protocol, mapped to the type tags of the JSON protocol.
+ * <p>
+ * IDs are part of the wire format; new types must get new IDs and existing ones must never change.
+ * ID 1 belonged to the retired full viewport message and must not be reused.
+ *
+ * @author Matysekxx
+ */
+public enum MessageId {
+    SEND_NPCS(2),
+    SEND_STATS(3),
+    SEND_PLAYER_POSITION(4),
+    BROADCAST_PLAYERS(5),
+    SEND_MAP_OBJECTS(6),
+    SEND_INVENTORY(7),
+    SEND_MESSAGE(8),
+    SEND_ERROR(9),
+    SEND_GAME_OVER(10),
+    GLOBAL_ANNOUNCEMENT(11),
+    SEND_LOGIN_OPTIONS(12),
+    DIALOG(13),
+    OPEN_TRADE_UI(14),
+    OPEN_METRO_UI(15),
+    /**
+     * Plain text broadcast to a map (chat), sent without a JSON envelope in the JSON protocol.
+     */
+    TEXT(16),
+    NPCS_DELTA(17),
+    MAP_CHUNKS(18),
+    MAP_VIEW(19),
+    OBJECT_ADDED(20),
+    OBJECT_REMOVED(21),
+    OBJECT_UPDATED(22),
+    /**
+     * Envelope of all messages sent to a session during one tick, see {@code Envelope}.
+     */
+    BATCH(23),
+    /**
+     * The session ID and resume token of a new connection.
+     */
+    SESSION(24),
+    /**
+     * Confirms a resumed session; followed by the replayed messages.
+     */
+    RESUMED(25);
+
+    private static final Map<String, MessageId> BY_TYPE = new HashMap<>();
+
+    static {
+        for (MessageId id : values()) BY_TYPE.put(id.name(), id);
+    }
+
+    private final int id;
+
+    MessageId(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Looks up the ID of a message type.
+     *
+     * @param type The JSON type tag, or null for plain text.
+     * @return The message ID, or null if the type is unknown.
+     */
+    public static MessageId fromType(String type) {
+        if (type == null) return TEXT;
+        return BY_TYPE.get(type);
+    }
+}
@@ -0,0 +1,57 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+/**
+ * Numeric IDs of inbound requests in the binary protocol, mapped to the action types.
+ * <p>
+ * IDs are part of the wire format; new actions must get new IDs and existing ones must never change.
+ *
+ * @author Matysekxx
+ */
+public enum RequestId {
+    LOGIN(1),
+    MOVE(2),
+    ATTACK(3),
+    INTERACT(4),
+    CHAT(5),
+    USE(6),
+    EQUIP(7),
+    DROP(8),
+    BUY(9),
+    SELL(10),
+    TRAVEL(11),
+    PAY_DEBT(12),
+    INIT(13),
+    HELP(14),
+    END(15),
+    ACK_NPCS(16),
+    CHUNK_HAVE(17),
+    SYNC_OBJECTS(18),
+    ACK_SEQ(19),
+    RESYNC(20);
+
+    private static final RequestId[] BY_ID = new RequestId[21];
+
+    static {
+        for (RequestId id : values()) BY_ID[id.id] = id;
+    }
+
+    private final int id;
+
+    RequestId(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Looks up a request by its numeric ID.
+     *
+     * @param id The ID read from the wire.
+     * @return The request, or null if the ID is unknown.
+     */
+    public static RequestId fromId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+}
@@ -0,0 +1,52 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wire protocols a client can choose through the WebSocket subprotocol handshake.
+ * <p>
+ * Clients not requesting any subprotocol talk JSON, which stays the default for debugging.
+ *
+ * @author Matysekxx
+ */
+public enum WireProtocol {
+    /**
+     * Text frames with JSON objects tagged by a string type.
+     */
+    JSON("aftermath.json.v1"),
+    /**
+     * Binary frames with numeric message IDs and varint-encoded fields, see {@link BinaryCodec}.
+     */
+    BINARY("aftermath.bin.v1");
+
+    private final String subprotocol;
+
+    WireProtocol(String subprotocol) {
+        this.subprotocol = subprotocol;
+    }
+
+    public String getSubprotocol() {
+        return subprotocol;
+    }
+
+    /**
+     * Resolves the protocol negotiated during the handshake.
+     *
+     * @param acceptedSubprotocol The subprotocol accepted by the server, may be null or empty.
+     * @return The matching protocol, JSON if none was negotiated.
+     */
+    public static WireProtocol fromSubprotocol(String acceptedSubprotocol) {
+        for (WireProtocol protocol : values()) {
+            if (protocol.subprotocol.equals(acceptedSubprotocol)) return protocol;
+        }
+        return JSON;
+    }
+
+    /**
+     * @return The subprotocol names offered to clients.
+     */
+    public static List<String> subprotocols() {
+        return Arrays.stream(values()).map(WireProtocol::getSubprotocol).toList();
+    }
+}
@@ -3,7 +3,7 @@ package cz.matysekxx.aftermathserver.util;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents cardinal directions for movement in the game world.
@@ -33,9 +33,10 @@ public enum Direction {
     /**
      * Returns a random cardinal direction.
      *
+     * @param random The random generator to use.
      * @return A random {@link Direction}.
      */
-    public static Direction getRandomDirection() {
-        return values()[ThreadLocalRandom.current().nextInt(values().length)];
+    public static Direction getRandomDirection(RandomGenerator random) {
+        return values()[random.nextInt(values().length)];
     }
 }
@@ -3,56 +3,109 @@ package cz.matysekxx.aftermathserver.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import cz.matysekxx.aftermathserver.action.Action;
-import cz.matysekxx.aftermathserver.core.GameEngine;
+import cz.matysekxx.aftermathserver.command.GameCommand;
+import cz.matysekxx.aftermathserver.command.GameCommandQueue;
+import cz.matysekxx.aftermathserver.command.InboundRateLimiter;
+import cz.matysekxx.aftermathserver.core.world.MapChunk;
+import cz.matysekxx.aftermathserver.dto.ChunkHaveRequest;
+import cz.matysekxx.aftermathserver.dto.NpcAckRequest;
+import cz.matysekxx.aftermathserver.dto.SequenceAckRequest;
 import cz.matysekxx.aftermathserver.dto.WebSocketRequest;
+import cz.matysekxx.aftermathserver.network.ClientConnection;
 import cz.matysekxx.aftermathserver.network.NetworkService;
+import cz.matysekxx.aftermathserver.network.protocol.BinaryCodec;
+import cz.matysekxx.aftermathserver.network.protocol.JsonRequestDecoder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Main WebSocket handler for the game.
  * Manages player connections, disconnections, and routes incoming messages to actions.
+ * <p>
+ * Actions are not executed here; they are submitted as commands to the {@link GameCommandQueue}
+ * and applied by the game loop at the start of the next tick.
+ * <p>
+ * Clients that negotiated the binary protocol send binary frames, which are decoded into the
+ * same requests as JSON text frames.
+ * <p>
+ * Requests pass the {@link InboundRateLimiter} first, including the network requests that make the
+ * server resend bulk state (chunk reports, object resyncs); requests over the limit of their type
+ * are dropped and the client is told so, at most once per configured interval.
+ * <p>
+ * A connection opened with the {@code resume} and {@code seq} query parameters continues the session
+ * of the resume token instead of starting a new one; the game state is sent again only if the client
+ * could not be replayed every message it missed. Requests are handled under the ID of the session
+ * a connection serves, which is the ID of the connection the session started on.
+ * <p>
+ * The servlet callbacks only adapt the servlet session to a {@link ClientConnection}; the reactive
+ * endpoint ({@link ReactiveGameHandler}) feeds its connections through the same entry points.
  *
  * @author Matysekxx
  */
 @Component
 @Slf4j
-public class GameHandler extends TextWebSocketHandler {
-    private final GameEngine gameEngine;
+public class GameHandler extends AbstractWebSocketHandler {
     private final NetworkService networkService;
+    private final GameCommandQueue gameCommandQueue;
+    private final InboundRateLimiter rateLimiter;
+    /**
+     * Payload types of the requests handled by the network layer instead of an action.
+     */
+    private static final Map<String, Class<?>> NETWORK_REQUESTS = Map.of(
+            "ACK_NPCS", NpcAckRequest.class,
+            "CHUNK_HAVE", ChunkHaveRequest.class,
+            "SYNC_OBJECTS", Void.class,
+            "ACK_SEQ", SequenceAckRequest.class);
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Map<String, Action> actions;
+    private final BinaryCodec binaryCodec = new BinaryCodec(objectMapper);
+    private final JsonRequestDecoder jsonDecoder;
+    private final Map<String, Action<?>> actions;
 
     /**
      * Constructs the GameHandler with necessary dependencies.
      *
-     * @param gameEngine     The core game engine.
-     * @param networkService The service for network communication.
-     * @param actions        A map of available game actions.
+     * @param networkService   The service for network communication.
+     * @param gameCommandQueue The queue of commands applied by the game loop.
+     * @param rateLimiter      The per-session limiter of action requests.
+     * @param actions          A map of available game actions.
      */
-    public GameHandler(GameEngine gameEngine, NetworkService networkService, Map<String, Action> actions) {
-        this.gameEngine = gameEngine;
+    public GameHandler(NetworkService networkService, GameCommandQueue gameCommandQueue,
+                       InboundRateLimiter rateLimiter, Map<String, Action<?>> actions) {
         this.networkService = networkService;
+        this.gameCommandQueue = gameCommandQueue;
+        this.rateLimiter = rateLimiter;
         this.actions = actions;
+        final Map<String, Class<?>> payloadTypes = new HashMap<>(NETWORK_REQUESTS);
+        actions.forEach((type, action) -> payloadTypes.put(type, action.getRequestType()));
+        this.jsonDecoder = new JsonRequestDecoder(objectMapper, payloadTypes);
     }
 
     /**
      * Handles the cleanup when a WebSocket connection is closed.
+     * <p>
+     * The session of a logged-in player is held for the grace period; it is removed and the player
+     * leaves the game only if the client does not resume it in time.
      *
      * @param session The closed session.
      * @param status  The reason for closing.
      */
     @Override
     public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
-        networkService.removeSession(session.getId());
-        gameEngine.removePlayer(session.getId());
+        disconnect(session.getId());
     }
 
     /**
@@ -62,33 +115,155 @@ public class GameHandler extends TextWebSocketHandler {
      */
     @Override
     public void afterConnectionEstablished(@NonNull WebSocketSession session) {
-        log.info("Connection established with session: {}", session.getId());
-        networkService.addSession(session);
+        connect(new ServletConnection(session));
+    }
+
+    /**
+     * Handles a lost connection of any transport.
+     *
+     * @param connectionId The ID of the closed connection.
+     */
+    void disconnect(String connectionId) {
+        final String sessionId = networkService.sessionIdOf(connectionId);
+        if (sessionId == null) return;
+        if (networkService.hold(sessionId, () -> endSession(sessionId))) return;
+        endSession(sessionId);
+    }
+
+    /**
+     * Handles a new connection of any transport, resuming a session if the client asked for it.
+     *
+     * @param connection The new connection.
+     */
+    void connect(ClientConnection connection) {
+        final Map<String, String> resume = resumeParameters(connection.getUri());
+        if (resume.containsKey("resume")) {
+            final NetworkService.Resumption resumed =
+                    networkService.resume(connection, resume.get("resume"), parseSequence(resume.get("seq")));
+            if (resumed != null) {
+                // a client that got every missed message is up to date; only a gap needs the full state
+                if (!resumed.complete()) {
+                    gameCommandQueue.submit(command(resumed.sessionId(), "RESYNC", null, actions.get("RESYNC")));
+                }
+                return;
+            }
+            log.info("Session of connection {} cannot be resumed, starting a new one", connection.getId());
+        }
+        log.info("Connection established with session: {}", connection.getId());
+        networkService.addSession(connection);
+    }
+
+    private void endSession(String sessionId) {
+        networkService.removeSession(sessionId);
+        rateLimiter.removeSession(sessionId);
+        gameCommandQueue.submit(command(sessionId, "END", null, actions.get("END")));
+    }
+
+    private static Map<String, String> resumeParameters(URI uri) {
+        if (uri == null) return Map.of();
+        return UriComponentsBuilder.fromUri(uri).build().getQueryParams().toSingleValueMap();
+    }
+
+    private static long parseSequence(String seq) {
+        try {
+            return seq != null ? Long.parseLong(seq) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     /**
      * Processes incoming text messages from clients.
+     * <p>
+     * Runs on a container thread, or on a virtual thread when {@code game.virtual-threads} is enabled.
+     * Only decoding happens here; the action itself is applied by the game loop.
      *
      * @param session The session that sent the message.
      * @param message The text message containing a JSON request.
      */
     @Override
     protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) {
+        handleText(session.getId(), message.getPayload());
+    }
+
+    /**
+     * Processes incoming binary messages from clients using the binary protocol.
+     *
+     * @param session The session that sent the message.
+     * @param message The binary message containing an encoded request.
+     */
+    @Override
+    protected void handleBinaryMessage(@NonNull WebSocketSession session, @NonNull BinaryMessage message) {
+        handleBinary(session.getId(), message.getPayload());
+    }
+
+    /**
+     * Decodes and submits a JSON request received on a connection of any transport.
+     *
+     * @param connectionId The ID of the connection that sent the request.
+     * @param payload      The JSON request.
+     */
+    void handleText(String connectionId, String payload) {
         try {
-            final WebSocketRequest request = objectMapper.readValue(message.getPayload(), WebSocketRequest.class);
-            log.info("Received request: {} from session: {}", request.getType(), session.getId());
-            if (actions.containsKey(request.getType())) {
-                final Action action = actions.get(request.getType());
-                action.execute(session.getId(), request.getPayload());
-                final String mapId = gameEngine.getPlayerMapId(session.getId());
-                if (mapId != null) {
-                    networkService.updatePlayerLocation(session.getId(), mapId);
-                }
-            } else {
-                log.warn("Unknown action type: {}", request.getType());
-            }
+            submit(connectionId, jsonDecoder.decode(payload));
         } catch (Exception e) {
             log.error("Error while handling WebSocket request", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Decodes and submits a binary request received on a connection of any transport.
+     *
+     * @param connectionId The ID of the connection that sent the request.
+     * @param payload      The encoded request.
+     */
+    void handleBinary(String connectionId, ByteBuffer payload) {
+        try {
+            submit(connectionId, binaryCodec.decodeRequest(payload));
+        } catch (Exception e) {
+            log.error("Error while handling binary WebSocket request", e);
+        }
+    }
+
+    private void submit(String connectionId, WebSocketRequest request) {
+        final String sessionId = networkService.sessionIdOf(connectionId);
+        if (sessionId == null) return;
+        log.debug("Received request: {} from session: {}", request.getType(), sessionId);
+        if (!actions.containsKey(request.getType()) && !NETWORK_REQUESTS.containsKey(request.getType())) {
+            log.warn("Unknown action type: {}", request.getType());
+            return;
+        }
+        if (!rateLimiter.tryAcquire(sessionId, request.getType())) {
+            log.debug("Rate limit exceeded: {} from session: {}", request.getType(), sessionId);
+            if (rateLimiter.claimRejectNotice(sessionId)) networkService.rejectRequest(sessionId, request.getType());
+            return;
+        }
+        // acknowledgements, chunk reports and resyncs only concern the network layer, so they bypass the game loop
+        if ("ACK_NPCS".equals(request.getType())) {
+            if (request.getPayload() instanceof NpcAckRequest ack) {
+                networkService.acknowledgeNpcs(sessionId, ack.getMapId(), ack.getVersion());
+            }
+        } else if ("CHUNK_HAVE".equals(request.getType())) {
+            if (request.getPayload() instanceof ChunkHaveRequest have && have.getIds() != null) {
+                final List<Long> hashes = new ArrayList<>(have.getIds().size());
+                try {
+                    for (String id : have.getIds()) hashes.add(MapChunk.fromId(id));
+                } catch (NumberFormatException e) {
+                    log.warn("Malformed chunk ID from session {}: {}", sessionId, e.getMessage());
+                    return;
+                }
+                networkService.reportChunks(sessionId, hashes);
+            }
+        } else if ("ACK_SEQ".equals(request.getType())) {
+            if (request.getPayload() instanceof SequenceAckRequest ack) networkService.acknowledgeSequence(sessionId, ack.getSeq());
+        } else if ("SYNC_OBJECTS".equals(request.getType())) {
+            networkService.resyncObjects(sessionId);
+        } else {
+            gameCommandQueue.submit(command(sessionId, request.getType(), request.getPayload(), actions.get(request.getType())));
+        }
+    }
+
+    private static <R> GameCommand command(String sessionId, String type, Object payload, Action<R> action) {
+        return GameCommand.of(sessionId, type, action.getRequestType().cast(payload), action, null);
+    }
+}
@@ -0,0 +1,121 @@
+package cz.matysekxx.aftermathserver.websocket;
+
+import cz.matysekxx.aftermathserver.network.ClientConnection;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connection of the reactive endpoint.
+ * <p>
+ * Outgoing messages are emitted into the {@link #outbound()} stream Netty subscribes to, and only
+ * as fast as Netty requests them: the session's writer thread waits in {@link #sendMessage} until
+ * the socket has demand. A slow client therefore fills the bounded queue of its writer, where
+ * state messages are coalesced and the overflow policy applies, exactly as on the servlet endpoint.
+ *
+ * @author Matysekxx
+ */
+class ReactiveConnection implements ClientConnection {
+    /**
+     * Prefix of the connection IDs, which keeps them apart from the IDs of the servlet container.
+     */
+    static final String ID_PREFIX = "rx-";
+    /**
+     * How often a writer waiting for demand checks whether the connection is still open.
+     */
+    private static final long DEMAND_POLL_MS = 100;
+    private final WebSocketSession session;
+    private final String id;
+    private final Semaphore demand = new Semaphore(0);
+    private final Flux<org.springframework.web.reactive.socket.WebSocketMessage> outbound;
+    private volatile FluxSink<org.springframework.web.reactive.socket.WebSocketMessage> sink;
+    private volatile boolean closed;
+
+    ReactiveConnection(WebSocketSession session) {
+        this.session = session;
+        this.id = ID_PREFIX + session.getId();
+        this.outbound = Flux.create(sink -> {
+            this.sink = sink;
+            sink.onRequest(n -> demand.release((int) Math.min(n, Integer.MAX_VALUE - demand.availablePermits())));
+            sink.onDispose(this::terminate);
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    /**
+     * @return The stream of outgoing frames, to be subscribed once by the session's send.
+     */
+    Flux<org.springframework.web.reactive.socket.WebSocketMessage> outbound() {
+        return outbound;
+    }
+
+    /**
+     * Marks the connection closed and completes the outgoing stream.
+     */
+    void terminate() {
+        closed = true;
+        final FluxSink<org.springframework.web.reactive.socket.WebSocketMessage> current = sink;
+        if (current != null) current.complete();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return session.getHandshakeInfo().getSubProtocol();
+    }
+
+    @Override
+    public URI getUri() {
+        return session.getHandshakeInfo().getUri();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed && session.isOpen();
+    }
+
+    /**
+     * Emits a message once the socket requests one, blocking the writer thread until then.
+     * A writer interrupted while waiting is being closed, so its message is dropped.
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        try {
+            while (!demand.tryAcquire(DEMAND_POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (!isOpen()) throw new IllegalStateException("Connection " + id + " is closed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!isOpen()) throw new IllegalStateException("Connection " + id + " is closed");
+        sink.next(toFrame(message));
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        closed = true;
+        session.close(new org.springframework.web.reactive.socket.CloseStatus(status.getCode(), status.getReason())).subscribe();
+    }
+
+    private org.springframework.web.reactive.socket.WebSocketMessage toFrame(WebSocketMessage<?> message) {
+        if (message instanceof BinaryMessage binary) {
+            // cached frames are shared by all recipients, so each one reads through its own view
+            final ByteBuffer payload = binary.getPayload().duplicate();
+            return session.binaryMessage(factory -> factory.wrap(payload));
+        }
+        return session.textMessage(((TextMessage) message).getPayload());
+    }
+}
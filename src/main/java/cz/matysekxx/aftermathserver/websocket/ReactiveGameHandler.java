@@ -0,0 +1,76 @@
+package cz.matysekxx.aftermathserver.websocket;
+
+import cz.matysekxx.aftermathserver.network.protocol.WireProtocol;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * WebSocket handler of the reactive endpoint, served by Reactor Netty.
+ * <p>
+ * Every session is adapted to a {@link ReactiveConnection} and handed to the {@link GameHandler},
+ * so requests are decoded, rate limited and submitted, and sessions resumed, exactly as on the
+ * servlet endpoint. The inbound stream runs on the Netty event loop, where only decoding happens;
+ * the outbound stream is the connection's backpressured stream of the messages its writer sends.
+ * Connecting and disconnecting run on the bounded elastic scheduler instead, because resuming and
+ * holding a session wait for its writer to stop, which must not block the event loop.
+ *
+ * @author Matysekxx
+ */
+@Component
+public class ReactiveGameHandler implements WebSocketHandler {
+    private final GameHandler gameHandler;
+
+    public ReactiveGameHandler(GameHandler gameHandler) {
+        this.gameHandler = gameHandler;
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return WireProtocol.subprotocols();
+    }
+
+    /**
+     * Serves a session until either direction ends; the connection is then handled as lost.
+     * Frames are read only once the connection is registered.
+     *
+     * @param session The new session.
+     * @return Completes when the session is over.
+     */
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        final ReactiveConnection connection = new ReactiveConnection(session);
+        final Mono<Void> inbound = session.receive()
+                .doOnNext(message -> receive(connection, message))
+                .doFinally(signal -> connection.terminate())
+                .then();
+        return Mono.fromRunnable(() -> gameHandler.connect(connection))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.zip(inbound, session.send(connection.outbound())))
+                .doFinally(signal -> Schedulers.boundedElastic().schedule(() -> gameHandler.disconnect(connection.getId())))
+                .then();
+    }
+
+    private void receive(ReactiveConnection connection, WebSocketMessage message) {
+        switch (message.getType()) {
+            case TEXT -> gameHandler.handleText(connection.getId(), message.getPayloadAsText());
+            case BINARY -> {
+                // requests are small, so the frame is copied out of Netty's buffer rather than read in place
+                final DataBuffer payload = message.getPayload();
+                final byte[] bytes = new byte[payload.readableByteCount()];
+                payload.read(bytes);
+                gameHandler.handleBinary(connection.getId(), ByteBuffer.wrap(bytes));
+            }
+            default -> {
+                // pings and pongs are answered by Netty
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cz.matysekxx.aftermathserver.websocket;
+
+import cz.matysekxx.aftermathserver.network.ClientConnection;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * A connection of the servlet endpoint; every call goes straight to the container's session.
+ *
+ * @author Matysekxx
+ */
+class ServletConnection implements ClientConnection {
+    private final WebSocketSession session;
+
+    ServletConnection(WebSocketSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public String getId() {
+        return session.getId();
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return session.getAcceptedProtocol();
+    }
+
+    @Override
+    public URI getUri() {
+        return session.getUri();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        session.sendMessage(message);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        session.close(status);
+    }
+}
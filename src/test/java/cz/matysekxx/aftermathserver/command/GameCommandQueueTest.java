@@ -0,0 +1,101 @@
+package cz.matysekxx.aftermathserver.command;
+
+import cz.matysekxx.aftermathserver.action.Action;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCommandQueueTest {
+
+    private GameCommandQueue queue;
+    private RecordingAction action;
+
+    @BeforeEach
+    void setUp() {
+        queue = new GameCommandQueue();
+        action = new RecordingAction();
+    }
+
+    @Test
+    void testDrain_ExecutesInSubmissionOrder() {
+        queue.submit(GameCommand.of("a", "MOVE", null, action, null));
+        queue.submit(GameCommand.of("b", "ATTACK", null, action, null));
+        queue.submit(GameCommand.of("c", "MOVE", null, action, null));
+
+        final int drained = queue.drain(10, GameCommand::execute);
+
+        assertEquals(3, drained);
+        assertEquals(List.of("a", "b", "c"), action.executedSessions);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testDrain_RespectsLimit() {
+        for (int i = 0; i < 5; i++) {
+            queue.submit(GameCommand.of("s" + i, "MOVE", null, action, null));
+        }
+
+        assertEquals(2, queue.drain(2, GameCommand::execute));
+        assertEquals(List.of("s0", "s1"), action.executedSessions);
+        assertFalse(queue.isEmpty());
+
+        assertEquals(3, queue.drain(10, GameCommand::execute));
+        assertEquals(5, action.executedSessions.size());
+    }
+
+    @Test
+    void testExecute_RunsCallbackAfterAction() {
+        final List<String> calls = new ArrayList<>();
+        final GameCommand command = GameCommand.of("a", "MOVE", null, action, () -> calls.add("callback"));
+
+        command.execute();
+
+        assertEquals(List.of("a"), action.executedSessions);
+        assertEquals(List.of("callback"), calls);
+    }
+
+    @Test
+    void testSubmit_NewerMoveReplacesQueuedMove() {
+        final RecordingAction other = new RecordingAction();
+        queue.submit(GameCommand.of("a", "MOVE", null, action, null));
+        queue.submit(GameCommand.of("b", "MOVE", null, action, null));
+        queue.submit(GameCommand.of("a", "MOVE", null, other, null));
+
+        assertEquals(2, queue.drain(10, GameCommand::execute));
+        assertEquals(List.of("b"), action.executedSessions);
+        assertEquals(List.of("a"), other.executedSessions);
+        assertEquals(1, queue.getCoalesced());
+
+        queue.submit(GameCommand.of("a", "MOVE", null, action, null));
+        assertEquals(1, queue.drain(10, GameCommand::execute));
+    }
+
+    @Test
+    void testSubmit_MoveAfterOtherCommandIsQueuedBehindIt() {
+        final List<String> executed = new ArrayList<>();
+        queue.submit(GameCommand.of("a", "MOVE", null, action, () -> executed.add("move-1")));
+        queue.submit(GameCommand.of("a", "INTERACT", null, action, () -> executed.add("interact")));
+        queue.submit(GameCommand.of("a", "MOVE", null, action, () -> executed.add("move-2")));
+
+        assertEquals(3, queue.drain(10, GameCommand::execute));
+        assertEquals(List.of("move-1", "interact", "move-2"), executed);
+        assertEquals(0, queue.getCoalesced());
+    }
+
+    private static class RecordingAction extends Action<Void> {
+        final List<String> executedSessions = new ArrayList<>();
+
+        RecordingAction() {
+            super(null, Void.class);
+        }
+
+        @Override
+        public void execute(String sessionId, Void payload) {
+            executedSessions.add(sessionId);
+        }
+    }
+}
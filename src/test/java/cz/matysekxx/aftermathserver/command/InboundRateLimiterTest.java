@@ -0,0 +1,94 @@
+package cz.matysekxx.aftermathserver.command;
+
+import cz.matysekxx.aftermathserver.config.RateLimitSettings;
+import cz.matysekxx.aftermathserver.dto.SessionInboundStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InboundRateLimiterTest {
+
+    private long now;
+    private RateLimitSettings settings;
+    private InboundRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        settings = new RateLimitSettings();
+        settings.setLimits(Map.of("MOVE", new RateLimitSettings.Limit(2, 4)));
+        limiter = new InboundRateLimiter(settings, () -> now);
+    }
+
+    @Test
+    void testTryAcquire_RejectsBurstOverCapacityUntilRefilled() {
+        assertTrue(limiter.tryAcquire("a", "MOVE"));
+        assertTrue(limiter.tryAcquire("a", "MOVE"));
+        assertFalse(limiter.tryAcquire("a", "MOVE"));
+
+        now += TimeUnit.MILLISECONDS.toNanos(300);
+        assertTrue(limiter.tryAcquire("a", "MOVE"));
+        assertFalse(limiter.tryAcquire("a", "MOVE"));
+    }
+
+    @Test
+    void testTryAcquire_BulkResendRequestsAreLimitedByDefault() {
+        final InboundRateLimiter defaults = new InboundRateLimiter(new RateLimitSettings(), () -> now);
+
+        for (String type : List.of("CHUNK_HAVE", "SYNC_OBJECTS")) {
+            assertTrue(defaults.tryAcquire("a", type));
+            assertTrue(defaults.tryAcquire("a", type));
+            assertFalse(defaults.tryAcquire("a", type));
+        }
+        assertTrue(defaults.tryAcquire("a", "ACK_SEQ"));
+    }
+
+    @Test
+    void testTryAcquire_LimitsArePerSessionAndType() {
+        limiter.tryAcquire("a", "MOVE");
+        limiter.tryAcquire("a", "MOVE");
+
+        assertFalse(limiter.tryAcquire("a", "MOVE"));
+        assertTrue(limiter.tryAcquire("b", "MOVE"));
+        for (int i = 0; i < 10; i++) assertTrue(limiter.tryAcquire("a", "CHAT"));
+    }
+
+    @Test
+    void testTryAcquire_DisabledLimiterAcceptsEverything() {
+        settings.setEnabled(false);
+
+        for (int i = 0; i < 10; i++) assertTrue(limiter.tryAcquire("a", "MOVE"));
+    }
+
+    @Test
+    void testClaimRejectNotice_OncePerInterval() {
+        limiter.tryAcquire("a", "MOVE");
+
+        assertTrue(limiter.claimRejectNotice("a"));
+        assertFalse(limiter.claimRejectNotice("a"));
+
+        now += TimeUnit.MILLISECONDS.toNanos(settings.getRejectNoticeIntervalMs());
+        assertTrue(limiter.claimRejectNotice("a"));
+        assertFalse(limiter.claimRejectNotice("unknown"));
+    }
+
+    @Test
+    void testGetStats_CountsRejectionsAndForgetsRemovedSessions() {
+        for (int i = 0; i < 5; i++) limiter.tryAcquire("a", "MOVE");
+        limiter.tryAcquire("b", "MOVE");
+
+        final List<SessionInboundStats> stats = limiter.getStats();
+
+        assertEquals("a", stats.getFirst().sessionId());
+        assertEquals(2, stats.getFirst().accepted());
+        assertEquals(3, stats.getFirst().rejected());
+        assertEquals(Map.of("MOVE", 3L), stats.getFirst().rejectedByType());
+
+        limiter.removeSession("a");
+        assertEquals(1, limiter.getStats().size());
+    }
+}
@@ -0,0 +1,95 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
+import cz.matysekxx.aftermathserver.core.model.entity.Npc;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.util.Vector3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_X;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiLevelOfDetailTest {
+
+    private AiLevelOfDetail lod;
+    private List<Player> players;
+
+    @BeforeEach
+    void setUp() {
+        final GameSettings settings = new GameSettings();
+        settings.getAi().setNearMargin(10);
+        settings.getAi().setNearInterval(4);
+        settings.getAi().setDormantCheckInterval(20);
+        lod = new AiLevelOfDetail(settings);
+
+        final PlayerClassConfig config = new PlayerClassConfig();
+        config.setMaxHp(100);
+        config.setInventoryCapacity(10);
+        config.setMaxWeight(50.0);
+        players = List.of(new Player("p1", "Player", Vector3.of(0, 0, 0), config, "map1", "SOLDIER"));
+    }
+
+    @Test
+    void testShouldUpdate_InsideViewportEveryTick() {
+        final Npc npc = createNpc(VIEWPORT_RANGE_X, 0);
+
+        for (long tick = 1; tick <= 10; tick++) {
+            assertTrue(lod.shouldUpdate(npc, players, tick));
+        }
+    }
+
+    @Test
+    void testShouldUpdate_NearbyAtReducedRate() {
+        final Npc npc = createNpc(VIEWPORT_RANGE_X + 5, 0);
+
+        final List<Long> updates = new ArrayList<>();
+        for (long tick = 1; tick <= 40; tick++) {
+            if (lod.shouldUpdate(npc, players, tick)) updates.add(tick);
+        }
+
+        assertTrue(updates.size() >= 10);
+        for (int i = 2; i < updates.size(); i++) {
+            assertEquals(4, updates.get(i) - updates.get(i - 1));
+        }
+    }
+
+    @Test
+    void testShouldUpdate_FarAwayIsDormant() {
+        final Npc npc = createNpc(VIEWPORT_RANGE_X + 50, 0);
+
+        for (long tick = 1; tick <= 40; tick++) {
+            assertFalse(lod.shouldUpdate(npc, players, tick));
+        }
+    }
+
+    @Test
+    void testShouldUpdate_OtherLayerIsDormant() {
+        final Npc npc = createNpc(0, 0);
+        npc.setLayerIndex(1);
+
+        assertFalse(lod.shouldUpdate(npc, players, 1));
+    }
+
+    @Test
+    void testShouldUpdate_DormantWakesUpWhenPlayerApproaches() {
+        final Npc npc = createNpc(VIEWPORT_RANGE_X + 50, 0);
+        assertFalse(lod.shouldUpdate(npc, players, 1));
+
+        npc.setX(1);
+        boolean updated = false;
+        for (long tick = 2; tick <= 21 && !updated; tick++) {
+            updated = lod.shouldUpdate(npc, players, tick);
+        }
+
+        assertTrue(updated);
+    }
+
+    private static Npc createNpc(int x, int y) {
+        return new Npc("rat_" + x, "Rat", x, y, 0, "map1", 10, null, null);
+    }
+}
@@ -1,10 +1,12 @@
 package cz.matysekxx.aftermathserver.core;
 
+import cz.matysekxx.aftermathserver.config.GameSettings;
 import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
 import cz.matysekxx.aftermathserver.core.model.entity.Player;
 import cz.matysekxx.aftermathserver.core.model.item.Item;
 import cz.matysekxx.aftermathserver.core.model.item.ItemType;
+import cz.matysekxx.aftermathserver.core.timer.TimerService;
 import cz.matysekxx.aftermathserver.core.world.GameMapData;
 import cz.matysekxx.aftermathserver.core.world.WorldManager;
 import cz.matysekxx.aftermathserver.event.GameEvent;
@@ -22,6 +24,7 @@ class CombatServiceTest {
 
     private FakeWorldManager worldManager;
     private FakeGameEventQueue gameEventQueue;
+    private TimerService timerService;
     private CombatService combatService;
 
     private Player player;
@@ -32,7 +35,10 @@ class CombatServiceTest {
     void setUp() {
         worldManager = new FakeWorldManager();
         gameEventQueue = new FakeGameEventQueue();
-        combatService = new CombatService(worldManager, gameEventQueue, null);
+        final GameSettings settings = new GameSettings();
+        settings.setTickRate(50);
+        timerService = new TimerService(settings);
+        combatService = new CombatService(worldManager, gameEventQueue, null, timerService);
     }
 
     @Test
@@ -71,7 +77,7 @@ class CombatServiceTest {
 
         player.getInventory().addItem(weapon);
         player.setEquippedWeaponSlot(0);
-        player.setLastAttackTime(0L);
+        player.setAttackReadyTick(0L);
 
         npc = new Npc("npc-1", "Mutant", 1, 1, 0, "letnany", 100, null, null);
         map = new GameMapData();
@@ -83,7 +89,47 @@ class CombatServiceTest {
         combatService.handleAttack(player);
 
         assertEquals(90, npc.getHp());
-        assertTrue(player.getLastAttackTime() > 0);
+        assertEquals(2, player.getAttackReadyTick());
+    }
+
+    @Test
+    void testHandleAttack_CooldownCountsInTicks() {
+        final PlayerClassConfig config = new PlayerClassConfig();
+        config.setMaxHp(100);
+        config.setInventoryCapacity(10);
+        config.setMaxWeight(50.0);
+        player = new Player("player-1", "Hero", new Vector3(0, 0, 0), config, "letnany", "SOLDIER");
+
+        final Item weapon = Item.builder()
+                .type(ItemType.WEAPON)
+                .damage(10)
+                .range(2)
+                .cooldown(100)
+                .quantity(1)
+                .maxStack(1)
+                .weight(1.0)
+                .id("weapon")
+                .build();
+        player.getInventory().addItem(weapon);
+        player.setEquippedWeaponSlot(0);
+
+        npc = new Npc("npc-1", "Mutant", 1, 1, 0, "letnany", 100, null, null);
+        map = new GameMapData();
+        map.setId("letnany");
+        map.addNpc(npc);
+        worldManager.addMap(map);
+
+        combatService.handleAttack(player);
+        timerService.advance(1);
+        combatService.handleAttack(player);
+
+        assertEquals(90, npc.getHp());
+        assertEquals("SEND_ERROR", gameEventQueue.lastEvent.type().name());
+
+        timerService.advance(2);
+        combatService.handleAttack(player);
+
+        assertEquals(80, npc.getHp());
     }
 
     private static class FakeWorldManager extends WorldManager {
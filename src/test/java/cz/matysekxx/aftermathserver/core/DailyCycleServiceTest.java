@@ -0,0 +1,133 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.core.world.WorldManager;
+import cz.matysekxx.aftermathserver.event.GameEventQueue;
+import cz.matysekxx.aftermathserver.util.Vector3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyCycleServiceTest {
+
+    private PlayerRegistry playerRegistry;
+    private FakeSpawnManager spawnManager;
+    private DailyCycleService dailyCycleService;
+
+    @BeforeEach
+    void setUp() {
+        final GameSettings settings = new GameSettings();
+        settings.getDailyCycle().setWindowTicks(2);
+
+        final FakeWorldManager worldManager = new FakeWorldManager();
+        for (int i = 0; i < 4; i++) {
+            final GameMapData map = new GameMapData();
+            map.setId("map" + i);
+            worldManager.maps.add(map);
+        }
+        playerRegistry = new PlayerRegistry();
+        for (int i = 0; i < 3; i++) {
+            playerRegistry.put(createPlayer("p" + i));
+        }
+        spawnManager = new FakeSpawnManager();
+        final GameEventQueue gameEventQueue = new GameEventQueue();
+        final EconomyService economyService = new EconomyService(gameEventQueue, null, new GlobalState(1000000));
+        final MapHibernationService hibernationService = new MapHibernationService(worldManager, spawnManager, settings);
+        dailyCycleService = new DailyCycleService(playerRegistry, worldManager, economyService, spawnManager,
+                hibernationService, gameEventQueue, settings);
+    }
+
+    @Test
+    void testAdvance_SpreadsWorkOverWindow() {
+        dailyCycleService.startDay(1);
+
+        dailyCycleService.advance();
+        assertTrue(dailyCycleService.isInProgress());
+        assertEquals(2, spawnManager.processedMaps);
+        assertEquals(2, chargedPlayers());
+
+        dailyCycleService.advance();
+        assertFalse(dailyCycleService.isInProgress());
+        assertEquals(4, spawnManager.processedMaps);
+        assertEquals(3, chargedPlayers());
+    }
+
+    @Test
+    void testStartDay_FinishesUnprocessedPreviousDay() {
+        dailyCycleService.startDay(1);
+        dailyCycleService.advance();
+
+        dailyCycleService.startDay(2);
+
+        assertEquals(4, spawnManager.processedMaps);
+        assertEquals(3, chargedPlayers());
+        assertTrue(dailyCycleService.isInProgress());
+    }
+
+    @Test
+    void testAdvance_SkipsPlayersWhoLeft() {
+        final Player leaving = playerRegistry.getPlayer("p2");
+        dailyCycleService.startDay(1);
+
+        playerRegistry.remove("p2");
+        dailyCycleService.advance();
+        dailyCycleService.advance();
+
+        assertEquals(2, chargedPlayers());
+        assertEquals(0, leaving.getDebt());
+    }
+
+    private long chargedPlayers() {
+        final List<Player> charged = new ArrayList<>();
+        playerRegistry.forEachWithPredicate(p -> p.getDebt() > 0, charged::add);
+        return charged.size();
+    }
+
+    private static Player createPlayer(String id) {
+        final PlayerClassConfig config = new PlayerClassConfig();
+        config.setMaxHp(100);
+        config.setInventoryCapacity(10);
+        config.setMaxWeight(50.0);
+        return new Player(id, id, Vector3.of(0, 0, 0), config, "map0", "SOLDIER");
+    }
+
+    private static class FakeWorldManager extends WorldManager {
+        private final List<GameMapData> maps = new ArrayList<>();
+
+        public FakeWorldManager() {
+            super(null);
+        }
+
+        @Override
+        public Collection<GameMapData> getMaps() {
+            return maps;
+        }
+    }
+
+    private static class FakeSpawnManager extends SpawnManager {
+        int processedMaps;
+
+        public FakeSpawnManager() {
+            super(null, null, null, null, null, null);
+        }
+
+        @Override
+        public int replenishNpcs(GameMapData map, int days) {
+            processedMaps++;
+            return 0;
+        }
+
+        @Override
+        public int spawnDailyLoot(GameMapData map, int days) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.core.model.entity.Npc;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.core.world.MapType;
+import cz.matysekxx.aftermathserver.core.world.WorldManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapHibernationServiceTest {
+
+    private FakeSpawnManager spawnManager;
+    private MapHibernationService hibernationService;
+    private GameMapData map;
+
+    @BeforeEach
+    void setUp() {
+        final GameSettings settings = new GameSettings();
+        settings.getHibernation().setIdleTicks(10);
+        settings.getHibernation().setMaxFastForwardDays(3);
+
+        map = new GameMapData();
+        map.setId("test_map");
+        map.setType(MapType.HAZARD_ZONE);
+        map.addNpc(createNpc("mutant", true));
+        map.addNpc(createNpc("trader", false));
+
+        final FakeWorldManager worldManager = new FakeWorldManager();
+        worldManager.addMap(map);
+        spawnManager = new FakeSpawnManager();
+        hibernationService = new MapHibernationService(worldManager, spawnManager, settings);
+    }
+
+    @Test
+    void testUpdate_HibernatesEmptyMapAfterIdleTicks() {
+        hibernationService.update(5, Set.of());
+        assertFalse(map.isHibernating());
+
+        hibernationService.update(10, Set.of());
+
+        assertTrue(map.isHibernating());
+        assertEquals(1, map.getDormantNpcCount());
+        assertEquals(1, map.getNpcs().size());
+        assertFalse(map.getNpcs().iterator().next().isAggressive());
+    }
+
+    @Test
+    void testUpdate_OccupiedMapStaysAwake() {
+        hibernationService.update(8, Set.of("test_map"));
+        hibernationService.update(15, Set.of());
+
+        assertFalse(map.isHibernating());
+    }
+
+    @Test
+    void testDeferDailyCycle_OnlyForHibernatingMaps() {
+        assertFalse(hibernationService.deferDailyCycle(map));
+
+        hibernationService.update(10, Set.of());
+
+        assertTrue(hibernationService.deferDailyCycle(map));
+        assertEquals(1, map.getMissedDays());
+    }
+
+    @Test
+    void testWake_FastForwardsCappedMissedDays() {
+        hibernationService.update(10, Set.of());
+        for (int i = 0; i < 5; i++) {
+            hibernationService.deferDailyCycle(map);
+        }
+
+        hibernationService.wake("test_map");
+
+        assertFalse(map.isHibernating());
+        assertEquals(0, map.getMissedDays());
+        assertEquals(1, spawnManager.restoredNpcs);
+        assertEquals(3, spawnManager.replenishedDays);
+        assertEquals(6, spawnManager.spawnedLoot);
+    }
+
+    @Test
+    void testWake_AwakeMapIsUntouched() {
+        hibernationService.wake("test_map");
+
+        assertEquals(0, spawnManager.restoredNpcs);
+        assertEquals(0, spawnManager.spawnedLoot);
+    }
+
+    private static Npc createNpc(String id, boolean aggressive) {
+        final Npc npc = new Npc(id, id, 1, 1, 0, "test_map", 100, null, null);
+        npc.setAggressive(aggressive);
+        return npc;
+    }
+
+    private static class FakeWorldManager extends WorldManager {
+        private final Map<String, GameMapData> maps = new HashMap<>();
+
+        public FakeWorldManager() {
+            super(null);
+        }
+
+        public void addMap(GameMapData map) {
+            maps.put(map.getId(), map);
+        }
+
+        @Override
+        public GameMapData getMap(String id) {
+            return maps.get(id);
+        }
+
+        @Override
+        public void forEach(Consumer<GameMapData> consumer) {
+            maps.values().forEach(consumer);
+        }
+    }
+
+    private static class FakeSpawnManager extends SpawnManager {
+        int restoredNpcs;
+        int replenishedDays;
+        int spawnedLoot;
+
+        public FakeSpawnManager() {
+            super(null, null, null, null, null, null);
+        }
+
+        @Override
+        public void spawnRandomAggressiveNpcs(String mapId, int count) {
+            restoredNpcs += count;
+        }
+
+        @Override
+        public int replenishNpcs(GameMapData map, int days) {
+            replenishedDays += days;
+            return 0;
+        }
+
+        @Override
+        public int getDailyLootCount(GameMapData map) {
+            return 2;
+        }
+
+        @Override
+        public void spawnRandomLoot(String mapId, int count) {
+            spawnedLoot += count;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapWorkerPoolTest {
+
+    private MapWorkerPool pool;
+
+    @BeforeEach
+    void setUp() {
+        final GameSettings settings = new GameSettings();
+        settings.setMapWorkers(3);
+        pool = new MapWorkerPool(settings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testOwnerOf_IsStable() {
+        final int owner = pool.ownerOf("andel");
+        pool.ownerOf("mustek");
+        pool.ownerOf("luka");
+
+        assertEquals(owner, pool.ownerOf("andel"));
+        assertTrue(owner >= 0 && owner < pool.getWorkerCount());
+    }
+
+    @Test
+    void testForEachMap_RunsEveryMapOnItsOwner() {
+        final List<GameMapData> maps = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final GameMapData map = new GameMapData();
+            map.setId("map" + i);
+            maps.add(map);
+        }
+        final Map<String, String> threadByMap = new ConcurrentHashMap<>();
+
+        pool.forEachMap(maps, map -> threadByMap.put(map.getId(), Thread.currentThread().getName()));
+
+        assertEquals(10, threadByMap.size());
+        for (GameMapData map : maps) {
+            assertEquals("map-worker-" + pool.ownerOf(map.getId()), threadByMap.get(map.getId()));
+        }
+    }
+
+    @Test
+    void testForEachMap_FailureDoesNotStopOtherMaps() {
+        final List<GameMapData> maps = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final GameMapData map = new GameMapData();
+            map.setId("map" + i);
+            maps.add(map);
+        }
+        final Map<String, Boolean> visited = new ConcurrentHashMap<>();
+
+        pool.forEachMap(maps, map -> {
+            if (map.getId().equals("map0")) throw new IllegalStateException("boom");
+            visited.put(map.getId(), true);
+        });
+
+        assertEquals(3, visited.size());
+    }
+}
@@ -0,0 +1,67 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.util.Vector3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerRegistryTest {
+
+    private PlayerRegistry playerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        playerRegistry = new PlayerRegistry();
+    }
+
+    @Test
+    void testPut_JoinsRoomOfPlayerMap() {
+        playerRegistry.put(createPlayer("p1", "letnany"));
+        playerRegistry.put(createPlayer("p2", "letnany"));
+        playerRegistry.put(createPlayer("p3", "kobylisy"));
+
+        assertEquals(Set.of("p1", "p2"), playerRegistry.getPlayerIdsOnMap("letnany"));
+        assertEquals(Set.of("p3"), playerRegistry.getPlayerIdsOnMap("kobylisy"));
+        assertTrue(playerRegistry.getPlayerIdsOnMap("motol").isEmpty());
+    }
+
+    @Test
+    void testMoveToMap_MovesPlayerBetweenRooms() {
+        final Player player = createPlayer("p1", "letnany");
+        playerRegistry.put(player);
+
+        playerRegistry.moveToMap(player, "kobylisy");
+
+        assertEquals("kobylisy", player.getMapId());
+        assertTrue(playerRegistry.getPlayerIdsOnMap("letnany").isEmpty());
+        assertEquals(Set.of("p1"), playerRegistry.getPlayerIdsOnMap("kobylisy"));
+    }
+
+    @Test
+    void testRemove_LeavesRoom() {
+        playerRegistry.put(createPlayer("p1", "letnany"));
+        playerRegistry.put(createPlayer("p2", "kobylisy"));
+
+        playerRegistry.remove("p1");
+
+        assertTrue(playerRegistry.getPlayerIdsOnMap("letnany").isEmpty());
+        final Map<String, Set<String>> rooms = new HashMap<>();
+        playerRegistry.forEachRoom(rooms::put);
+        assertEquals(Map.of("kobylisy", Set.of("p2")), rooms);
+    }
+
+    private static Player createPlayer(String id, String mapId) {
+        final PlayerClassConfig config = new PlayerClassConfig();
+        config.setMaxHp(100);
+        config.setInventoryCapacity(10);
+        config.setMaxWeight(50.0);
+        return new Player(id, id, new Vector3(0, 0, 0), config, mapId, "SOLDIER");
+    }
+}
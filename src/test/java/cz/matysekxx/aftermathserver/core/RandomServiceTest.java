@@ -0,0 +1,67 @@
+package cz.matysekxx.aftermathserver.core;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomServiceTest {
+
+    private static RandomService deterministic(long seed) {
+        final GameSettings settings = new GameSettings();
+        settings.getRandom().setDeterministic(true);
+        settings.getRandom().setSeed(seed);
+        return new RandomService(settings);
+    }
+
+    @Test
+    void testForMap_SameSeedProducesSameSequence() {
+        final RandomGenerator first = deterministic(42).forMap("andel");
+        final RandomGenerator second = deterministic(42).forMap("andel");
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+
+    @Test
+    void testForMap_StreamsAreIndependentOfOtherMaps() {
+        final RandomService a = deterministic(42);
+        final RandomService b = deterministic(42);
+        b.forMap("mustek").nextLong();
+        b.forMap("mustek").nextLong();
+
+        assertEquals(a.forMap("andel").nextLong(), b.forMap("andel").nextLong());
+        assertSame(a.forMap("andel"), a.forMap("andel"));
+    }
+
+    @Test
+    void testNextId_IsSequentialInDeterministicMode() {
+        final RandomService randomService = deterministic(1);
+
+        assertEquals("loot_1", randomService.nextId("loot"));
+        assertEquals("rat_2", randomService.nextId("rat"));
+    }
+
+    @Test
+    void testNextId_MapSequencesAreIndependent() {
+        final RandomService a = deterministic(1);
+        final RandomService b = deterministic(1);
+        b.nextId("loot", "mustek");
+        b.nextId("rat", "mustek");
+
+        assertEquals("loot_andel_1", a.nextId("loot", "andel"));
+        assertEquals("loot_andel_1", b.nextId("loot", "andel"));
+        assertEquals("loot_mustek_1", a.nextId("loot", "mustek"));
+    }
+
+    @Test
+    void testNextId_IsRandomByDefault() {
+        final RandomService randomService = new RandomService(new GameSettings());
+
+        assertFalse(randomService.isDeterministic());
+        assertNotEquals(randomService.nextId("loot"), randomService.nextId("loot"));
+    }
+}
@@ -1,5 +1,6 @@
 package cz.matysekxx.aftermathserver.core;
 
+import cz.matysekxx.aftermathserver.config.GameSettings;
 import cz.matysekxx.aftermathserver.core.factory.MapObjectFactory;
 import cz.matysekxx.aftermathserver.core.factory.NpcFactory;
 import cz.matysekxx.aftermathserver.core.model.entity.Npc;
@@ -39,7 +40,7 @@ class SpawnManagerTest {
         npcTable = new FakeNpcTable();
         itemTable = new FakeItemTable();
 
-        spawnManager = new SpawnManager(worldManager, mapObjectFactory, npcFactory, npcTable, itemTable);
+        spawnManager = new SpawnManager(worldManager, mapObjectFactory, npcFactory, npcTable, itemTable, new RandomService(new GameSettings()));
 
         testMap = new GameMapData();
         testMap.setId("test_map");
@@ -115,11 +116,11 @@ class SpawnManagerTest {
         String lastCreatedId;
 
         public FakeMapObjectFactory() {
-            super(null);
+            super(null, null);
         }
 
         @Override
-        public MapObject createLootBag(String itemId, int x, int y, int z, int amount) {
+        public MapObject createLootBag(String itemId, int quantity, int x, int y, int z, String mapId) {
             createLootBagCallCount++;
             lastCreatedId = itemId;
             MapObject obj = new MapObject();
@@ -133,7 +134,7 @@ class SpawnManagerTest {
         String lastCreatedId;
 
         public FakeNpcFactory() {
-            super(null, null, null);
+            super(null, null, null, null);
         }
 
         @Override
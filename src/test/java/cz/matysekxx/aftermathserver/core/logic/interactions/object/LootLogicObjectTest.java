@@ -0,0 +1,110 @@
+package cz.matysekxx.aftermathserver.core.logic.interactions.object;
+
+import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.core.model.item.Item;
+import cz.matysekxx.aftermathserver.core.model.item.ItemType;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.core.world.MapObject;
+import cz.matysekxx.aftermathserver.core.world.WorldManager;
+import cz.matysekxx.aftermathserver.event.EventType;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import cz.matysekxx.aftermathserver.util.Vector3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LootLogicObjectTest {
+
+    private GameMapData map;
+    private MapObject container;
+    private Player player;
+    private LootLogicObject lootLogic;
+
+    @BeforeEach
+    void setUp() {
+        map = new GameMapData();
+        map.setId("letnany");
+        container = new MapObject();
+        container.setId("loot-1");
+        container.setDescription("Crate");
+        map.addObject(container);
+        final FakeWorldManager worldManager = new FakeWorldManager();
+        worldManager.addMap(map);
+        lootLogic = new LootLogicObject(worldManager);
+
+        final PlayerClassConfig config = new PlayerClassConfig();
+        config.setMaxHp(100);
+        config.setInventoryCapacity(10);
+        config.setMaxWeight(50.0);
+        player = new Player("p1", "Player", new Vector3(0, 0, 0), config, "letnany", "SOLDIER");
+    }
+
+    @Test
+    void testInteract_EmptiedContainerIsRemoved() {
+        container.getItems().add(createItem("bandage", 1.0));
+        final long version = map.getObjectsVersion();
+
+        final Collection<GameEvent> events = lootLogic.interact(container, player);
+
+        final GameEvent change = findEvent(events, EventType.OBJECT_REMOVED);
+        assertSame(container, change.payload());
+        assertEquals(version + 1, change.version());
+        assertNull(map.getObject("loot-1"));
+        assertTrue(events.stream().noneMatch(event -> event.type() == EventType.SEND_MAP_OBJECTS));
+    }
+
+    @Test
+    void testInteract_PartlyLootedContainerIsUpdated() {
+        container.getItems().add(createItem("bandage", 1.0));
+        container.getItems().add(createItem("anvil", 100.0));
+        final long version = map.getObjectsVersion();
+
+        final Collection<GameEvent> events = lootLogic.interact(container, player);
+
+        final GameEvent change = findEvent(events, EventType.OBJECT_UPDATED);
+        assertEquals(version + 1, change.version());
+        assertEquals(1, container.getItems().size());
+        assertSame(container, map.getObject("loot-1"));
+    }
+
+    private static GameEvent findEvent(Collection<GameEvent> events, EventType type) {
+        final Optional<GameEvent> event = events.stream().filter(e -> e.type() == type).findFirst();
+        assertTrue(event.isPresent(), "Missing " + type);
+        return event.get();
+    }
+
+    private static Item createItem(String id, double weight) {
+        return Item.builder()
+                .id(id)
+                .name(id)
+                .type(ItemType.RESOURCE)
+                .quantity(1)
+                .maxStack(1)
+                .weight(weight)
+                .build();
+    }
+
+    private static class FakeWorldManager extends WorldManager {
+        private final Map<String, GameMapData> maps = new HashMap<>();
+
+        public FakeWorldManager() {
+            super(null);
+        }
+
+        public void addMap(GameMapData map) {
+            maps.put(map.getId(), map);
+        }
+
+        @Override
+        public Optional<GameMapData> getMaybeMap(String mapId) {
+            return Optional.ofNullable(maps.get(mapId));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickProfilerTest {
+
+    @Test
+    void testTime_RecordsOnlyTheExecutedPhase() {
+        final TickProfiler profiler = new TickProfiler(new GameSettings());
+
+        profiler.time(TickPhase.AI, () -> {
+        });
+        profiler.time(TickPhase.AI, () -> {
+        });
+
+        final Map<TickPhase, TickStatistics.TickReport> report = profiler.report();
+        assertEquals(TickPhase.values().length, report.size());
+        assertEquals(2, report.get(TickPhase.AI).ticks());
+        assertEquals(0, report.get(TickPhase.EMIT).ticks());
+    }
+
+    @Test
+    void testTime_RecordsFailingPhase() {
+        final TickProfiler profiler = new TickProfiler(new GameSettings());
+
+        assertThrows(IllegalStateException.class, () -> profiler.time(TickPhase.INPUT, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, profiler.report().get(TickPhase.INPUT).ticks());
+    }
+}
@@ -0,0 +1,49 @@
+package cz.matysekxx.aftermathserver.core.tick;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickStatisticsTest {
+
+    @Test
+    void testReport_ComputesPercentilesAndCounters() {
+        final TickStatistics statistics = new TickStatistics(100);
+        for (int i = 1; i <= 100; i++) {
+            statistics.record(i * 1_000_000L, i > 95);
+        }
+        statistics.recordSkipped(3);
+
+        final TickStatistics.TickReport report = statistics.report();
+
+        assertEquals(100, report.ticks());
+        assertEquals(5, report.overruns());
+        assertEquals(3, report.skippedTicks());
+        assertEquals(50.0, report.p50Ms());
+        assertEquals(95.0, report.p95Ms());
+        assertEquals(99.0, report.p99Ms());
+        assertEquals(100.0, report.maxMs());
+    }
+
+    @Test
+    void testReport_UsesOnlyRecentWindow() {
+        final TickStatistics statistics = new TickStatistics(2);
+        statistics.record(90_000_000L, false);
+        statistics.record(1_000_000L, false);
+        statistics.record(1_000_000L, false);
+
+        final TickStatistics.TickReport report = statistics.report();
+
+        assertEquals(3, report.ticks());
+        assertEquals(1.0, report.p99Ms());
+        assertEquals(90.0, report.maxMs());
+    }
+
+    @Test
+    void testReport_EmptyIsZero() {
+        final TickStatistics.TickReport report = new TickStatistics(10).report();
+
+        assertEquals(0, report.ticks());
+        assertEquals(0.0, report.p50Ms());
+    }
+}
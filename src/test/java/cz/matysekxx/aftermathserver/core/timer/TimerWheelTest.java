@@ -0,0 +1,85 @@
+package cz.matysekxx.aftermathserver.core.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void testAdvance_RunsTimersExactlyAtTheirDeadline() {
+        final TimerWheel wheel = new TimerWheel();
+        final List<Long> firedAt = new ArrayList<>();
+        for (long delay : new long[]{1, 63, 64, 65, 4095, 4096, 300_000}) {
+            wheel.schedule(delay, () -> firedAt.add(wheel.getCurrentTick()));
+        }
+
+        wheel.advance(400_000);
+
+        assertEquals(List.of(1L, 63L, 64L, 65L, 4095L, 4096L, 300_000L), firedAt);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_DelayScheduledMidWayCascadesCorrectly() {
+        final TimerWheel wheel = new TimerWheel();
+        wheel.advance(30);
+        final List<Long> firedAt = new ArrayList<>();
+
+        wheel.schedule(100, () -> firedAt.add(wheel.getCurrentTick()));
+        wheel.advance(129);
+        assertTrue(firedAt.isEmpty());
+
+        wheel.advance(130);
+        assertEquals(List.of(130L), firedAt);
+    }
+
+    @Test
+    void testAdvance_DelayBeyondWheelRangeIsReinserted() {
+        final TimerWheel wheel = new TimerWheel();
+        final long delay = 20_000_000L;
+        final List<Long> firedAt = new ArrayList<>();
+
+        wheel.schedule(delay, () -> firedAt.add(wheel.getCurrentTick()));
+        wheel.advance(delay);
+
+        assertEquals(List.of(delay), firedAt);
+    }
+
+    @Test
+    void testCancel_PreventsTimerFromRunning() {
+        final TimerWheel wheel = new TimerWheel();
+        final List<String> fired = new ArrayList<>();
+        final TimerWheel.Timeout cancelled = wheel.schedule(10, () -> fired.add("cancelled"));
+        final TimerWheel.Timeout kept = wheel.schedule(10, () -> fired.add("kept"));
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        wheel.advance(10);
+
+        assertEquals(List.of("kept"), fired);
+        assertFalse(cancelled.isPending());
+        assertFalse(kept.isPending());
+    }
+
+    @Test
+    void testAdvance_TaskCanScheduleFollowUpTimer() {
+        final TimerWheel wheel = new TimerWheel();
+        final List<Long> firedAt = new ArrayList<>();
+        final Runnable[] repeat = new Runnable[1];
+        repeat[0] = () -> {
+            firedAt.add(wheel.getCurrentTick());
+            wheel.schedule(100, repeat[0]);
+        };
+        wheel.schedule(100, repeat[0]);
+
+        final int fired = wheel.advance(350);
+
+        assertEquals(3, fired);
+        assertEquals(List.of(100L, 200L, 300L), firedAt);
+        assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,78 @@
+package cz.matysekxx.aftermathserver.core.world;
+
+import cz.matysekxx.aftermathserver.core.world.parser.ParsedMapLayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkWindowTest {
+
+    @Test
+    void testOf_ChunksOfSameContentShareId() {
+        final char[][] symbols = filled(40, 20, '.');
+        final MapChunk first = MapChunk.of(symbols, 0, 0);
+
+        assertEquals(first.id(), MapChunk.of(symbols, 1, 0).id());
+        assertEquals(first.hash(), MapChunk.fromId(first.id()));
+
+        symbols[3][20] = '#';
+        assertNotEquals(first.id(), MapChunk.of(symbols, 1, 0).id());
+    }
+
+    @Test
+    void testOf_EdgeChunksAreCutToLayer() {
+        final char[][] symbols = filled(40, 20, '.');
+
+        final MapChunk edge = MapChunk.of(symbols, 2, 1);
+
+        assertEquals(8, edge.width());
+        assertEquals(4, edge.height());
+        assertNull(MapChunk.of(symbols, 3, 0));
+        assertNull(MapChunk.of(symbols, -1, 0));
+    }
+
+    @Test
+    void testOf_WindowCoversViewportAroundChunk() {
+        final GameMapData map = createMap(filled(200, 100, '.'));
+
+        final ChunkWindow window = ChunkWindow.of(map, 70, 40, 0, 60, 20);
+
+        assertEquals(9, window.columns());
+        assertEquals(5, window.rows());
+        assertEquals(0, window.originX());
+        assertEquals(0, window.originY());
+        assertEquals(window.columns() * window.rows(), window.chunkIds().size());
+        assertFalse(window.isEmpty());
+    }
+
+    @Test
+    void testOf_CellsOutsideOfLayerAreNull() {
+        final GameMapData map = createMap(filled(20, 20, '.'));
+
+        final ChunkWindow window = ChunkWindow.of(map, 0, 0, 0, 60, 20);
+
+        assertEquals(-4, window.originX());
+        assertNull(window.chunks().getFirst());
+        assertEquals(4, window.chunks().stream().filter(chunk -> chunk != null).count());
+        assertTrue(ChunkWindow.of(map, 0, 0, 1, 60, 20).isEmpty());
+    }
+
+    private static GameMapData createMap(char[][] symbols) {
+        final TileType[][] tiles = new TileType[symbols.length][symbols[0].length];
+        for (TileType[] row : tiles) Arrays.fill(row, TileType.FLOOR);
+        final GameMapData map = new GameMapData();
+        map.setId("letnany");
+        map.getParsedLayers().put(0, new ParsedMapLayer(tiles, symbols, new HashMap<>(), new HashMap<>(), Map.of()));
+        return map;
+    }
+
+    private static char[][] filled(int width, int height, char symbol) {
+        final char[][] symbols = new char[height][width];
+        for (char[] row : symbols) Arrays.fill(row, symbol);
+        return symbols;
+    }
+}
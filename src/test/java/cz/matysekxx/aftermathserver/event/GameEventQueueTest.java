@@ -0,0 +1,104 @@
+package cz.matysekxx.aftermathserver.event;
+
+import cz.matysekxx.aftermathserver.config.EventQueueSettings;
+import cz.matysekxx.aftermathserver.dto.EventQueueStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventQueueTest {
+
+    @Test
+    void testTake_CriticalEventsOvertakeBulkTraffic() throws InterruptedException {
+        final GameEventQueue queue = new GameEventQueue();
+        queue.enqueue(event(EventType.SEND_NPCS));
+        queue.enqueue(event(EventType.SEND_STATS));
+        queue.enqueue(event(EventType.TICK_END));
+        queue.enqueue(event(EventType.SEND_GAME_OVER));
+
+        assertEquals(EventType.SEND_GAME_OVER, queue.take().type());
+        assertEquals(EventType.SEND_STATS, queue.take().type());
+        assertEquals(EventType.SEND_NPCS, queue.take().type());
+        assertEquals(EventType.TICK_END, queue.take().type());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void testEnqueue_FullBulkLaneDropsAndCounts() {
+        final EventQueueSettings settings = new EventQueueSettings();
+        settings.setBulkCapacity(4);
+        final GameEventQueue queue = new GameEventQueue(settings);
+
+        for (int i = 0; i < 6; i++) queue.enqueue(event(EventType.SEND_NPCS));
+        queue.enqueue(event(EventType.SEND_ERROR));
+
+        final List<EventQueueStats> stats = queue.getStats();
+        final EventQueueStats bulk = stats.get(EventPriority.BULK.ordinal());
+        assertEquals(4, bulk.depth());
+        assertEquals(4, bulk.capacity());
+        assertEquals(4, bulk.enqueued());
+        assertEquals(2, bulk.dropped());
+        assertEquals(1, stats.get(EventPriority.CRITICAL.ordinal()).depth());
+    }
+
+    @Test
+    void testEnqueue_FullNormalLaneMakesProducerWait() throws Exception {
+        final EventQueueSettings settings = new EventQueueSettings();
+        settings.setNormalCapacity(2);
+        final GameEventQueue queue = new GameEventQueue(settings);
+        queue.enqueue(event(EventType.OBJECT_ADDED));
+        queue.enqueue(event(EventType.OBJECT_REMOVED));
+
+        final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> queue.enqueue(event(EventType.OBJECT_UPDATED)));
+        Thread.sleep(50);
+        assertFalse(producer.isDone());
+
+        assertEquals(EventType.OBJECT_ADDED, queue.poll().type());
+        producer.get(5, TimeUnit.SECONDS);
+        assertEquals(EventType.OBJECT_REMOVED, queue.poll().type());
+        assertEquals(EventType.OBJECT_UPDATED, queue.poll().type());
+
+        final EventQueueStats normal = queue.getStats().get(EventPriority.NORMAL.ordinal());
+        assertEquals(0, normal.dropped());
+        assertEquals(1, normal.stalled());
+        assertEquals(3, normal.enqueued());
+    }
+
+    @Test
+    void testTake_RingIsReusedAfterWrapping() {
+        final EventQueueSettings settings = new EventQueueSettings();
+        settings.setNormalCapacity(2);
+        final GameEventQueue queue = new GameEventQueue(settings);
+
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(GameEvent.create(EventType.SEND_MESSAGE, i, "a", null, false));
+            assertEquals(i, queue.poll().payload());
+        }
+        assertEquals(0, queue.getStats().get(EventPriority.NORMAL.ordinal()).dropped());
+    }
+
+    @Test
+    void testTake_WakesUpOnEnqueueFromAnotherThread() throws Exception {
+        final GameEventQueue queue = new GameEventQueue();
+        final CompletableFuture<GameEvent> taken = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(50);
+        queue.enqueue(event(EventType.SEND_DIALOG));
+
+        assertEquals(EventType.SEND_DIALOG, taken.get(5, TimeUnit.SECONDS).type());
+    }
+
+    private static GameEvent event(EventType type) {
+        return GameEvent.create(type, null, "a", null, false);
+    }
+}
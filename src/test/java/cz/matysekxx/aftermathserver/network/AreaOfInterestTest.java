@@ -0,0 +1,69 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.dto.OtherPlayerDto;
+import cz.matysekxx.aftermathserver.util.Vector3;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static cz.matysekxx.aftermathserver.core.GameEngine.VIEWPORT_RANGE_X;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AreaOfInterestTest {
+
+    private final AreaOfInterest areaOfInterest = new AreaOfInterest();
+
+    @Test
+    void testViewOf_PlayersInSameCellShareView() {
+        final AreaOfInterest.View first = AreaOfInterest.viewOf(createPlayer(1, 1, 0), "letnany");
+        final AreaOfInterest.View second = AreaOfInterest.viewOf(createPlayer(AreaOfInterest.CELL_SIZE - 1, 3, 0), "letnany");
+
+        assertEquals(first, second);
+        assertNotEquals(first, AreaOfInterest.viewOf(createPlayer(AreaOfInterest.CELL_SIZE, 1, 0), "letnany"));
+        assertNotEquals(first, AreaOfInterest.viewOf(createPlayer(1, 1, 1), "letnany"));
+    }
+
+    @Test
+    void testContains_CoversViewportFromAnywhereInCell() {
+        final AreaOfInterest.View view = AreaOfInterest.viewOf(createPlayer(0, 0, 0), "letnany");
+
+        assertTrue(view.contains(dto("edge", AreaOfInterest.CELL_SIZE - 1 + VIEWPORT_RANGE_X, 0, 0)));
+        assertTrue(view.contains(dto("margin", -VIEWPORT_RANGE_X - AreaOfInterest.MARGIN, 0, 0)));
+        assertFalse(view.contains(dto("far", -VIEWPORT_RANGE_X - AreaOfInterest.MARGIN - 1, 0, 0)));
+        assertFalse(view.contains(dto("other-layer", 0, 0, 1)));
+    }
+
+    @Test
+    void testUpdate_DetectsViewChanges() {
+        final AreaOfInterest.View view = new AreaOfInterest.View("letnany", 0, 0, 0);
+
+        assertTrue(areaOfInterest.update("p1", view));
+        assertFalse(areaOfInterest.update("p1", view));
+        assertTrue(areaOfInterest.update("p1", new AreaOfInterest.View("letnany", 0, 1, 0)));
+    }
+
+    @Test
+    void testUpdateVisiblePlayers_ReportsEnteredAndLeft() {
+        areaOfInterest.updateVisiblePlayers("p1", List.of(dto("p1", 0, 0, 0), dto("p2", 1, 1, 0)));
+
+        final AreaOfInterest.Visibility visibility = areaOfInterest.updateVisiblePlayers("p1", List.of(dto("p1", 0, 0, 0), dto("p3", 2, 2, 0)));
+
+        assertEquals(List.of("p3"), visibility.entered());
+        assertEquals(List.of("p2"), visibility.left());
+        assertTrue(areaOfInterest.updateVisiblePlayers("p1", List.of(dto("p3", 5, 5, 0), dto("p1", 0, 0, 0))).isUnchanged());
+    }
+
+    private static OtherPlayerDto dto(String id, int x, int y, int z) {
+        return new OtherPlayerDto(id, id, x, y, z);
+    }
+
+    private static Player createPlayer(int x, int y, int z) {
+        final PlayerClassConfig config = new PlayerClassConfig();
+        config.setMaxHp(100);
+        config.setInventoryCapacity(10);
+        config.setMaxWeight(50.0);
+        return new Player("p1", "p1", new Vector3(x, y, z), config, "letnany", "SOLDIER");
+    }
+}
@@ -0,0 +1,103 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.event.EventType;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDispatcherTest {
+
+    private EventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    @Test
+    void testDispatch_UnicastsOfSessionKeepOrderOnOwningShard() throws InterruptedException {
+        final Map<String, List<Object>> received = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+        final CountDownLatch done = new CountDownLatch(300);
+        dispatcher = new EventDispatcher(4, 16, event -> {
+            assertTrue(dispatcher.owns(event.targetSessionId()));
+            received.computeIfAbsent(event.targetSessionId(), id -> new CopyOnWriteArrayList<>()).add(event.payload());
+            threads.computeIfAbsent(event.targetSessionId(), id -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+            done.countDown();
+        });
+        dispatcher.start();
+
+        for (int i = 0; i < 100; i++) {
+            for (String sessionId : List.of("a", "b", "c")) {
+                dispatcher.dispatch(GameEvent.create(EventType.SEND_MESSAGE, i, sessionId, null, false));
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        final List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) expected.add(i);
+        for (String sessionId : List.of("a", "b", "c")) {
+            assertEquals(expected, received.get(sessionId));
+            assertEquals(Set.of("event-shard-" + dispatcher.shardOf(sessionId)), threads.get(sessionId));
+        }
+    }
+
+    @Test
+    void testDispatch_BroadcastReachesEveryShardOnce() throws InterruptedException {
+        final List<String> owners = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(3);
+        dispatcher = new EventDispatcher(3, 16, event -> {
+            for (String sessionId : List.of("a", "b", "c", "d", "e")) {
+                if (dispatcher.owns(sessionId)) owners.add(sessionId);
+            }
+            done.countDown();
+        });
+        dispatcher.start();
+
+        dispatcher.dispatch(GameEvent.create(EventType.BROADCAST_CHAT_MSG, null, null, "letnany", true));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(5, owners.size());
+        assertEquals(Set.of("a", "b", "c", "d", "e"), Set.copyOf(owners));
+    }
+
+    @Test
+    void testSubmit_RunsBehindEventsOnOwningShard() throws InterruptedException {
+        final List<Object> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        dispatcher = new EventDispatcher(4, 16, event -> received.add(event.payload()));
+        dispatcher.dispatch(GameEvent.create(EventType.SEND_MESSAGE, 1, "a", null, false));
+        dispatcher.dispatch(GameEvent.create(EventType.SEND_MESSAGE, 2, "a", null, false));
+
+        assertTrue(dispatcher.submit("a", () -> {
+            assertTrue(dispatcher.owns("a"));
+            received.add("task");
+            done.countDown();
+        }));
+        dispatcher.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, "task"), received);
+    }
+
+    @Test
+    void testOwns_ThreadsOutsideOfShardsServeNoSession() {
+        dispatcher = new EventDispatcher(4, 16, event -> {
+        });
+
+        assertFalse(dispatcher.owns("a"));
+        assertFalse(dispatcher.owns("b"));
+        assertEquals(0, dispatcher.shardOf(null));
+    }
+}
@@ -0,0 +1,95 @@
+package cz.matysekxx.aftermathserver.network;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.matysekxx.aftermathserver.core.model.entity.Npc;
+import cz.matysekxx.aftermathserver.core.world.GameMapData;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import cz.matysekxx.aftermathserver.network.protocol.BinaryCodec;
+import cz.matysekxx.aftermathserver.network.protocol.WireProtocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FrameCache frameCache;
+
+    @BeforeEach
+    void setUp() {
+        frameCache = new FrameCache();
+    }
+
+    @Test
+    void testGet_ReusesFrameOfSameVersion() {
+        final OutboundMessage first = frameCache.get("SEND_NPCS", "letnany", 3, List.of("a"));
+        final OutboundMessage second = frameCache.get("SEND_NPCS", "letnany", 3, List.of("ignored"));
+
+        assertSame(first, second);
+        assertEquals(1, frameCache.getHits());
+        assertEquals(1, frameCache.getMisses());
+    }
+
+    @Test
+    void testGet_NewVersionIsEncodedAgain() throws JsonProcessingException {
+        final OutboundMessage first = frameCache.get("SEND_NPCS", "letnany", 3, List.of("a"));
+        final OutboundMessage second = frameCache.get("SEND_NPCS", "letnany", 4, List.of("b"));
+
+        assertNotSame(first, second);
+        final TextMessage frame = (TextMessage) second.encode(WireProtocol.JSON, objectMapper, null);
+        assertTrue(frame.getPayload().contains("\"b\""));
+    }
+
+    @Test
+    void testEncode_EncodesOncePerProtocol() throws JsonProcessingException {
+        final OutboundMessage message = frameCache.get("SEND_NPCS", "letnany", 1, List.of());
+        final BinaryCodec binaryCodec = new BinaryCodec(objectMapper);
+
+        assertSame(message.encode(WireProtocol.JSON, objectMapper, binaryCodec), message.encode(WireProtocol.JSON, objectMapper, binaryCodec));
+        final BinaryMessage first = (BinaryMessage) message.encode(WireProtocol.BINARY, objectMapper, binaryCodec);
+        final BinaryMessage second = (BinaryMessage) message.encode(WireProtocol.BINARY, objectMapper, binaryCodec);
+        assertNotSame(first, second);
+        assertEquals(first.getPayload(), second.getPayload());
+    }
+
+    @Test
+    void testGet_KeysAreSeparatedByTypeAndMap() {
+        final OutboundMessage npcs = frameCache.get("SEND_NPCS", "letnany", 1, List.of("a"));
+
+        assertNotSame(npcs, frameCache.get("SEND_MAP_OBJECTS", "letnany", 1, List.of("a")));
+        assertNotSame(npcs, frameCache.get("SEND_NPCS", "kobylisy", 1, List.of("a")));
+    }
+
+    @Test
+    void testGet_UnversionedPayloadIsNeverCached() {
+        final OutboundMessage first = frameCache.get("SEND_NPCS", "letnany", GameEvent.UNVERSIONED, List.of("a"));
+        final OutboundMessage second = frameCache.get("SEND_NPCS", "letnany", GameEvent.UNVERSIONED, List.of("a"));
+
+        assertNotSame(first, second);
+        assertEquals(0, frameCache.getHits());
+    }
+
+    @Test
+    void testSnapshotNpcs_VersionChangesOnlyWithContent() {
+        final GameMapData map = new GameMapData();
+        map.setId("letnany");
+        final Npc npc = new Npc("npc-1", "Mutant", 1, 1, 0, "letnany", 100, null, null);
+        map.addNpc(npc);
+
+        final List<?> first = map.snapshotNpcs();
+        final long version = map.getNpcsVersion();
+
+        assertSame(first, map.snapshotNpcs());
+        assertEquals(version, map.getNpcsVersion());
+
+        npc.setX(2);
+        map.snapshotNpcs();
+        assertEquals(version + 1, map.getNpcsVersion());
+    }
+}
@@ -0,0 +1,157 @@
+package cz.matysekxx.aftermathserver.network;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.matysekxx.aftermathserver.config.GameSettings;
+import cz.matysekxx.aftermathserver.config.PlayerClassConfig;
+import cz.matysekxx.aftermathserver.core.PlayerRegistry;
+import cz.matysekxx.aftermathserver.core.model.entity.Player;
+import cz.matysekxx.aftermathserver.event.GameEventQueue;
+import cz.matysekxx.aftermathserver.util.Vector3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GameSettings settings = new GameSettings();
+    private final PlayerRegistry playerRegistry = new PlayerRegistry();
+    private NetworkService networkService;
+
+    @AfterEach
+    void tearDown() {
+        if (networkService != null) networkService.removeSession("c1");
+    }
+
+    @Test
+    void testResume_SendsToNewConnection() throws Exception {
+        networkService = new NetworkService(new GameEventQueue(), List.of(), settings, playerRegistry);
+        final TestConnection first = new TestConnection("c1");
+        networkService.addSession(first.proxy());
+        first.awaitWritten(1);
+        final String token = objectMapper.readTree(first.written.getFirst()).path("payload").path("resumeToken").asText();
+        playerRegistry.put("c1", createPlayer());
+
+        networkService.sendError("c1", "before");
+        first.awaitWritten(2);
+        first.open.set(false);
+        assertTrue(networkService.hold("c1", () -> fail("grace period expired")));
+        networkService.sendError("c1", "held");
+
+        final TestConnection second = new TestConnection("c2");
+        final NetworkService.Resumption resumed = networkService.resume(second.proxy(), token, 0);
+        assertEquals("c1", resumed.sessionId());
+        assertTrue(resumed.complete());
+        networkService.sendError("c1", "after");
+        second.awaitWritten(4);
+
+        final JsonNode response = objectMapper.readTree(second.written.getFirst());
+        assertEquals("RESUMED", response.path("type").asText());
+        assertEquals(1, response.path("payload").path("replayed").asInt());
+        assertEquals(List.of("before", "held", "after"), second.written.subList(1, 4).stream()
+                .map(this::payloadOf)
+                .toList());
+        assertEquals("c1", networkService.sessionIdOf("c2"));
+        assertNull(networkService.sessionIdOf("c1"));
+        assertEquals(2, first.written.size());
+    }
+
+    @Test
+    void testResume_GapInReplayIsIncomplete() throws Exception {
+        networkService = new NetworkService(new GameEventQueue(), List.of(), settings, playerRegistry);
+        final TestConnection first = new TestConnection("c1");
+        networkService.addSession(first.proxy());
+        first.awaitWritten(1);
+        final String token = objectMapper.readTree(first.written.getFirst()).path("payload").path("resumeToken").asText();
+        playerRegistry.put("c1", createPlayer());
+        first.open.set(false);
+        assertTrue(networkService.hold("c1", () -> fail("grace period expired")));
+
+        final TestConnection second = new TestConnection("c2");
+        final NetworkService.Resumption resumed = networkService.resume(second.proxy(), token, 5);
+        second.awaitWritten(1);
+
+        assertFalse(resumed.complete());
+        assertEquals(-1, objectMapper.readTree(second.written.getFirst()).path("payload").path("replayed").asInt());
+    }
+
+    @Test
+    void testHold_ShortGracePeriodExpires() throws Exception {
+        settings.getResume().setGracePeriodMs(1);
+        networkService = new NetworkService(new GameEventQueue(), List.of(), settings, playerRegistry);
+        final TestConnection connection = new TestConnection("c1");
+        networkService.addSession(connection.proxy());
+        playerRegistry.put("c1", createPlayer());
+        connection.open.set(false);
+
+        final CountDownLatch expired = new CountDownLatch(1);
+        assertTrue(networkService.hold("c1", expired::countDown));
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+    }
+
+    private String payloadOf(String json) {
+        try {
+            return objectMapper.readTree(json).path("payload").asText();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static Player createPlayer() {
+        final PlayerClassConfig config = new PlayerClassConfig();
+        config.setMaxHp(100);
+        config.setInventoryCapacity(10);
+        config.setMaxWeight(50.0);
+        return new Player("c1", "c1", new Vector3(0, 0, 0), config, "letnany", "SOLDIER");
+    }
+
+    /**
+     * A connection recording the text it is sent.
+     */
+    private static final class TestConnection {
+        private final String id;
+        private final AtomicBoolean open = new AtomicBoolean(true);
+        private final List<String> written = new CopyOnWriteArrayList<>();
+
+        private TestConnection(String id) {
+            this.id = id;
+        }
+
+        private ClientConnection proxy() {
+            return (ClientConnection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ClientConnection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getId" -> id;
+                        case "isOpen" -> open.get();
+                        case "sendMessage" -> {
+                            if (!open.get()) throw new IllegalStateException("Connection " + id + " is closed");
+                            written.add(((TextMessage) args[0]).getPayload());
+                            yield null;
+                        }
+                        case "close" -> {
+                            open.set(false);
+                            yield null;
+                        }
+                        default -> null;
+                    });
+        }
+
+        private void awaitWritten(int count) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (written.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(written.size() >= count, "expected " + count + " messages, got " + written);
+        }
+    }
+}
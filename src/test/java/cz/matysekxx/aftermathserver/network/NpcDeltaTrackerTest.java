@@ -0,0 +1,90 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.dto.NpcDeltaResponse;
+import cz.matysekxx.aftermathserver.dto.NpcDto;
+import cz.matysekxx.aftermathserver.event.GameEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NpcDeltaTrackerTest {
+
+    private static final AreaOfInterest.View ORIGIN = new AreaOfInterest.View("letnany", 0, 0, 0);
+    private NpcDeltaTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new NpcDeltaTracker();
+    }
+
+    @Test
+    void testDelta_SeparatesEnteredChangedAndLeftNpcs() {
+        final NpcDto idle = npc("npc-1", 1, 1, 100);
+        tracker.record("letnany", 1, List.of(idle, npc("npc-2", 5, 5, 100), npc("npc-3", 9, 9, 100)));
+        tracker.record("letnany", 2, List.of(idle, npc("npc-2", 6, 5, 80), npc("npc-4", 2, 2, 100)));
+
+        final NpcDeltaResponse delta = tracker.delta("letnany", new NpcDeltaTracker.Baseline(1, ORIGIN), 2, ORIGIN);
+
+        assertEquals(List.of(npc("npc-4", 2, 2, 100)), delta.entered());
+        assertEquals(List.of(npc("npc-2", 6, 5, 80)), delta.changed());
+        assertEquals(List.of("npc-3"), delta.left());
+        assertEquals(1, delta.baseVersion());
+        assertEquals(2, delta.version());
+    }
+
+    @Test
+    void testDelta_MovingViewTurnsNpcsIntoEnteredAndLeft() {
+        final NpcDto near = npc("npc-1", 0, 0, 100);
+        final NpcDto far = npc("npc-2", 500, 0, 100);
+        tracker.record("letnany", 1, List.of(near, far));
+        final AreaOfInterest.View farView = new AreaOfInterest.View("letnany", 0, 500 / AreaOfInterest.CELL_SIZE, 0);
+
+        final NpcDeltaResponse delta = tracker.delta("letnany", new NpcDeltaTracker.Baseline(1, ORIGIN), 1, farView);
+
+        assertEquals(List.of(far), delta.entered());
+        assertTrue(delta.changed().isEmpty());
+        assertEquals(List.of("npc-1"), delta.left());
+    }
+
+    @Test
+    void testDelta_UnknownBaseFallsBackToFullSnapshot() {
+        for (long version = 1; version <= NpcDeltaTracker.HISTORY_SIZE + 1; version++) {
+            tracker.record("letnany", version, List.of(npc("npc-1", (int) version, 0, 100)));
+        }
+        final long latest = NpcDeltaTracker.HISTORY_SIZE + 1;
+
+        assertNull(tracker.delta("letnany", new NpcDeltaTracker.Baseline(1, ORIGIN), latest, ORIGIN));
+        assertNotNull(tracker.delta("letnany", new NpcDeltaTracker.Baseline(2, ORIGIN), latest, ORIGIN));
+        assertEquals(latest, tracker.latest("letnany").version());
+        assertNull(tracker.latest("kobylisy"));
+    }
+
+    @Test
+    void testAcknowledge_OnlyAcceptsSentVersionsAndNeverMovesBack() {
+        tracker.acknowledge("p1", "letnany", 5);
+        assertNull(tracker.baseline("p1", "letnany"));
+
+        tracker.sent("p1", 3, ORIGIN);
+        tracker.sent("p1", 5, ORIGIN);
+        tracker.acknowledge("p1", "letnany", 5);
+        tracker.acknowledge("p1", "letnany", 3);
+
+        assertEquals(new NpcDeltaTracker.Baseline(5, ORIGIN), tracker.baseline("p1", "letnany"));
+        assertNull(tracker.baseline("p1", "kobylisy"));
+
+        tracker.acknowledge("p1", "letnany", GameEvent.UNVERSIONED);
+        assertNull(tracker.baseline("p1", "letnany"));
+
+        tracker.sent("p1", 6, ORIGIN);
+        tracker.acknowledge("p1", "letnany", 6);
+        tracker.forget("p1");
+        assertNull(tracker.baseline("p1", "letnany"));
+    }
+
+    private static NpcDto npc(String id, int x, int y, int hp) {
+        return new NpcDto(id, "Mutant", "MUTANT", x, y, 0, hp, 100, true, null);
+    }
+}
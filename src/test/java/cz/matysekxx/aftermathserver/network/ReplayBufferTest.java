@@ -0,0 +1,88 @@
+package cz.matysekxx.aftermathserver.network;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayBufferTest {
+
+    @Test
+    void testSince_ReturnsMessagesAfterSequence() {
+        final ReplayBuffer replay = new ReplayBuffer(8);
+        for (int i = 1; i <= 5; i++) assertEquals(i, replay.record(new TextMessage("m" + i)));
+
+        assertEquals(List.of("m4", "m5"), payloads(replay.since(3)));
+        assertEquals(List.of(), payloads(replay.since(5)));
+        assertNull(replay.since(6));
+    }
+
+    @Test
+    void testSince_EvictedMessagesCannotBeReplayed() {
+        final ReplayBuffer replay = new ReplayBuffer(3);
+        for (int i = 1; i <= 5; i++) replay.record(new TextMessage("m" + i));
+
+        assertNull(replay.since(1));
+        assertEquals(List.of("m3", "m4", "m5"), payloads(replay.since(2)));
+        assertEquals(5, replay.sequence());
+    }
+
+    @Test
+    void testAcknowledge_ReleasesConfirmedMessages() {
+        final ReplayBuffer replay = new ReplayBuffer(8);
+        for (int i = 1; i <= 4; i++) replay.record(new TextMessage("m" + i));
+
+        replay.acknowledge(2);
+
+        assertNull(replay.since(1));
+        assertEquals(List.of("m3", "m4"), payloads(replay.since(2)));
+        replay.acknowledge(100);
+        assertEquals(List.of(), payloads(replay.since(4)));
+    }
+
+    @Test
+    void testSince_BinaryMessagesCanBeReplayedTwice() {
+        final ReplayBuffer replay = new ReplayBuffer(8);
+        final BinaryMessage message = new BinaryMessage(new byte[]{1, 2, 3});
+        replay.record(message);
+        message.getPayload().get(new byte[3]);
+
+        for (int i = 0; i < 2; i++) {
+            final ByteBuffer payload = ((BinaryMessage) replay.since(0).getFirst()).getPayload();
+            assertEquals(3, payload.remaining());
+            payload.get(new byte[3]);
+        }
+    }
+
+    @Test
+    void testResume_OnlyUntilGracePeriodExpires() {
+        final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final ResumableSession resumed = new ResumableSession(new ReplayBuffer(1));
+            resumed.hold(timer.schedule(() -> {
+            }, 1, TimeUnit.HOURS));
+            assertTrue(resumed.resume());
+            assertFalse(resumed.expire());
+
+            final ResumableSession expired = new ResumableSession(new ReplayBuffer(1));
+            expired.hold(timer.schedule(() -> {
+            }, 1, TimeUnit.HOURS));
+            assertTrue(expired.expire());
+            assertFalse(expired.resume());
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    private static List<String> payloads(List<WebSocketMessage<?>> messages) {
+        return messages.stream().map(message -> (String) message.getPayload()).toList();
+    }
+}
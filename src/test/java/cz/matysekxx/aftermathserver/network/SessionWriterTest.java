@@ -0,0 +1,229 @@
+package cz.matysekxx.aftermathserver.network;
+
+import cz.matysekxx.aftermathserver.config.OutboundSettings;
+import cz.matysekxx.aftermathserver.dto.SessionQueueStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionWriterTest {
+
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSocket = new CountDownLatch(1);
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean sessionClosed = new AtomicBoolean();
+    private final AtomicBoolean closedCallback = new AtomicBoolean();
+    private SessionWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        releaseSocket.countDown();
+        if (writer != null) writer.close();
+    }
+
+    @Test
+    void testEnqueue_CoalescesSupersededMessages() throws InterruptedException {
+        writer = createStalledWriter(10, OverflowPolicy.DROP_OLDEST);
+
+        writer.enqueue(new TextMessage("stats-1"), "SEND_STATS");
+        writer.enqueue(new TextMessage("chat"), null);
+        writer.enqueue(new TextMessage("stats-2"), "SEND_STATS");
+        writer.enqueue(new TextMessage("stats-3"), "SEND_STATS");
+
+        final SessionQueueStats stats = writer.stats();
+        assertEquals(2, stats.depth());
+        assertEquals(2, stats.coalesced());
+
+        releaseSocket.countDown();
+        awaitWritten(3);
+        assertEquals(List.of("blocker", "stats-3", "chat"), written);
+    }
+
+    @Test
+    void testEnqueueUnreplaceable_IsNotSwallowedByLaterMessages() throws InterruptedException {
+        writer = createStalledWriter(10, OverflowPolicy.DROP_OLDEST);
+
+        writer.enqueue(new TextMessage("players-1"), "BROADCAST_PLAYERS");
+        writer.enqueueUnreplaceable(new TextMessage("players-2-entered"), "BROADCAST_PLAYERS");
+        writer.enqueue(new TextMessage("players-3"), "BROADCAST_PLAYERS");
+        writer.enqueue(new TextMessage("players-4"), "BROADCAST_PLAYERS");
+
+        releaseSocket.countDown();
+        awaitWritten(3);
+        assertEquals(List.of("blocker", "players-2-entered", "players-4"), written);
+        assertEquals(2, writer.stats().coalesced());
+    }
+
+    @Test
+    void testEnqueue_DropOldestKeepsQueueBounded() throws InterruptedException {
+        writer = createStalledWriter(2, OverflowPolicy.DROP_OLDEST);
+
+        writer.enqueue(new TextMessage("a"), null);
+        writer.enqueue(new TextMessage("b"), null);
+        writer.enqueue(new TextMessage("c"), null);
+
+        final SessionQueueStats stats = writer.stats();
+        assertEquals(2, stats.depth());
+        assertEquals(2, stats.maxDepth());
+        assertEquals(1, stats.dropped());
+
+        releaseSocket.countDown();
+        awaitWritten(3);
+        assertEquals(List.of("blocker", "b", "c"), written);
+    }
+
+    @Test
+    void testEnqueue_DisconnectPolicyClosesLaggingSession() throws InterruptedException {
+        writer = createStalledWriter(1, OverflowPolicy.DISCONNECT);
+
+        writer.enqueue(new TextMessage("a"), null);
+        assertFalse(sessionClosed.get());
+
+        writer.enqueue(new TextMessage("b"), null);
+
+        assertTrue(sessionClosed.get());
+        assertTrue(closedCallback.get());
+        assertEquals(0, writer.stats().depth());
+    }
+
+    @Test
+    void testFlush_SendsMessagesOfTickAsOneEnvelope() throws InterruptedException {
+        releaseSocket.countDown();
+        writer = createBatchingWriter();
+
+        writer.enqueue(new TextMessage("{\"type\":\"SEND_STATS\",\"payload\":1}"), "SEND_STATS");
+        writer.enqueue(new TextMessage("Hero: \"hi\""), null, true);
+        writer.enqueue(new TextMessage("{\"type\":\"SEND_STATS\",\"payload\":2}"), "SEND_STATS");
+        Thread.sleep(50);
+        assertTrue(written.isEmpty());
+
+        writer.flush();
+        awaitWritten(1);
+        assertEquals(List.of("{\"type\":\"BATCH\",\"payload\":[{\"type\":\"SEND_STATS\",\"payload\":2},\"Hero: \\\"hi\\\"\"]}"), written);
+        assertEquals(2, writer.stats().sent());
+    }
+
+    @Test
+    void testFlush_SingleMessageIsSentWithoutEnvelope() throws InterruptedException {
+        releaseSocket.countDown();
+        writer = createBatchingWriter();
+
+        writer.flush();
+        writer.enqueue(new TextMessage("only"), null, true);
+        Thread.sleep(50);
+        assertTrue(written.isEmpty());
+
+        writer.flush();
+        awaitWritten(1);
+        assertEquals(List.of("only"), written);
+    }
+
+    @Test
+    void testEnqueueControl_IsWrittenButNotRecorded() throws InterruptedException {
+        releaseSocket.countDown();
+        final ReplayBuffer replay = new ReplayBuffer(8);
+        writer = new SessionWriter(createSession(), new OutboundSettings(), replay, () -> closedCallback.set(true));
+
+        writer.enqueueControl(new TextMessage("session"));
+        writer.enqueue(new TextMessage("a"), null);
+        writer.enqueue(new TextMessage("b"), null);
+        awaitWritten(3);
+
+        assertEquals(List.of("session", "a", "b"), written);
+        assertEquals(2, replay.sequence());
+        assertEquals("b", replay.since(1).getFirst().getPayload());
+    }
+
+    @Test
+    void testReattach_WritesMessagesQueuedWhileParked() throws InterruptedException {
+        releaseSocket.countDown();
+        sessionClosed.set(true);
+        final ReplayBuffer replay = new ReplayBuffer(8);
+        writer = new SessionWriter(createSession(), new OutboundSettings(), replay, () -> closedCallback.set(true));
+
+        writer.enqueue(new TextMessage("a"), null);
+        writer.enqueue(new TextMessage("stats-1"), "SEND_STATS");
+        writer.enqueue(new TextMessage("stats-2"), "SEND_STATS");
+        Thread.sleep(50);
+        assertEquals(0, replay.sequence());
+
+        final List<String> resumed = new CopyOnWriteArrayList<>();
+        writer.reattach((ClientConnection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ClientConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> "session-2";
+                    case "isOpen" -> true;
+                    case "sendMessage" -> resumed.add(((TextMessage) args[0]).getPayload());
+                    default -> null;
+                }), List.of(new TextMessage("resumed")));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (resumed.size() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of("resumed", "a", "stats-2"), resumed);
+        assertTrue(written.isEmpty());
+        assertFalse(writer.isClosed());
+        assertFalse(closedCallback.get());
+        assertEquals(2, replay.sequence());
+    }
+
+    private SessionWriter createBatchingWriter() {
+        final OutboundSettings settings = new OutboundSettings();
+        settings.setBatchPerTick(true);
+        return new SessionWriter(createSession(), settings, () -> closedCallback.set(true));
+    }
+
+    /**
+     * Creates a writer whose socket is stuck writing the first message until the test releases it.
+     */
+    private SessionWriter createStalledWriter(int capacity, OverflowPolicy policy) throws InterruptedException {
+        final OutboundSettings settings = new OutboundSettings();
+        settings.setQueueCapacity(capacity);
+        settings.setOverflowPolicy(policy);
+        final SessionWriter sessionWriter = new SessionWriter(createSession(), settings, () -> closedCallback.set(true));
+        sessionWriter.enqueue(new TextMessage("blocker"), null);
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        return sessionWriter;
+    }
+
+    private ClientConnection createSession() {
+        return (ClientConnection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ClientConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> "session-1";
+                    case "isOpen" -> !sessionClosed.get();
+                    case "sendMessage" -> {
+                        firstSendStarted.countDown();
+                        try {
+                            releaseSocket.await();
+                            written.add(((TextMessage) args[0]).getPayload());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        yield null;
+                    }
+                    case "close" -> {
+                        assertEquals(CloseStatus.SESSION_NOT_RELIABLE, args[0]);
+                        sessionClosed.set(true);
+                        yield null;
+                    }
+                    default -> null;
+                });
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
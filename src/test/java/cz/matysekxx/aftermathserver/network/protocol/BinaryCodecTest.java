@@ -0,0 +1,133 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.matysekxx.aftermathserver.core.model.entity.InteractionType;
+import cz.matysekxx.aftermathserver.core.world.MapChunk;
+import cz.matysekxx.aftermathserver.dto.ChunkHaveRequest;
+import cz.matysekxx.aftermathserver.dto.DropRequest;
+import cz.matysekxx.aftermathserver.dto.MoveRequest;
+import cz.matysekxx.aftermathserver.dto.NpcDto;
+import cz.matysekxx.aftermathserver.dto.NpcSnapshotResponse;
+import cz.matysekxx.aftermathserver.dto.StatsResponse;
+import cz.matysekxx.aftermathserver.dto.WebSocketRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+
+    private BinaryCodec binaryCodec;
+
+    @BeforeEach
+    void setUp() {
+        binaryCodec = new BinaryCodec(new ObjectMapper());
+    }
+
+    @Test
+    void testVarInts_RoundTrip() {
+        final BinaryWriter writer = new BinaryWriter(1);
+        writer.writeVarInt(300).writeSignedVarInt(-3).writeSignedVarLong(Long.MIN_VALUE)
+                .writeOptionalInt(null).writeOptionalInt(-1).writeString("Letňany");
+
+        final BinaryReader reader = new BinaryReader(writer.toByteArray());
+        assertEquals(300, reader.readVarInt());
+        assertEquals(-3, reader.readSignedVarInt());
+        assertEquals(Long.MIN_VALUE, reader.readSignedVarLong());
+        assertNull(reader.readOptionalInt());
+        assertEquals(-1, reader.readOptionalInt());
+        assertEquals("Letňany", reader.readString());
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    void testDecodeRequest_MoveCarriesDirectionName() {
+        final byte[] frame = new BinaryWriter().writeVarInt(RequestId.MOVE.getId()).writeVarInt(3).toByteArray();
+
+        final WebSocketRequest request = binaryCodec.decodeRequest(ByteBuffer.wrap(frame));
+
+        assertEquals("MOVE", request.getType());
+        assertEquals("RIGHT", assertInstanceOf(MoveRequest.class, request.getPayload()).getDirection());
+    }
+
+    @Test
+    void testDecodeRequest_DropCarriesSlotAndAmount() {
+        final byte[] frame = new BinaryWriter().writeVarInt(RequestId.DROP.getId()).writeVarInt(4).writeVarInt(2).toByteArray();
+
+        final WebSocketRequest request = binaryCodec.decodeRequest(ByteBuffer.wrap(frame));
+
+        assertEquals(new DropRequest(4, 2), request.getPayload());
+    }
+
+    @Test
+    void testDecodeRequest_TruncatedFrameIsRejected() {
+        final byte[] frame = new BinaryWriter().writeVarInt(RequestId.CHAT.getId()).writeVarInt(10).toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> binaryCodec.decodeRequest(ByteBuffer.wrap(frame)));
+    }
+
+    @Test
+    void testEncode_ChunkUsesPalette() throws JsonProcessingException {
+        final char[][] symbols = {"###".toCharArray(), "#.#".toCharArray(), "###".toCharArray()};
+        final MapChunk chunk = MapChunk.of(symbols, 0, 0);
+
+        final BinaryReader reader = new BinaryReader(binaryCodec.encode("MAP_CHUNKS", List.of(chunk)));
+
+        assertEquals(MessageId.MAP_CHUNKS.getId(), reader.readVarInt());
+        assertEquals(1, reader.readVarInt());
+        assertEquals(chunk.hash(), reader.readVarLong());
+        assertEquals(3, reader.readVarInt());
+        assertEquals(3, reader.readVarInt());
+        assertEquals("#.", reader.readString());
+        final int[] tiles = new int[9];
+        for (int i = 0; i < tiles.length; i++) tiles[i] = reader.readByte();
+        assertArrayEquals(new int[]{0, 0, 0, 0, 1, 0, 0, 0, 0}, tiles);
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    void testDecodeRequest_ChunkHaveCarriesHexIds() {
+        final byte[] frame = new BinaryWriter().writeVarInt(RequestId.CHUNK_HAVE.getId()).writeVarInt(1).writeVarLong(-2L).toByteArray();
+
+        final WebSocketRequest request = binaryCodec.decodeRequest(ByteBuffer.wrap(frame));
+
+        final ChunkHaveRequest have = assertInstanceOf(ChunkHaveRequest.class, request.getPayload());
+        assertEquals(List.of("fffffffffffffffe"), have.getIds());
+        assertEquals(-2L, MapChunk.fromId(have.getIds().getFirst()));
+    }
+
+    @Test
+    void testEncode_NpcsAndStatsAreCompact() throws JsonProcessingException {
+        final NpcDto npc = new NpcDto("npc-1", "Trader", "HUMAN", 10, 20, 0, 50, 50, false, InteractionType.TRADE);
+        final StatsResponse stats = new StatsResponse(80, 100, 5, 120, 0, 1_000_000L, 2, null);
+        final ObjectMapper objectMapper = new ObjectMapper();
+
+        final byte[] npcs = binaryCodec.encode("SEND_NPCS", new NpcSnapshotResponse("letnany", 7, List.of(npc)));
+        final byte[] statsFrame = binaryCodec.encode("SEND_STATS", stats);
+
+        assertTrue(npcs.length < objectMapper.writeValueAsBytes(List.of(npc)).length / 2);
+        final BinaryReader reader = new BinaryReader(statsFrame);
+        assertEquals(MessageId.SEND_STATS.getId(), reader.readVarInt());
+        assertEquals(80, reader.readSignedVarInt());
+        assertEquals(100, reader.readVarInt());
+        assertEquals(5, reader.readSignedVarInt());
+        assertEquals(120, reader.readSignedVarInt());
+        assertEquals(0, reader.readSignedVarInt());
+        assertEquals(1_000_000L, reader.readSignedVarLong());
+        assertEquals(2, reader.readOptionalInt());
+        assertNull(reader.readOptionalInt());
+    }
+
+    @Test
+    void testEncode_UiMessagesCarryJson() throws JsonProcessingException {
+        final BinaryReader reader = new BinaryReader(binaryCodec.encode("SEND_GAME_OVER", Map.of("message", "YOU DIED")));
+
+        assertEquals(MessageId.SEND_GAME_OVER.getId(), reader.readVarInt());
+        assertEquals('{', reader.readByte());
+    }
+}
@@ -0,0 +1,56 @@
+package cz.matysekxx.aftermathserver.network.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.matysekxx.aftermathserver.dto.DropRequest;
+import cz.matysekxx.aftermathserver.dto.MoveRequest;
+import cz.matysekxx.aftermathserver.dto.WebSocketRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonRequestDecoderTest {
+
+    private JsonRequestDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new JsonRequestDecoder(new ObjectMapper(), Map.of(
+                "MOVE", MoveRequest.class,
+                "DROP", DropRequest.class,
+                "ATTACK", Void.class));
+    }
+
+    @Test
+    void testDecode_BindsPayloadToDtoOfType() throws IOException {
+        final WebSocketRequest request = decoder.decode("{\"type\":\"MOVE\",\"payload\":{\"direction\":\"UP\"}}");
+
+        assertEquals("MOVE", request.getType());
+        assertEquals("UP", assertInstanceOf(MoveRequest.class, request.getPayload()).getDirection());
+    }
+
+    @Test
+    void testDecode_PayloadBeforeTypeIsBuffered() throws IOException {
+        final WebSocketRequest request = decoder.decode("{\"payload\":{\"slotIndex\":3},\"id\":7,\"type\":\"DROP\"}");
+
+        assertEquals(new DropRequest(3, 1), request.getPayload());
+    }
+
+    @Test
+    void testDecode_PayloadOfRequestWithoutDtoIsSkipped() throws IOException {
+        final WebSocketRequest request = decoder.decode("{\"type\":\"ATTACK\",\"payload\":{\"target\":[1,2]}}");
+
+        assertEquals("ATTACK", request.getType());
+        assertNull(request.getPayload());
+        assertNull(decoder.decode("{\"type\":\"MOVE\",\"payload\":null}").getPayload());
+    }
+
+    @Test
+    void testDecode_RequestWithoutTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("{\"payload\":{}}"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("[]"));
+    }
+}
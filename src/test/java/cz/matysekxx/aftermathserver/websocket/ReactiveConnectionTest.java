@@ -0,0 +1,78 @@
+package cz.matysekxx.aftermathserver.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveConnectionTest {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstReceived = new CountDownLatch(1);
+
+    @Test
+    void testSendMessage_WaitsForDemand() throws InterruptedException {
+        final ReactiveConnection connection = new ReactiveConnection(createSession());
+        final Receiver receiver = new Receiver();
+        connection.outbound().subscribe(receiver);
+        final Thread writer = Thread.ofPlatform().start(() -> connection.sendMessage(new TextMessage("state")));
+
+        assertFalse(firstReceived.await(200, TimeUnit.MILLISECONDS));
+        receiver.request(1);
+
+        assertTrue(firstReceived.await(5, TimeUnit.SECONDS));
+        writer.join(5000);
+        assertEquals(List.of("state"), received);
+    }
+
+    @Test
+    void testSendMessage_FailsOnceStreamIsCancelled() {
+        final ReactiveConnection connection = new ReactiveConnection(createSession());
+        final Receiver receiver = new Receiver();
+        connection.outbound().subscribe(receiver);
+
+        receiver.dispose();
+
+        assertFalse(connection.isOpen());
+        assertThrows(IllegalStateException.class, () -> connection.sendMessage(new TextMessage("late")));
+        assertTrue(connection.getId().startsWith(ReactiveConnection.ID_PREFIX));
+    }
+
+    private WebSocketSession createSession() {
+        return (WebSocketSession) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> "1";
+                    case "isOpen" -> true;
+                    case "textMessage" -> new WebSocketMessage(WebSocketMessage.Type.TEXT,
+                            DefaultDataBufferFactory.sharedInstance.wrap(((String) args[0]).getBytes(StandardCharsets.UTF_8)));
+                    default -> null;
+                });
+    }
+
+    /**
+     * Subscriber that requests nothing until told to, like a socket that is not ready to write.
+     */
+    private class Receiver extends BaseSubscriber<WebSocketMessage> {
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(WebSocketMessage message) {
+            received.add(message.getPayloadAsText());
+            firstReceived.countDown();
+        }
+    }
+}